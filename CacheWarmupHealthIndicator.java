@@ -0,0 +1,30 @@
+package com.ecommerce.product.warmup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * OUT_OF_SERVICE while the product caches are being warmed, UP afterwards (also after a failed
+ * or truncated warm-up). Include it in the readiness group as well so probes wait for it.
+ */
+@Component("cacheWarmup")
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private ProductCacheWarmer warmer;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmer.isWarm() ? Health.up() : Health.outOfService();
+        builder.withDetail("state", warmer.getState())
+                .withDetail("warmed", warmer.getWarmed());
+        if (warmer.isWarm()) {
+            builder.withDetail("durationMs", warmer.getDurationMillis())
+                    .withDetail("firstTrafficLookups", warmer.getFirstTrafficLookups())
+                    .withDetail("firstTrafficHitRatio", warmer.getFirstTrafficHitRatio());
+        }
+        return builder.build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.ecommerce.product.warmup;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class CacheWarmupWebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ProductAccessInterceptor productAccessInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(productAccessInterceptor).addPathPatterns("/api/products/*");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.ecommerce.product.dto;
+
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.service.ProductService;
+
+import java.math.BigDecimal;
+
+// Body of /api/products/batch and /api/products/snapshot: what other services copy, plus its version
+public class CatalogProductSnapshot {
+
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private String status;
+    // Same value product-events carry, so a copy can tell which of the two is newer
+    private Long version;
+
+    public CatalogProductSnapshot() {}
+
+    public CatalogProductSnapshot(Product product) {
+        this.id = product.getId();
+        this.name = product.getName();
+        this.price = product.getPrice();
+        this.stockQuantity = product.getStockQuantity();
+        this.status = product.getStatus() != null ? product.getStatus().name() : null;
+        this.version = ProductService.versionOf(product);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public Integer getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.ecommerce.email.coalesce;
+
+import com.ecommerce.email.dto.UserEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only file backing the coalescer's pending state, one JSON record per line. An
+ * {@code ADD} record holds an event with its sequence number and arrival time. A
+ * {@code FLUSH} record says that a user's events up to a sequence number have been emitted.
+ * Not thread-safe; the coalescer serialises access under its own lock.
+ */
+class CoalescerJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescerJournal.class);
+
+    enum Op { ADD, FLUSH }
+
+    static class Record {
+        public Op op;
+        public long seq;
+        public long at;
+        public Long userId;
+        public UserEvent event;
+
+        public Record() {}
+
+        static Record add(long seq, long at, UserEvent event) {
+            Record record = new Record();
+            record.op = Op.ADD;
+            record.seq = seq;
+            record.at = at;
+            record.userId = event.getUserId();
+            record.event = event;
+            return record;
+        }
+
+        static Record flush(long userId, long upToSeq) {
+            Record record = new Record();
+            record.op = Op.FLUSH;
+            record.seq = upToSeq;
+            record.userId = userId;
+            return record;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path file;
+    private FileChannel channel;
+
+    CoalescerJournal(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        this.file = dir.resolve("user-event-coalescer.journal");
+        this.channel = open(file);
+    }
+
+    List<Record> readAll() throws IOException {
+        List<Record> records = new ArrayList<>();
+        // InputStreamReader replaces malformed bytes instead of throwing on a torn multi-byte character
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(objectMapper.readValue(line, Record.class));
+                } catch (JsonProcessingException e) {
+                    // A torn last line from a crash mid-write; earlier lines were fsynced
+                    logger.warn("Skipping unreadable coalescer journal line: {}", e.getOriginalMessage());
+                }
+            }
+        }
+        return records;
+    }
+
+    void append(List<Record> records, boolean durable) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder(records.size() * 160);
+        for (Record record : records) {
+            lines.append(toJson(record)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (durable) {
+            channel.force(false);
+        }
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    // Replaces the journal with just the given records (the live pending state)
+    void rewrite(List<Record> snapshot) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            StringBuilder lines = new StringBuilder(snapshot.size() * 160);
+            for (Record record : snapshot) {
+                lines.append(toJson(record)).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open(file);
+    }
+
+    void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    private String toJson(Record record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
\ No newline at end of file
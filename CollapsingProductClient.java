@@ -0,0 +1,169 @@
+package com.ecommerce.order.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collapses single-product lookups into batched {@code GET /api/products/batch} calls. The first
+ * request opens a window; requests for any id arriving within {@code max-wait} join it, and the
+ * same id requested twice shares one future. The window is sent when it times out or holds
+ * {@code max-batch-size} distinct ids, whichever comes first, through the product bulkhead.
+ */
+@Component
+public class CollapsingProductClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollapsingProductClient.class);
+
+    @Autowired
+    private ProductCatalogClient productClient;
+
+    @Autowired
+    @Qualifier("productServiceBulkhead")
+    private DependencyBulkhead productBulkhead;
+
+    @Autowired
+    private ScheduledExecutorService dependencyDeadlineTimer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.product-batch.max-batch-size:50}")
+    private int maxBatchSize;
+
+    @Value("${order.product-batch.max-wait:5ms}")
+    private Duration maxWait;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Window open;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private Counter deduplicated;
+    private DistributionSummary batchSize;
+    private Timer batchWait;
+
+    @PostConstruct
+    void init() {
+        FunctionCounter.builder("order.product.batch.requests", requests, AtomicLong::get)
+                .description("Single-product lookups handed to the collapser")
+                .register(meterRegistry);
+        FunctionCounter.builder("order.product.batch.calls", batches, AtomicLong::get)
+                .description("Batched calls sent to product-catalog-service")
+                .register(meterRegistry);
+        Gauge.builder("order.product.batch.collapse.ratio", this, client -> client.batches.get() == 0
+                        ? 0 : (double) client.requests.get() / client.batches.get())
+                .description("Lookups served per remote call since startup")
+                .register(meterRegistry);
+        deduplicated = Counter.builder("order.product.batch.deduplicated")
+                .description("Lookups that joined a pending request for the same id")
+                .register(meterRegistry);
+        batchSize = DistributionSummary.builder("order.product.batch.size")
+                .description("Distinct product ids per batched call")
+                .register(meterRegistry);
+        batchWait = Timer.builder("order.product.batch.wait")
+                .description("Time a batch window stayed open before it was sent")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ProductSnapshot> getProduct(long productId) {
+        requests.incrementAndGet();
+        Window full = null;
+        CompletableFuture<ProductSnapshot> result;
+        lock.lock();
+        try {
+            if (open == null) {
+                Window window = new Window();
+                open = window;
+                dependencyDeadlineTimer.schedule(() -> sendIfOpen(window), maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            result = open.pending.get(productId);
+            if (result != null) {
+                deduplicated.increment();
+            } else {
+                result = new CompletableFuture<>();
+                open.pending.put(productId, result);
+                if (open.pending.size() >= maxBatchSize) {
+                    full = open;
+                    open = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            send(full);
+        }
+        // Callers must not be able to complete the shared future for the others
+        return result.copy();
+    }
+
+    private void sendIfOpen(Window window) {
+        lock.lock();
+        try {
+            if (open != window) {
+                // Already sent because it filled up
+                return;
+            }
+            open = null;
+        } finally {
+            lock.unlock();
+        }
+        send(window);
+    }
+
+    private void send(Window window) {
+        batches.incrementAndGet();
+        batchSize.record(window.pending.size());
+        batchWait.record(System.nanoTime() - window.openedAt, TimeUnit.NANOSECONDS);
+        List<Long> ids = new ArrayList<>(window.pending.keySet());
+        productBulkhead.call(() -> productClient.getProducts(ids)).whenComplete((products, error) -> {
+            if (error != null) {
+                logger.debug("Batched lookup of {} products failed: {}", ids.size(), error.getMessage());
+                window.pending.values().forEach(future -> future.completeExceptionally(error));
+                return;
+            }
+            Map<Long, ProductSnapshot> byId = new HashMap<>(products.size() * 2);
+            for (ProductSnapshot product : products) {
+                byId.put(product.getId(), product);
+            }
+            window.pending.forEach((productId, future) -> {
+                ProductSnapshot product = byId.get(productId);
+                if (product != null) {
+                    future.complete(product);
+                } else {
+                    future.completeExceptionally(new DependencyCallException(productBulkhead.getName(),
+                            DependencyCallException.Reason.NOT_FOUND, "product " + productId + " not found", null));
+                }
+            });
+        });
+    }
+
+    private static final class Window {
+        final long openedAt = System.nanoTime();
+        // Only touched under the lock until the window is sent, then read-only
+        final Map<Long, CompletableFuture<ProductSnapshot>> pending = new LinkedHashMap<>();
+    }
+}
\ No newline at end of file
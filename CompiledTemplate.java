@@ -0,0 +1,76 @@
+package com.ecommerce.email.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into alternating literal and placeholder segments, so rendering is
+ * a single pass of appends into a pre-sized builder. Placeholders look like {@code {{name}}}.
+ */
+public final class CompiledTemplate {
+
+    private final String[] literals;
+    private final String[] keys;
+    private final boolean escapeHtml;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] keys, boolean escapeHtml) {
+        this.literals = literals;
+        this.keys = keys;
+        this.escapeHtml = escapeHtml;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static CompiledTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf("{{", position)) >= 0) {
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(position, open));
+            keys.add(source.substring(open + 2, close).trim());
+            position = close + 2;
+        }
+        literals.add(source.substring(position));
+        return new CompiledTemplate(literals.toArray(new String[0]), keys.toArray(new String[0]), escapeHtml);
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + keys.length * 16);
+        for (int i = 0; i < keys.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(keys[i]);
+            if (value != null) {
+                if (escapeHtml) {
+                    appendEscaped(out, value);
+                } else {
+                    out.append(value);
+                }
+            }
+        }
+        return out.append(literals[keys.length]).toString();
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
\ No newline at end of file
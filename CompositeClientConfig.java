@@ -0,0 +1,17 @@
+package com.ecommerce.gateway.composite;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class CompositeClientConfig {
+
+    // Resolves http://<service-id> through Eureka with the gateway's load balancer
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.payment.dto.CreatePaymentOrderRequest;
+import com.ecommerce.payment.gateway.RazorpayGatewayClient;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Finds the Razorpay order by its receipt and writes the Payment row the failed call may not have written
+@Component
+public class CreateOrderOutcomeResolver implements UnknownOutcomeResolver {
+
+    @Autowired
+    private RazorpayGatewayClient gatewayClient;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    public static JSONObject describe(CreatePaymentOrderRequest request, String receipt) {
+        return new JSONObject()
+                .put("orderId", request.getOrderId())
+                .put("userId", request.getUserId())
+                .put("amount", request.getAmount().toPlainString())
+                .put("currency", request.getCurrency())
+                .put("receipt", receipt);
+    }
+
+    @Override
+    public RazorpayGatewayClient.Operation operation() {
+        return RazorpayGatewayClient.Operation.CREATE_ORDER;
+    }
+
+    @Override
+    public Optional<JSONObject> resolve(JSONObject request) {
+        JSONArray orders = gatewayClient.findOrdersByReceipt(request.getString("receipt")).join()
+                .optJSONArray("items");
+        if (orders == null || orders.isEmpty()) {
+            return Optional.empty();
+        }
+        JSONObject order = orders.getJSONObject(0);
+        paymentService.recordCreatedOrder(new CreatePaymentOrderRequest(request.getString("orderId"),
+                request.getLong("userId"), request.getBigDecimal("amount"), request.getString("currency")), order);
+        return Optional.of(order);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.ecommerce.order.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class CreateOrderRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 50, message = "An order can contain at most 50 items")
+    @Valid
+    private List<OrderItemRequest> items;
+
+    @Size(min = 3, max = 3, message = "Currency must be a 3-letter code")
+    private String currency = "INR";
+
+    // Constructors
+    public CreateOrderRequest() {}
+
+    public CreateOrderRequest(Long userId, List<OrderItemRequest> items) {
+        this.userId = userId;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public List<OrderItemRequest> getItems() { return items; }
+    public void setItems(List<OrderItemRequest> items) { this.items = items; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+}
\ No newline at end of file
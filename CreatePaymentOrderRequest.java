@@ -0,0 +1,49 @@
+package com.ecommerce.payment.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class CreatePaymentOrderRequest {
+
+    @NotBlank(message = "Order ID is required")
+    @Pattern(regexp = "\\d{1,18}", message = "Order ID must be numeric")
+    private String orderId;
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "1.00", message = "Amount must be at least 1.00")
+    private BigDecimal amount;
+
+    @Size(min = 3, max = 3, message = "Currency must be a 3-letter code")
+    private String currency = "INR";
+
+    // Constructors
+    public CreatePaymentOrderRequest() {}
+
+    public CreatePaymentOrderRequest(String orderId, Long userId, BigDecimal amount, String currency) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.amount = amount;
+        this.currency = currency;
+    }
+
+    // Getters and Setters
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.ecommerce.order.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking calls to one downstream service on its own bounded pool, so a slow dependency
+ * can only tie up its own threads. Calls beyond the pool and queue fail fast with
+ * {@code BULKHEAD_FULL}; calls that outlive the timeout fail with {@code TIMEOUT} and are interrupted.
+ */
+public class DependencyBulkhead {
+
+    private final String name;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timer;
+    private final long timeoutNanos;
+
+    public DependencyBulkhead(String name, int maxConcurrent, int queueCapacity, Duration timeout,
+                              ScheduledExecutorService timer) {
+        this.name = name;
+        this.timer = timer;
+        this.timeoutNanos = timeout.toNanos();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-call-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> call(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(call.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(DependencyCallException.from(name, e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new DependencyCallException(name,
+                    DependencyCallException.Reason.BULKHEAD_FULL, "too many calls in flight", e));
+        }
+        // The deadline covers queueing as well as the call itself
+        ScheduledFuture<?> deadline = timer.schedule(() -> {
+            if (result.completeExceptionally(new DependencyCallException(name, DependencyCallException.Reason.TIMEOUT,
+                    "no response within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms", null))) {
+                task.cancel(true);
+            }
+        }, timeoutNanos, TimeUnit.NANOSECONDS);
+        result.whenComplete((value, error) -> deadline.cancel(false));
+        return result;
+    }
+
+    public void registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("order.dependency.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Calls in flight to a downstream service")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("order.dependency.queued", executor, pool -> pool.getQueue().size())
+                .description("Calls waiting for a bulkhead slot")
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String getName() { return name; }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.ecommerce.order.client;
+
+import feign.FeignException;
+import feign.RetryableException;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletionException;
+
+public class DependencyCallException extends RuntimeException {
+
+    public enum Reason {
+        NOT_FOUND,
+        // Any other 4xx; retrying the same request will not help
+        REJECTED,
+        // 5xx or connection error
+        UNAVAILABLE,
+        // No answer in time; the call may still have been applied
+        TIMEOUT,
+        BULKHEAD_FULL
+    }
+
+    private final String dependency;
+    private final Reason reason;
+
+    public DependencyCallException(String dependency, Reason reason, String message, Throwable cause) {
+        super(dependency + ": " + message, cause);
+        this.dependency = dependency;
+        this.reason = reason;
+    }
+
+    public static DependencyCallException from(String dependency, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof DependencyCallException dependencyCallException) {
+            return dependencyCallException;
+        }
+        if (cause instanceof RetryableException) {
+            Reason reason = cause.getCause() instanceof SocketTimeoutException ? Reason.TIMEOUT : Reason.UNAVAILABLE;
+            return new DependencyCallException(dependency, reason, cause.getMessage(), cause);
+        }
+        if (cause instanceof FeignException feignException) {
+            int status = feignException.status();
+            Reason reason = status == 404 ? Reason.NOT_FOUND
+                    : status >= 400 && status < 500 ? Reason.REJECTED
+                    : Reason.UNAVAILABLE;
+            return new DependencyCallException(dependency, reason, "HTTP " + status, cause);
+        }
+        return new DependencyCallException(dependency, Reason.UNAVAILABLE, String.valueOf(cause.getMessage()), cause);
+    }
+
+    public String getDependency() { return dependency; }
+
+    public Reason getReason() { return reason; }
+}
\ No newline at end of file
@@ -0,0 +1,366 @@
+package com.ecommerce.order.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process stand-in for the user, product-catalog and payment endpoints that order placement
+ * calls, started with the {@code dependency-stub} profile. Point
+ * {@code order.clients.<service>.url} at {@code http://localhost:<port>} for each service.
+ *
+ * Every user is ACTIVE and every product costs {@code 100 + id % 900} with 1000 in stock unless
+ * changed with {@code POST /__stub/users/{id}?status=SUSPENDED} or
+ * {@code POST /__stub/products/{id}?stock=0&price=10.50}. Latency and faults are set per
+ * dependency: {@code POST /__stub/faults?dependency=inventory&latencyMs=200&failureRate=0.1}
+ * (dependency is one of users, products, inventory, payments). {@code GET /__stub/state} shows
+ * held reservations and payment orders, to check that failed orders were compensated.
+ */
+@Component
+@Profile("dependency-stub")
+public class DependencyStubServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyStubServer.class);
+
+    private static final int DEFAULT_STOCK = 1000;
+
+    @Value("${order.stub.port:8098}")
+    private int port;
+
+    // Products 1..catalog-size are returned by the snapshot endpoint
+    @Value("${order.stub.catalog-size:1000}")
+    private int catalogSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, Fault> faults = new ConcurrentHashMap<>();
+    private final Map<Long, String> userStatuses = new ConcurrentHashMap<>();
+    private final Map<Long, BigDecimal> prices = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> stock = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> reservations = new HashMap<>();
+    private final ReentrantLock stockLock = new ReentrantLock();
+    private final Map<String, ObjectNode> paymentOrdersByKey = new ConcurrentHashMap<>();
+    private final Set<String> cancelledPaymentOrders = ConcurrentHashMap.newKeySet();
+
+    // Stub products never change outside reservations, so one version covers them all
+    private final long startedAt = System.currentTimeMillis();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        for (String dependency : new String[] {"users", "products", "inventory", "payments"}) {
+            faults.put(dependency, new Fault());
+        }
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(port), 512);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handleApi);
+        server.createContext("/__stub/", this::handleAdmin);
+        server.start();
+        logger.info("Order dependency stub listening on http://localhost:{}", port);
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+
+            if (path[0].equals("users") && path.length == 2 && "GET".equals(method)) {
+                if (!injectFault(exchange, "users")) {
+                    getUser(exchange, Long.parseLong(path[1]));
+                }
+            } else if (path[0].equals("products") && path.length == 2 && path[1].equals("reservations") && "POST".equals(method)) {
+                if (!injectFault(exchange, "inventory")) {
+                    reserve(exchange, readBody(exchange));
+                }
+            } else if (path[0].equals("products") && path.length == 3 && path[1].equals("reservations") && "DELETE".equals(method)) {
+                if (!injectFault(exchange, "inventory")) {
+                    release(path[2]);
+                    respond(exchange, 204, null);
+                }
+            } else if (path[0].equals("products") && path.length == 2 && path[1].equals("snapshot") && "GET".equals(method)) {
+                if (!injectFault(exchange, "products")) {
+                    Map<String, String> params = queryParams(exchange.getRequestURI());
+                    long afterId = Long.parseLong(params.getOrDefault("afterId", "0"));
+                    int limit = Integer.parseInt(params.getOrDefault("limit", "1000"));
+                    ArrayNode page = objectMapper.createArrayNode();
+                    for (long productId = afterId + 1; productId <= catalogSize && page.size() < limit; productId++) {
+                        page.add(product(productId));
+                    }
+                    respond(exchange, 200, page);
+                }
+            } else if (path[0].equals("products") && path.length == 2 && path[1].equals("batch") && "GET".equals(method)) {
+                if (!injectFault(exchange, "products")) {
+                    ArrayNode found = objectMapper.createArrayNode();
+                    // Feign sends ids=1&ids=2; ids=1,2 is accepted too
+                    String query = exchange.getRequestURI().getQuery() != null ? exchange.getRequestURI().getQuery() : "";
+                    for (String pair : query.split("&")) {
+                        if (pair.startsWith("ids=")) {
+                            for (String id : pair.substring(4).split(",")) {
+                                if (!id.isBlank() && Long.parseLong(id) > 0) {
+                                    found.add(product(Long.parseLong(id)));
+                                }
+                            }
+                        }
+                    }
+                    respond(exchange, 200, found);
+                }
+            } else if (path[0].equals("products") && path.length == 2 && "GET".equals(method)) {
+                if (!injectFault(exchange, "products")) {
+                    respond(exchange, 200, product(Long.parseLong(path[1])));
+                }
+            } else if (path[0].equals("payments") && path.length == 2 && path[1].equals("create") && "POST".equals(method)) {
+                if (!injectFault(exchange, "payments")) {
+                    createPaymentOrder(exchange, readBody(exchange));
+                }
+            } else if (path[0].equals("payments") && path.length == 4 && path[1].equals("orders") && path[3].equals("cancel")) {
+                if (!injectFault(exchange, "payments")) {
+                    cancelPaymentOrder(exchange, path[2]);
+                }
+            } else {
+                respond(exchange, 404, error("Not found"));
+            }
+        } catch (NumberFormatException e) {
+            respond(exchange, 400, error("Invalid id"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleAdmin(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().substring("/__stub/".length()).split("/");
+            Map<String, String> params = queryParams(exchange.getRequestURI());
+            if (path[0].equals("faults")) {
+                Fault fault = faults.get(params.getOrDefault("dependency", ""));
+                if (fault == null) {
+                    respond(exchange, 400, error("dependency must be one of " + faults.keySet()));
+                    return;
+                }
+                fault.latencyMs = Long.parseLong(params.getOrDefault("latencyMs", String.valueOf(fault.latencyMs)));
+                fault.failureRate = Double.parseDouble(params.getOrDefault("failureRate", String.valueOf(fault.failureRate)));
+                respond(exchange, 200, objectMapper.createObjectNode()
+                        .put("latencyMs", fault.latencyMs).put("failureRate", fault.failureRate));
+            } else if (path[0].equals("users") && path.length == 2) {
+                userStatuses.put(Long.parseLong(path[1]), params.getOrDefault("status", "ACTIVE"));
+                respond(exchange, 200, user(Long.parseLong(path[1])));
+            } else if (path[0].equals("products") && path.length == 2) {
+                long productId = Long.parseLong(path[1]);
+                if (params.containsKey("price")) {
+                    prices.put(productId, new BigDecimal(params.get("price")));
+                }
+                if (params.containsKey("stock")) {
+                    withStockLock(() -> stock.put(productId, Integer.parseInt(params.get("stock"))));
+                }
+                respond(exchange, 200, product(productId));
+            } else if (path[0].equals("state")) {
+                ObjectNode state = objectMapper.createObjectNode();
+                withStockLock(() -> state.put("reservations", reservations.size()));
+                state.put("paymentOrders", paymentOrdersByKey.size());
+                state.put("cancelledPaymentOrders", cancelledPaymentOrders.size());
+                respond(exchange, 200, state);
+            } else {
+                respond(exchange, 404, error("Unknown stub endpoint"));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void getUser(HttpExchange exchange, long userId) throws IOException {
+        if (userId <= 0) {
+            respond(exchange, 404, error("User not found"));
+        } else {
+            respond(exchange, 200, user(userId));
+        }
+    }
+
+    private void reserve(HttpExchange exchange, JsonNode request) throws IOException {
+        String reservationId = request.path("reservationId").asText();
+        Map<Long, Integer> lines = new HashMap<>();
+        for (JsonNode line : request.path("items")) {
+            lines.merge(line.path("productId").asLong(), line.path("quantity").asInt(), Integer::sum);
+        }
+        Long shortProductId = null;
+        stockLock.lock();
+        try {
+            // A repeated reservation id is a retry of one that already succeeded
+            if (!reservations.containsKey(reservationId)) {
+                for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+                    if (stock.getOrDefault(line.getKey(), DEFAULT_STOCK) < line.getValue()) {
+                        shortProductId = line.getKey();
+                        break;
+                    }
+                }
+                if (shortProductId == null) {
+                    lines.forEach((productId, quantity) ->
+                            stock.put(productId, stock.getOrDefault(productId, DEFAULT_STOCK) - quantity));
+                    reservations.put(reservationId, lines);
+                }
+            }
+        } finally {
+            stockLock.unlock();
+        }
+        if (shortProductId != null) {
+            respond(exchange, 409, error("Insufficient stock for product " + shortProductId));
+        } else {
+            respond(exchange, 200, objectMapper.createObjectNode().put("reservationId", reservationId));
+        }
+    }
+
+    private void release(String reservationId) {
+        withStockLock(() -> {
+            Map<Long, Integer> lines = reservations.remove(reservationId);
+            if (lines != null) {
+                lines.forEach((productId, quantity) -> stock.merge(productId, quantity, Integer::sum));
+            }
+        });
+    }
+
+    private void createPaymentOrder(HttpExchange exchange, JsonNode request) throws IOException {
+        String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            respond(exchange, 400, error("Idempotency-Key header is required"));
+            return;
+        }
+        ObjectNode order = paymentOrdersByKey.computeIfAbsent(idempotencyKey, key -> objectMapper.createObjectNode()
+                .put("id", "order_" + UUID.randomUUID().toString().replace("-", "").substring(0, 14))
+                .put("entity", "order")
+                .put("amount", request.path("amount").decimalValue().movePointRight(2).longValue())
+                .put("currency", request.path("currency").asText("INR"))
+                .put("receipt", "order_" + request.path("orderId").asText())
+                .put("status", "created"));
+        respond(exchange, 200, order);
+    }
+
+    // Same contract as payment-service: 404 when there is nothing to cancel
+    private void cancelPaymentOrder(HttpExchange exchange, String paymentOrderId) throws IOException {
+        boolean known = paymentOrdersByKey.values().stream()
+                .anyMatch(order -> paymentOrderId.equals(order.path("id").asText()));
+        if (!known) {
+            respond(exchange, 404, error("Unknown payment order " + paymentOrderId));
+            return;
+        }
+        cancelledPaymentOrders.add(paymentOrderId);
+        respond(exchange, 204, null);
+    }
+
+    private ObjectNode user(long userId) {
+        return objectMapper.createObjectNode()
+                .put("id", userId)
+                .put("username", "user" + userId)
+                .put("email", "user" + userId + "@example.com")
+                .put("status", userStatuses.getOrDefault(userId, "ACTIVE"));
+    }
+
+    private ObjectNode product(long productId) {
+        int[] available = new int[1];
+        withStockLock(() -> available[0] = stock.getOrDefault(productId, DEFAULT_STOCK));
+        return objectMapper.createObjectNode()
+                .put("id", productId)
+                .put("name", "Product " + productId)
+                .put("price", prices.getOrDefault(productId, BigDecimal.valueOf(100 + productId % 900)))
+                .put("stockQuantity", available[0])
+                .put("status", available[0] > 0 ? "ACTIVE" : "OUT_OF_STOCK")
+                .put("version", startedAt);
+    }
+
+    private boolean injectFault(HttpExchange exchange, String dependency) throws IOException {
+        Fault fault = faults.get(dependency);
+        if (fault.latencyMs > 0) {
+            try {
+                Thread.sleep(fault.latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+        if (ThreadLocalRandom.current().nextDouble() < fault.failureRate) {
+            respond(exchange, 503, error("Injected failure"));
+            return true;
+        }
+        return false;
+    }
+
+    private void withStockLock(Runnable action) {
+        stockLock.lock();
+        try {
+            action.run();
+        } finally {
+            stockLock.unlock();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        return body.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(body);
+    }
+
+    private JsonNode error(String message) {
+        return objectMapper.createObjectNode().put("error", message);
+    }
+
+    private static Map<String, String> queryParams(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        if (uri.getQuery() != null) {
+            for (String pair : uri.getQuery().split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+        }
+        return params;
+    }
+
+    private static final class Fault {
+        volatile long latencyMs;
+        volatile double failureRate;
+    }
+}
\ No newline at end of file
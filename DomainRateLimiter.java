@@ -0,0 +1,75 @@
+package com.ecommerce.email.sender;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-recipient-domain send pacing, so a registration burst of gmail.com addresses cannot get
+ * our sender throttled or greylisted there. Callers reserve a slot and get back how long to
+ * wait for it; nothing blocks inside the limiter.
+ */
+@Component
+public class DomainRateLimiter {
+
+    private final double defaultPerSecond;
+    private final int burst;
+    private final int maxDomains;
+    private final Map<String, Double> overrides = new HashMap<>();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private static final class Bucket {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private long nextFreeNanos = System.nanoTime();
+
+        Bucket(double perSecond, int burst) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+            this.burstNanos = (burst - 1) * intervalNanos;
+        }
+
+        synchronized long reserve(long now) {
+            long slot = Math.max(nextFreeNanos, now - burstNanos);
+            nextFreeNanos = slot + intervalNanos;
+            return slot - now;
+        }
+
+        synchronized boolean isIdle(long now) {
+            return nextFreeNanos - now < -burstNanos;
+        }
+    }
+
+    // email.rate-limit.domains takes "gmail.com=20,yahoo.com=5" style overrides
+    public DomainRateLimiter(@Value("${email.rate-limit.default-per-second:10}") double defaultPerSecond,
+                             @Value("${email.rate-limit.burst:20}") int burst,
+                             @Value("${email.rate-limit.max-domains:10000}") int maxDomains,
+                             @Value("${email.rate-limit.domains:}") String domainOverrides) {
+        this.defaultPerSecond = defaultPerSecond;
+        this.burst = burst;
+        this.maxDomains = maxDomains;
+        for (String entry : domainOverrides.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq > 0) {
+                overrides.put(entry.substring(0, eq).trim().toLowerCase(), Double.parseDouble(entry.substring(eq + 1).trim()));
+            }
+        }
+    }
+
+    /**
+     * Reserves the next send slot for the domain and returns the nanoseconds until it opens
+     * (zero or negative means send now).
+     */
+    public long reserve(String domain) {
+        long now = System.nanoTime();
+        if (buckets.size() >= maxDomains) {
+            // Idle buckets carry no state worth keeping: they would grant a full burst anyway
+            buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        }
+        return buckets.computeIfAbsent(domain, d -> new Bucket(overrides.getOrDefault(d, defaultPerSecond), burst))
+                .reserve(now);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.ecommerce.email.service;
+
+import com.ecommerce.email.dto.UserEvent;
+import com.ecommerce.email.sender.OutgoingEmail;
+import com.ecommerce.email.template.EmailTemplateCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class EmailComposer {
+
+    private static final Map<String, String> TEMPLATE_BY_EVENT = Map.of(
+            "user.registered", "welcome",
+            "user.updated", "profile-updated",
+            "user.status.changed", "status-changed",
+            "user.deleted", "account-closed");
+
+    @Autowired
+    private EmailTemplateCache templateCache;
+
+    // Empty for event types that do not notify the user
+    public Optional<OutgoingEmail> compose(UserEvent event) {
+        String templateName = TEMPLATE_BY_EVENT.get(event.getEventType());
+        if (templateName == null || event.getEmail() == null || event.getEmail().isBlank()) {
+            return Optional.empty();
+        }
+        Map<String, String> values = new HashMap<>(4);
+        values.put("firstName", event.getFirstName());
+        values.put("lastName", event.getLastName());
+        values.put("email", event.getEmail());
+
+        EmailTemplateCache.Template template = templateCache.get(templateName);
+        return Optional.of(new OutgoingEmail(event.getEmail(), template.renderSubject(values),
+                template.renderBody(values), templateName));
+    }
+}
\ No newline at end of file
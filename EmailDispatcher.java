@@ -0,0 +1,220 @@
+package com.ecommerce.email.sender;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends emails on a fixed pool of sender threads behind a bounded queue. When the queue is
+ * full, the submitting thread (the Kafka listener) waits a bounded time for room and then
+ * fails the email into the retry path. That is the backpressure that keeps a burst from
+ * turning into unbounded memory. Emails whose domain is over its rate are parked on a timer
+ * instead of occupying a sender thread; the timer never waits for queue space, it re-parks
+ * the email briefly so one full queue cannot stall every other deferred send.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    @Autowired
+    private SmtpTransportPool transportPool;
+
+    @Autowired
+    private DomainRateLimiter rateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${email.from:no-reply@ecommerce.local}")
+    private String from;
+
+    @Value("${email.sender.threads:8}")
+    private int senderThreads;
+
+    @Value("${email.sender.queue-capacity:2000}")
+    private int queueCapacity;
+
+    @Value("${email.sender.enqueue-timeout:30s}")
+    private Duration enqueueTimeout;
+
+    @Value("${email.sender.requeue-delay:100ms}")
+    private Duration requeueDelay;
+
+    private ThreadPoolExecutor senders;
+    private ScheduledExecutorService delayer;
+    private final AtomicInteger deferred = new AtomicInteger();
+
+    private Timer sendLatency;
+    private Counter sent;
+    private Counter failed;
+
+    @PostConstruct
+    void init() {
+        // Platform threads even in virtual-thread mode: Jakarta Mail sends under synchronized, which
+        // would pin a virtual thread's carrier for the whole SMTP exchange
+        AtomicInteger threadCount = new AtomicInteger();
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "email-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Email dispatcher is shut down");
+                    }
+                    if (task instanceof DeferredSend) {
+                        // Never block the single delayer thread; submitDeferred parks it again
+                        throw new SenderQueueFullException();
+                    }
+                    try {
+                        if (!executor.getQueue().offer(task, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                            throw new RejectedExecutionException("Sender queue still full after " + enqueueTimeout);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for sender queue space", e);
+                    }
+                });
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "email-rate-delay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        delayer = scheduler;
+
+        sendLatency = Timer.builder("email.send.latency")
+                .description("Time from hand-off to the sender pool until the SMTP server accepted the message")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        sent = Counter.builder("email.sent").tag("outcome", "success").register(meterRegistry);
+        failed = Counter.builder("email.sent").tag("outcome", "failure").register(meterRegistry);
+        Gauge.builder("email.sender.queue.depth", senders, executor -> executor.getQueue().size())
+                .description("Emails waiting for a sender thread")
+                .register(meterRegistry);
+        Gauge.builder("email.sender.deferred", deferred, AtomicInteger::get)
+                .description("Emails parked until their domain's rate limit allows them")
+                .register(meterRegistry);
+        Gauge.builder("email.sender.active", senders, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        delayer.shutdown();
+        senders.shutdown();
+        senders.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<Void> dispatch(OutgoingEmail email) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        Runnable task = () -> send(email, queuedAt, result);
+
+        long waitNanos = rateLimiter.reserve(email.getDomain());
+        if (waitNanos > 0) {
+            defer(new DeferredSend(task), result, waitNanos);
+        } else {
+            submit(task, result);
+        }
+        return result;
+    }
+
+    private void defer(DeferredSend task, CompletableFuture<Void> result, long delayNanos) {
+        deferred.incrementAndGet();
+        try {
+            delayer.schedule(() -> {
+                deferred.decrementAndGet();
+                submitDeferred(task, result);
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            deferred.decrementAndGet();
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void submitDeferred(DeferredSend task, CompletableFuture<Void> result) {
+        try {
+            senders.execute(task);
+        } catch (SenderQueueFullException e) {
+            defer(task, result, requeueDelay.toNanos());
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void submit(Runnable task, CompletableFuture<Void> result) {
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void send(OutgoingEmail email, long queuedAt, CompletableFuture<Void> result) {
+        try {
+            MimeMessage message = new MimeMessage(transportPool.getSession());
+            message.setFrom(new InternetAddress(from));
+            message.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress(email.getTo()));
+            message.setSubject(email.getSubject(), StandardCharsets.UTF_8.name());
+            message.setContent(email.getHtmlBody(), "text/html; charset=UTF-8");
+            transportPool.send(message);
+
+            sendLatency.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            sent.increment();
+            result.complete(null);
+        } catch (MessagingException | RuntimeException e) {
+            failed.increment();
+            logger.warn("Failed to send {} email to {}: {}", email.getTemplate(), email.getTo(), e.getMessage());
+            result.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+    }
+
+    /** A send coming off the delayer thread, which must not wait for sender queue space. */
+    private static final class DeferredSend implements Runnable {
+        private final Runnable send;
+
+        DeferredSend(Runnable send) {
+            this.send = send;
+        }
+
+        @Override
+        public void run() {
+            send.run();
+        }
+    }
+
+    private static final class SenderQueueFullException extends RejectedExecutionException {
+        SenderQueueFullException() {
+            super("Sender queue is full");
+        }
+    }
+}
\ No newline at end of file
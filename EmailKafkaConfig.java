@@ -0,0 +1,149 @@
+package com.ecommerce.email.config;
+
+import com.ecommerce.email.dto.UserEvent;
+import com.ecommerce.email.retry.EmailRetryMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class EmailKafkaConfig {
+
+    public static final String USER_EVENTS_TOPIC = "user-events";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${email.consumer.group-id:email-service-group}")
+    private String groupId;
+
+    @Value("${email.consumer.concurrency:3}")
+    private int concurrency;
+
+    @Value("${email.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // Let the broker wait briefly for a fuller batch instead of returning one record at a time
+    @Value("${email.consumer.fetch-min-bytes:16384}")
+    private int fetchMinBytes;
+
+    @Value("${email.consumer.fetch-max-wait-ms:200}")
+    private int fetchMaxWaitMs;
+
+    // Boot only applies this to the listener factory it configures itself, not to ours
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    public ConsumerFactory<String, UserEvent> userEventConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+
+        // The producer's type header names user-service's inner class; bind to our own DTO instead
+        JsonDeserializer<UserEvent> valueDeserializer = new JsonDeserializer<>(UserEvent.class, false);
+        DefaultKafkaConsumerFactory<String, UserEvent> consumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ErrorHandlingDeserializer<>(valueDeserializer));
+        // Publishes the client's own metrics, including records-lag per partition, as kafka.consumer.*
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserEvent> userEventBatchFactory(
+            ConsumerFactory<String, UserEvent> userEventConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, UserEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userEventConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.getContainerProperties().setObservationEnabled(true);
+        applyThreading(factory, "email-user-events-");
+        return factory;
+    }
+
+    @Bean
+    public ProducerFactory<String, EmailRetryMessage> emailRetryProducerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // A retry record that is lost is a lost email
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        JsonSerializer<EmailRetryMessage> valueSerializer = new JsonSerializer<>();
+        valueSerializer.setAddTypeInfo(false);
+        DefaultKafkaProducerFactory<String, EmailRetryMessage> producerFactory =
+                new DefaultKafkaProducerFactory<>(props, new StringSerializer(), valueSerializer);
+        producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return producerFactory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, EmailRetryMessage> emailRetryKafkaTemplate(
+            ProducerFactory<String, EmailRetryMessage> emailRetryProducerFactory) {
+        KafkaTemplate<String, EmailRetryMessage> template = new KafkaTemplate<>(emailRetryProducerFactory);
+        // Times send-to-ack as spring.kafka.template
+        template.setObservationEnabled(true);
+        return template;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, EmailRetryMessage> emailRetryListenerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId + "-retry");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 50);
+        JsonDeserializer<EmailRetryMessage> valueDeserializer = new JsonDeserializer<>(EmailRetryMessage.class, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, EmailRetryMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        DefaultKafkaConsumerFactory<String, EmailRetryMessage> consumerFactory = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ErrorHandlingDeserializer<>(valueDeserializer));
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        factory.setConsumerFactory(consumerFactory);
+        // Record-at-a-time with manual acks so a not-yet-due record can be nacked with a pause
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.getContainerProperties().setObservationEnabled(true);
+        applyThreading(factory, "email-retry-");
+        return factory;
+    }
+
+    private void applyThreading(ConcurrentKafkaListenerContainerFactory<?, ?> factory, String threadNamePrefix) {
+        if (!virtualThreads || Runtime.version().feature() < 21) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.ecommerce.email.retry;
+
+import com.ecommerce.email.sender.EmailDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+/**
+ * One listener container per retry tier. Every record in a tier waits roughly the same
+ * delay, so once the head of a partition is not yet due, nothing behind it is due either.
+ * The container then nacks and pauses instead of sleeping, and the main user-events
+ * consumer is never involved.
+ */
+@Component
+public class EmailRetryListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailRetryListener.class);
+
+    @Autowired
+    private EmailDispatcher dispatcher;
+
+    @Autowired
+    private EmailRetryPublisher retryPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Must stay below max.poll.interval.ms; longer waits re-check after this pause
+    @Value("${email.retry.max-pause:60s}")
+    private Duration maxPause;
+
+    // Before a record whose follow-up could not be published is delivered again
+    @Value("${email.retry.publish-failure-pause:5s}")
+    private Duration publishFailurePause;
+
+    @KafkaListener(id = "email-retry-1", topics = "email-retry-1", containerFactory = "emailRetryListenerFactory")
+    public void onTier1(EmailRetryMessage message, Acknowledgment ack) {
+        handle(message, ack);
+    }
+
+    @KafkaListener(id = "email-retry-2", topics = "email-retry-2", containerFactory = "emailRetryListenerFactory")
+    public void onTier2(EmailRetryMessage message, Acknowledgment ack) {
+        handle(message, ack);
+    }
+
+    @KafkaListener(id = "email-retry-3", topics = "email-retry-3", containerFactory = "emailRetryListenerFactory")
+    public void onTier3(EmailRetryMessage message, Acknowledgment ack) {
+        handle(message, ack);
+    }
+
+    private void handle(EmailRetryMessage message, Acknowledgment ack) {
+        if (message == null || message.getEmail() == null) {
+            logger.warn("Skipping unreadable email retry record");
+            ack.acknowledge();
+            return;
+        }
+        long waitMillis = message.getNotBefore() - System.currentTimeMillis();
+        if (waitMillis > 0) {
+            ack.nack(Duration.ofMillis(Math.min(waitMillis, maxPause.toMillis())));
+            return;
+        }
+
+        try {
+            dispatcher.dispatch(message.getEmail()).join();
+            meterRegistry.counter("email.retry.attempts", "outcome", "success").increment();
+        } catch (CompletionException e) {
+            meterRegistry.counter("email.retry.attempts", "outcome", "failure").increment();
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            try {
+                retryPublisher.onFailure(message.getEmail(), message.getAttempt(), cause).join();
+            } catch (RuntimeException publishFailure) {
+                // Acknowledging now would lose the email: nothing holds it but this record
+                logger.warn("Could not schedule the next attempt of {} email to {}, redelivering: {}",
+                        message.getEmail().getTemplate(), message.getEmail().getTo(), publishFailure.getMessage());
+                meterRegistry.counter("email.retry.attempts", "outcome", "publish_failure").increment();
+                ack.nack(publishFailurePause);
+                return;
+            }
+        }
+        ack.acknowledge();
+    }
+}
\ No newline at end of file
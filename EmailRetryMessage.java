@@ -0,0 +1,39 @@
+package com.ecommerce.email.retry;
+
+import com.ecommerce.email.sender.OutgoingEmail;
+
+public class EmailRetryMessage {
+
+    private OutgoingEmail email;
+
+    // 1-based number of the send attempt this message schedules
+    private int attempt;
+
+    // Epoch millis before which the attempt must not run
+    private long notBefore;
+
+    private String lastError;
+
+    // Constructors
+    public EmailRetryMessage() {}
+
+    public EmailRetryMessage(OutgoingEmail email, int attempt, long notBefore, String lastError) {
+        this.email = email;
+        this.attempt = attempt;
+        this.notBefore = notBefore;
+        this.lastError = lastError;
+    }
+
+    // Getters and Setters
+    public OutgoingEmail getEmail() { return email; }
+    public void setEmail(OutgoingEmail email) { this.email = email; }
+
+    public int getAttempt() { return attempt; }
+    public void setAttempt(int attempt) { this.attempt = attempt; }
+
+    public long getNotBefore() { return notBefore; }
+    public void setNotBefore(long notBefore) { this.notBefore = notBefore; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
\ No newline at end of file
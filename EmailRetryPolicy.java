@@ -0,0 +1,68 @@
+package com.ecommerce.email.retry;
+
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides where a failed send goes next. Attempt n is retried after
+ * {@code initial-delay * multiplier^(n-1)}, capped at {@code max-delay} and spread by
+ * {@code jitter} so a burst of failures does not come back as a burst. Each retry goes to the
+ * tier topic for its attempt; the last tier absorbs any further attempts.
+ */
+@Component
+public class EmailRetryPolicy {
+
+    public static final List<String> RETRY_TOPICS = List.of("email-retry-1", "email-retry-2", "email-retry-3");
+    public static final String DEAD_LETTER_TOPIC = "email-dlt";
+
+    @Value("${email.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.retry.initial-delay:30s}")
+    private Duration initialDelay;
+
+    @Value("${email.retry.multiplier:4}")
+    private double multiplier;
+
+    @Value("${email.retry.max-delay:1h}")
+    private Duration maxDelay;
+
+    @Value("${email.retry.jitter:0.2}")
+    private double jitter;
+
+    public boolean isExhausted(int failedAttempt) {
+        return failedAttempt >= maxAttempts;
+    }
+
+    // Bad addresses fail the same way every time
+    public boolean isPermanent(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AddressException) {
+                return true;
+            }
+            if (cause instanceof SendFailedException sendFailed) {
+                return sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0
+                        && (sendFailed.getValidUnsentAddresses() == null || sendFailed.getValidUnsentAddresses().length == 0);
+            }
+        }
+        return false;
+    }
+
+    public long delayMillis(int failedAttempt) {
+        double base = initialDelay.toMillis() * Math.pow(multiplier, failedAttempt - 1);
+        double capped = Math.min(base, maxDelay.toMillis());
+        double spread = capped * jitter;
+        return (long) (capped - spread + ThreadLocalRandom.current().nextDouble() * 2 * spread);
+    }
+
+    public String topicFor(int nextAttempt) {
+        // Attempt 2 is the first retry
+        return RETRY_TOPICS.get(Math.min(nextAttempt - 2, RETRY_TOPICS.size() - 1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.ecommerce.email.retry;
+
+import com.ecommerce.email.sender.OutgoingEmail;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands a failed send to the retry topics, or to the dead-letter topic once it is out of
+ * attempts or cannot succeed. The returned future completes when the broker has the record,
+ * so callers can hold their own offset commit until then.
+ */
+@Component
+public class EmailRetryPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailRetryPublisher.class);
+
+    @Autowired
+    private EmailRetryPolicy policy;
+
+    @Autowired
+    private KafkaTemplate<String, EmailRetryMessage> emailRetryKafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public CompletableFuture<Void> onFailure(OutgoingEmail email, int failedAttempt, Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        if (policy.isPermanent(error)) {
+            return deadLetter(email, failedAttempt, message, "permanent");
+        }
+        if (policy.isExhausted(failedAttempt)) {
+            return deadLetter(email, failedAttempt, message, "exhausted");
+        }
+
+        int nextAttempt = failedAttempt + 1;
+        String topic = policy.topicFor(nextAttempt);
+        long notBefore = System.currentTimeMillis() + policy.delayMillis(failedAttempt);
+        meterRegistry.counter("email.retry.scheduled", "topic", topic).increment();
+        return emailRetryKafkaTemplate.send(topic, email.getTo(), new EmailRetryMessage(email, nextAttempt, notBefore, message))
+                .thenApply(result -> (Void) null);
+    }
+
+    private CompletableFuture<Void> deadLetter(OutgoingEmail email, int attempts, String error, String reason) {
+        logger.error("Dead-lettering {} email to {} after {} attempt(s) ({}): {}",
+                email.getTemplate(), email.getTo(), attempts, reason, error);
+        meterRegistry.counter("email.dead.lettered", "reason", reason).increment();
+        return emailRetryKafkaTemplate.send(EmailRetryPolicy.DEAD_LETTER_TOPIC, email.getTo(),
+                        new EmailRetryMessage(email, attempts, 0, error))
+                .thenApply(result -> (Void) null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.ecommerce.email.template;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles each email template the first time it is used and keeps it for the life of the
+ * process. A template named {@code welcome} is read from {@code email-templates/welcome.subject.txt}
+ * and {@code email-templates/welcome.html} on the classpath, falling back to the built-in text.
+ */
+@Component
+public class EmailTemplateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateCache.class);
+
+    private static final Map<String, String[]> BUILT_IN = Map.of(
+            "welcome", new String[] {
+                    "Welcome to E-Commerce, {{firstName}}!",
+                    "<p>Hi {{firstName}} {{lastName}},</p><p>Your account has been created. Happy shopping!</p>"},
+            "profile-updated", new String[] {
+                    "Your profile was updated",
+                    "<p>Hi {{firstName}},</p><p>The details on your account were changed. "
+                            + "If this wasn't you, please contact support.</p>"},
+            "status-changed", new String[] {
+                    "Your account status has changed",
+                    "<p>Hi {{firstName}},</p><p>The status of your account has been updated.</p>"},
+            "account-closed", new String[] {
+                    "Your account has been closed",
+                    "<p>Hi {{firstName}},</p><p>Your account has been deactivated. We're sorry to see you go.</p>"});
+
+    public static final class Template {
+        private final CompiledTemplate subject;
+        private final CompiledTemplate body;
+
+        Template(CompiledTemplate subject, CompiledTemplate body) {
+            this.subject = subject;
+            this.body = body;
+        }
+
+        public String renderSubject(Map<String, String> values) { return subject.render(values); }
+
+        public String renderBody(Map<String, String> values) { return body.render(values); }
+    }
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    public Template get(String name) {
+        return templates.computeIfAbsent(name, this::load);
+    }
+
+    private Template load(String name) {
+        String[] builtIn = BUILT_IN.get(name);
+        String subject = read("email-templates/" + name + ".subject.txt");
+        String body = read("email-templates/" + name + ".html");
+        if (subject == null) {
+            subject = builtIn != null ? builtIn[0] : null;
+        }
+        if (body == null) {
+            body = builtIn != null ? builtIn[1] : null;
+        }
+        if (subject == null || body == null) {
+            throw new IllegalArgumentException("Unknown email template: " + name);
+        }
+        logger.debug("Compiled email template {}", name);
+        return new Template(CompiledTemplate.compile(subject.strip(), false), CompiledTemplate.compile(body, true));
+    }
+
+    private static String read(String path) {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.ecommerce.common.startup;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the beans a ready instance cannot do without out of {@code spring.main.lazy-initialization}:
+ * the data source and entity manager factory (so Hibernate boots during startup, in the background
+ * when {@code spring.data.jpa.repositories.bootstrap-mode=deferred}), Kafka listeners, lifecycle
+ * beans, startup callbacks, and anything named in {@code app.startup.eager-beans}. Controllers,
+ * services and clients are created on first use instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.main.lazy-initialization", havingValue = "true")
+public class FastStartupConfiguration {
+
+    private static final String KAFKA_LISTENER = "org.springframework.kafka.annotation.KafkaListener";
+
+    // Matched by name so services without JPA or Kafka on the class path can still import this
+    private static final String[] EAGER_TYPES = {
+            "jakarta.persistence.EntityManagerFactory",
+            "org.springframework.orm.jpa.AbstractEntityManagerFactoryBean",
+            "org.springframework.kafka.config.KafkaListenerEndpointRegistry"
+    };
+
+    // Static: filters are looked up while bean definitions are still being post-processed
+    @Bean
+    public static LazyInitializationExcludeFilter startupCriticalBeans(Environment environment) {
+        Set<String> eagerBeans = StringUtils.commaDelimitedListToSet(environment.getProperty("app.startup.eager-beans", ""));
+        List<Class<?>> eagerTypes = new ArrayList<>();
+        eagerTypes.add(DataSource.class);
+        eagerTypes.add(SmartLifecycle.class);
+        eagerTypes.add(SmartInitializingSingleton.class);
+        ClassLoader classLoader = FastStartupConfiguration.class.getClassLoader();
+        for (String type : EAGER_TYPES) {
+            if (ClassUtils.isPresent(type, classLoader)) {
+                eagerTypes.add(ClassUtils.resolveClassName(type, classLoader));
+            }
+        }
+        return (beanName, beanDefinition, beanType) -> {
+            if (eagerBeans.contains(beanName)) {
+                return true;
+            }
+            if (beanType == null) {
+                return false;
+            }
+            for (Class<?> eagerType : eagerTypes) {
+                if (eagerType.isAssignableFrom(beanType)) {
+                    return true;
+                }
+            }
+            return hasKafkaListener(beanType);
+        };
+    }
+
+    // A lazy listener bean would never be created, so its consumer would never start
+    private static boolean hasKafkaListener(Class<?> beanType) {
+        if (MergedAnnotations.from(beanType, MergedAnnotations.SearchStrategy.TYPE_HIERARCHY).isPresent(KAFKA_LISTENER)) {
+            return true;
+        }
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                MergedAnnotations.from(method, MergedAnnotations.SearchStrategy.TYPE_HIERARCHY).isPresent(KAFKA_LISTENER)
+                        ? Boolean.TRUE : null).isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.ecommerce.payment.gateway;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker for gateway calls. Opens when the failure rate over the last
+ * {@code windowSize} calls crosses the threshold, rejects calls while open, and lets a single
+ * probe through after {@code openDuration} to decide whether to close again.
+ *
+ * <p>Every admitted call holds a {@link Permit} for the period (generation) it was admitted in.
+ * An outcome reported for an earlier generation is ignored, so a slow call that started before
+ * a trip can neither re-trip the open breaker nor close it in place of the probe.
+ */
+public class GatewayCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+
+    // Ring buffer of recent outcomes, true = failure
+    private final boolean[] outcomes;
+    private int position;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+    // Advances on every state change
+    private long generation;
+
+    public GatewayCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.outcomes = new boolean[windowSize];
+    }
+
+    // Null when the call is rejected; otherwise pass the permit to onSuccess or onFailure
+    public synchronized Permit tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return new Permit(generation);
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return null;
+                }
+                transitionTo(State.HALF_OPEN);
+                probeInFlight = true;
+                return new Permit(generation);
+            default:
+                if (probeInFlight) {
+                    return null;
+                }
+                probeInFlight = true;
+                return new Permit(generation);
+        }
+    }
+
+    public synchronized void onSuccess(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            trip();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+            trip();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (outcomes[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % windowSize;
+    }
+
+    private void trip() {
+        transitionTo(State.OPEN);
+        openedAt = System.nanoTime();
+    }
+
+    private void transitionTo(State next) {
+        position = 0;
+        recorded = 0;
+        failures = 0;
+        probeInFlight = false;
+        state = next;
+        generation++;
+    }
+
+    public static final class Permit {
+        private final long generation;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.ecommerce.payment.gateway;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side pacing for bulk gateway traffic. Permits are handed out at a fixed rate; up to
+ * {@code burst} permits saved up while idle can be taken without waiting. Callers sleep outside
+ * the lock, so a slow caller never holds up the others.
+ */
+public class GatewayRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    private long nextFreeNanos;
+
+    public GatewayRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = (burst - 1) * intervalNanos;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        long slot = Math.max(nextFreeNanos, now - burstNanos);
+        nextFreeNanos = slot + intervalNanos;
+        return slot - now;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.ecommerce.product.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Access counts per product id, shared by every instance so a fresh one knows what is hot before
+ * it has served anything. Each instance counts locally and periodically adds its counts to an
+ * hourly sorted set in Redis; the hot list is the sum of the last {@code window-hours} sets.
+ */
+@Component
+public class HotProductTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotProductTracker.class);
+
+    private static final String KEY_PREFIX = "product:hot:";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${product.cache-warmup.hot-window-hours:6}")
+    private int windowHours;
+
+    // Ids beyond this are not counted until the next flush; the hot set is far smaller
+    @Value("${product.cache-warmup.max-tracked-ids:50000}")
+    private int maxTrackedIds;
+
+    // Swapped out on flush; an increment racing the swap may be lost, which the ranking tolerates
+    private volatile Map<Long, LongAdder> counts = new ConcurrentHashMap<>();
+
+    public void record(long productId) {
+        Map<Long, LongAdder> current = counts;
+        LongAdder count = current.get(productId);
+        if (count == null) {
+            if (current.size() >= maxTrackedIds) {
+                return;
+            }
+            count = current.computeIfAbsent(productId, id -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${product.cache-warmup.flush-interval-ms:30000}")
+    public void flush() {
+        Map<Long, LongAdder> flushed = counts;
+        counts = new ConcurrentHashMap<>();
+        if (flushed.isEmpty()) {
+            return;
+        }
+        String key = KEY_PREFIX + currentHour();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                flushed.forEach((productId, count) ->
+                        connection.zSetCommands().zIncrBy(rawKey, count.sum(), String.valueOf(productId).getBytes(StandardCharsets.UTF_8)));
+                connection.keyCommands().expire(rawKey, TimeUnit.HOURS.toSeconds(windowHours + 1L));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // Losing one interval of counts only makes the next warm-up slightly less accurate
+            logger.warn("Could not record product access counts: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The most requested product ids over the last window, hottest first. Summed from each hour's
+     * top {@code limit}, so an id that never made an hourly top list is left out.
+     */
+    public List<Long> hottest(int limit) {
+        long hour = currentHour();
+        Map<Long, Double> totals = new HashMap<>();
+        for (int i = 0; i < windowHours; i++) {
+            Set<ZSetOperations.TypedTuple<String>> top = redisTemplate.opsForZSet()
+                    .reverseRangeWithScores(KEY_PREFIX + (hour - i), 0, limit - 1);
+            if (top == null) {
+                continue;
+            }
+            for (ZSetOperations.TypedTuple<String> entry : top) {
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    totals.merge(Long.valueOf(entry.getValue()), entry.getScore(), Double::sum);
+                }
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(totals.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()));
+        List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / Duration.ofHours(1).toMillis();
+    }
+}
\ No newline at end of file
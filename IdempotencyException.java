@@ -0,0 +1,22 @@
+package com.ecommerce.payment.service;
+
+public class IdempotencyException extends RuntimeException {
+
+    public enum Reason {
+        // Same key sent with a different request body
+        KEY_REUSED,
+        // Another instance is still executing the first request for this key
+        IN_PROGRESS,
+        // The first request may have been applied; the key is held until the gateway confirms either way
+        OUTCOME_UNKNOWN
+    }
+
+    private final Reason reason;
+
+    public IdempotencyException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() { return reason; }
+}
\ No newline at end of file
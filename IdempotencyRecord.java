@@ -0,0 +1,97 @@
+package com.ecommerce.payment.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_records", indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord implements Persistable<String> {
+
+    // "<operation>:<client key>"
+    @Id
+    @Column(length = 191)
+    private String recordKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestFingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecordStatus status;
+
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    // What was sent, so an UNKNOWN outcome can be looked up at the gateway
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String requestBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Keys are client-assigned; persist() directly so a concurrent duplicate fails on the primary key
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String recordKey, String requestFingerprint, String requestBody,
+                             LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.recordKey = recordKey;
+        this.requestFingerprint = requestFingerprint;
+        this.requestBody = requestBody;
+        this.status = RecordStatus.IN_PROGRESS;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getId() { return recordKey; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    // Getters and Setters
+    public String getRecordKey() { return recordKey; }
+    public void setRecordKey(String recordKey) { this.recordKey = recordKey; }
+
+    public String getRequestFingerprint() { return requestFingerprint; }
+    public void setRequestFingerprint(String requestFingerprint) { this.requestFingerprint = requestFingerprint; }
+
+    public RecordStatus getStatus() { return status; }
+    public void setStatus(RecordStatus status) { this.status = status; }
+
+    public String getResponseBody() { return responseBody; }
+    public void setResponseBody(String responseBody) { this.responseBody = responseBody; }
+
+    public String getRequestBody() { return requestBody; }
+    public void setRequestBody(String requestBody) { this.requestBody = requestBody; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    // Enums
+    public enum RecordStatus {
+        IN_PROGRESS,
+        COMPLETED,
+        // The call may or may not have been applied; held until the gateway is asked
+        UNKNOWN
+    }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.entity.IdempotencyRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Conditional update so only one instance can take over an expired key. Only a completed
+    // response expires this way; a reservation whose call may have run is resolved, never reclaimed.
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.IN_PROGRESS, " +
+           "r.requestFingerprint = :fingerprint, r.requestBody = :requestBody, r.responseBody = NULL, " +
+           "r.createdAt = :now, r.expiresAt = :holdUntil " +
+           "WHERE r.recordKey = :recordKey AND r.expiresAt < :now " +
+           "AND r.status = com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.COMPLETED")
+    int claimExpired(@Param("recordKey") String recordKey, @Param("fingerprint") String fingerprint,
+                     @Param("requestBody") String requestBody, @Param("now") LocalDateTime now,
+                     @Param("holdUntil") LocalDateTime holdUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.UNKNOWN " +
+           "WHERE r.recordKey = :recordKey " +
+           "AND r.status = com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.IN_PROGRESS")
+    int markUnknown(@Param("recordKey") String recordKey);
+
+    // UNKNOWN records, and reservations whose hold ran out without an outcome (the instance died or
+    // could not store the response)
+    @Query("SELECT r.recordKey FROM IdempotencyRecord r " +
+           "WHERE r.status <> com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.COMPLETED " +
+           "AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<String> findUnresolved(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Leases an unresolved record to one instance while it asks the gateway
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.UNKNOWN, " +
+           "r.expiresAt = :leaseUntil WHERE r.recordKey = :recordKey AND r.expiresAt < :now " +
+           "AND r.status <> com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.COMPLETED")
+    int claimUnresolved(@Param("recordKey") String recordKey, @Param("now") LocalDateTime now,
+                        @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Releases a key whose call the gateway confirmed never happened
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey " +
+           "AND r.status = com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.UNKNOWN")
+    int deleteUnknown(@Param("recordKey") String recordKey);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.COMPLETED, " +
+           "r.responseBody = :responseBody, r.expiresAt = :expiresAt WHERE r.recordKey = :recordKey")
+    int markCompleted(@Param("recordKey") String recordKey, @Param("responseBody") String responseBody,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now " +
+           "AND r.status = com.ecommerce.payment.entity.IdempotencyRecord.RecordStatus.COMPLETED")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
\ No newline at end of file
@@ -0,0 +1,342 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.payment.entity.IdempotencyRecord;
+import com.ecommerce.payment.gateway.RazorpayGatewayClient;
+import com.ecommerce.payment.gateway.RazorpayGatewayException;
+import com.ecommerce.payment.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs a gateway call at most once per idempotency key. Duplicates arriving while the first
+ * call is in flight join its future; later duplicates are answered from the in-memory tier or,
+ * after a restart or on another instance, from the {@code idempotency_records} table.
+ *
+ * <p>A call whose outcome is unknown (timeout, 5xx, or a failure after the gateway answered) keeps
+ * its key as UNKNOWN, and retries get 409, until an {@link UnknownOutcomeResolver} has asked the
+ * gateway. The key is then completed with the gateway's response or, if the call never happened,
+ * released. A reservation is never reclaimed just because its hold ran out.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final int MAX_KEY_LENGTH = 128;
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private List<UnknownOutcomeResolver> resolverBeans;
+
+    // How long a completed response is replayed
+    @Value("${payment.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    // How long a reservation blocks other instances; must exceed the slowest gateway timeout
+    @Value("${payment.idempotency.in-progress-hold:2m}")
+    private Duration inProgressHold;
+
+    @Value("${payment.idempotency.memory-ttl:10m}")
+    private Duration memoryTtl;
+
+    @Value("${payment.idempotency.memory-max-entries:50000}")
+    private int memoryMaxEntries;
+
+    @Value("${payment.idempotency.writer-threads:2}")
+    private int writerThreads;
+
+    // How long one instance has to ask the gateway about an unknown outcome before another may
+    @Value("${payment.idempotency.resolve-lease:1m}")
+    private Duration resolveLease;
+
+    @Value("${payment.idempotency.resolve-batch-size:100}")
+    private int resolveBatchSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<RazorpayGatewayClient.Operation, UnknownOutcomeResolver> resolvers =
+            new EnumMap<>(RazorpayGatewayClient.Operation.class);
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private ExecutorService writer;
+
+    @PostConstruct
+    void init() {
+        resolverBeans.forEach(resolver -> resolvers.put(resolver.operation(), resolver));
+        // Completion is recorded off the gateway I/O threads so a slow database cannot stall them
+        AtomicInteger threadCount = new AtomicInteger();
+        writer = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("payment.idempotency.memory.entries", entries, Map::size)
+                .description("Keys held in the in-memory idempotency tier")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.shutdown();
+    }
+
+    public static String fingerprint(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(part).append('\u001f');
+        }
+        return DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A gateway receipt (at most 40 characters) that identifies one idempotency key
+    public static String receipt(RazorpayGatewayClient.Operation operation, String idempotencyKey) {
+        return "idem_" + fingerprint(operation.name(), idempotencyKey);
+    }
+
+    // request describes the call for the operation's UnknownOutcomeResolver
+    public CompletableFuture<JSONObject> execute(RazorpayGatewayClient.Operation operation, String idempotencyKey,
+                                                 String requestFingerprint, JSONObject request,
+                                                 Supplier<CompletableFuture<JSONObject>> call) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        String recordKey = operation.name() + ":" + idempotencyKey;
+
+        Entry entry = new Entry(requestFingerprint);
+        Entry existing = entries.putIfAbsent(recordKey, entry);
+        if (existing != null) {
+            return join(operation, existing, requestFingerprint);
+        }
+
+        JSONObject stored;
+        try {
+            stored = reserve(recordKey, requestFingerprint, request.toString());
+        } catch (RuntimeException e) {
+            entries.remove(recordKey, entry);
+            if (e instanceof IdempotencyException idempotencyException) {
+                count(operation, switch (idempotencyException.getReason()) {
+                    case KEY_REUSED -> "rejected_key_reuse";
+                    case IN_PROGRESS -> "rejected_in_progress";
+                    case OUTCOME_UNKNOWN -> "rejected_outcome_unknown";
+                });
+            }
+            entry.result.completeExceptionally(e);
+            return entry.result.copy();
+        }
+
+        if (stored != null) {
+            count(operation, "replayed_stored");
+            entry.succeed(stored, memoryTtl);
+            return entry.result.copy();
+        }
+
+        count(operation, "executed");
+        CompletableFuture<JSONObject> gatewayCall;
+        try {
+            gatewayCall = call.get();
+        } catch (RuntimeException e) {
+            gatewayCall = CompletableFuture.failedFuture(e);
+        }
+        gatewayCall.whenCompleteAsync((result, error) -> finish(recordKey, entry, result, error), writer);
+        return entry.result.copy();
+    }
+
+    private CompletableFuture<JSONObject> join(RazorpayGatewayClient.Operation operation, Entry existing,
+                                               String requestFingerprint) {
+        if (!existing.fingerprint.equals(requestFingerprint)) {
+            count(operation, "rejected_key_reuse");
+            return CompletableFuture.failedFuture(new IdempotencyException(IdempotencyException.Reason.KEY_REUSED,
+                    "Idempotency key was already used with a different request"));
+        }
+        count(operation, existing.result.isDone() ? "replayed_memory" : "joined_in_flight");
+        return existing.result.copy();
+    }
+
+    // Returns the stored response for a completed key, or null once this caller owns the key
+    private JSONObject reserve(String recordKey, String requestFingerprint, String requestBody) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            repository.saveAndFlush(new IdempotencyRecord(recordKey, requestFingerprint, requestBody,
+                    now, now.plus(inProgressHold)));
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            // Key already exists: take it over if its stored response has expired, otherwise inspect it
+        }
+        if (repository.claimExpired(recordKey, requestFingerprint, requestBody, now, now.plus(inProgressHold)) == 1) {
+            return null;
+        }
+
+        IdempotencyRecord record = repository.findById(recordKey).orElse(null);
+        if (record == null) {
+            throw new IdempotencyException(IdempotencyException.Reason.IN_PROGRESS,
+                    "Idempotency key is being released; retry shortly");
+        }
+        if (!record.getRequestFingerprint().equals(requestFingerprint)) {
+            throw new IdempotencyException(IdempotencyException.Reason.KEY_REUSED,
+                    "Idempotency key was already used with a different request");
+        }
+        if (record.getStatus() == IdempotencyRecord.RecordStatus.COMPLETED) {
+            return new JSONObject(record.getResponseBody());
+        }
+        if (record.getStatus() == IdempotencyRecord.RecordStatus.UNKNOWN || record.getExpiresAt().isBefore(now)) {
+            throw new IdempotencyException(IdempotencyException.Reason.OUTCOME_UNKNOWN,
+                    "The outcome of the earlier request with this idempotency key is being confirmed with the gateway");
+        }
+        throw new IdempotencyException(IdempotencyException.Reason.IN_PROGRESS,
+                "A request with this idempotency key is still in progress");
+    }
+
+    private void finish(String recordKey, Entry entry, JSONObject result, Throwable error) {
+        if (error == null) {
+            try {
+                repository.markCompleted(recordKey, result.toString(), LocalDateTime.now().plus(ttl));
+            } catch (RuntimeException e) {
+                // The memory tier still covers this instance; once the hold expires the resolver completes the
+                // record from the gateway
+                logger.warn("Could not store idempotent response for {}: {}", recordKey, e.getMessage());
+            }
+            entry.succeed(result, memoryTtl);
+            if (entries.size() > memoryMaxEntries) {
+                entries.remove(recordKey, entry);
+            }
+            return;
+        }
+
+        RazorpayGatewayException failure = RazorpayGatewayClient.unwrap(error);
+        try {
+            if (isOutcomeUnknown(failure)) {
+                // Retries get 409 until resolveUnknownOutcomes has asked the gateway; if this update fails the
+                // reservation is picked up by the resolver once its hold expires
+                repository.markUnknown(recordKey);
+            } else {
+                repository.deleteById(recordKey);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not settle idempotency key {}: {}", recordKey, e.getMessage());
+        }
+        entries.remove(recordKey, entry);
+        entry.result.completeExceptionally(failure);
+    }
+
+    // The request may have reached the gateway and been applied
+    private static boolean isOutcomeUnknown(RazorpayGatewayException failure) {
+        return failure.getReason() == RazorpayGatewayException.Reason.TIMEOUT
+                || failure.getReason() == RazorpayGatewayException.Reason.UNAVAILABLE;
+    }
+
+    // Completes or releases keys whose outcome is unknown. Runs after the in-progress hold, which outlasts the
+    // slowest gateway timeout, so the call being asked about has finished one way or the other.
+    @Scheduled(fixedDelayString = "${payment.idempotency.resolve-interval-ms:30000}")
+    public void resolveUnknownOutcomes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> recordKeys;
+        try {
+            recordKeys = repository.findUnresolved(now, PageRequest.of(0, resolveBatchSize));
+        } catch (RuntimeException e) {
+            logger.warn("Could not read unresolved idempotency records: {}", e.getMessage());
+            return;
+        }
+        for (String recordKey : recordKeys) {
+            try {
+                if (repository.claimUnresolved(recordKey, now, now.plus(resolveLease)) == 1) {
+                    resolve(recordKey);
+                }
+            } catch (RuntimeException e) {
+                // Stays UNKNOWN; asked again once the lease runs out
+                logger.warn("Could not resolve idempotency key {}: {}", recordKey, e.getMessage());
+            }
+        }
+    }
+
+    private void resolve(String recordKey) {
+        IdempotencyRecord record = repository.findById(recordKey).orElse(null);
+        if (record == null) {
+            return;
+        }
+        RazorpayGatewayClient.Operation operation =
+                RazorpayGatewayClient.Operation.valueOf(recordKey.substring(0, recordKey.indexOf(':')));
+        UnknownOutcomeResolver resolver = resolvers.get(operation);
+        if (resolver == null || record.getRequestBody() == null) {
+            logger.error("Idempotency key {} has an unknown outcome and cannot be checked automatically; "
+                    + "complete or delete the record once the gateway has been checked", recordKey);
+            return;
+        }
+        Optional<JSONObject> applied = resolver.resolve(new JSONObject(record.getRequestBody()));
+        if (applied.isPresent()) {
+            repository.markCompleted(recordKey, applied.get().toString(), LocalDateTime.now().plus(ttl));
+            count(operation, "resolved_applied");
+        } else {
+            repository.deleteUnknown(recordKey);
+            count(operation, "resolved_not_applied");
+        }
+        logger.info("Idempotency key {} resolved: call was {}", recordKey, applied.isPresent() ? "applied" : "not applied");
+    }
+
+    @Scheduled(fixedDelayString = "${payment.idempotency.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.result.isDone() && now - entry.expiresAtNanos > 0);
+        try {
+            int deleted = repository.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                logger.debug("Deleted {} expired idempotency records", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not delete expired idempotency records: {}", e.getMessage());
+        }
+    }
+
+    private void count(RazorpayGatewayClient.Operation operation, String outcome) {
+        counters.computeIfAbsent(operation.name() + ":" + outcome, name -> Counter.builder("payment.idempotency.requests")
+                .description("Idempotent payment requests by outcome; anything but executed is a suppressed duplicate")
+                .tag("operation", operation.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final CompletableFuture<JSONObject> result = new CompletableFuture<>();
+        volatile long expiresAtNanos;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        void succeed(JSONObject response, Duration memoryTtl) {
+            expiresAtNanos = System.nanoTime() + memoryTtl.toNanos();
+            result.complete(response);
+        }
+    }
+}
\ No newline at end of file
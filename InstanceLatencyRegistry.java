@@ -0,0 +1,333 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import com.netflix.appinfo.InstanceInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.netflix.eureka.EurekaServiceInstance;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latency and in-flight counts for every instance the gateway routes to, fed by the load-balancer
+ * lifecycle around each proxied request. {@link LatencyAwareLoadBalancer} reads the resulting
+ * cost when choosing; instances that keep failing or run far slower than their siblings are
+ * ejected for a while, never more than {@code max-ejection-percent} of a service at once.
+ */
+@Component
+public class InstanceLatencyRegistry implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceLatencyRegistry.class);
+
+    private static final double MIN_SLOW_START_WEIGHT = 0.1;
+    private static final int MAX_EJECTION_MULTIPLIER = 5;
+    private static final long OUTLIER_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.load-balancer.decay:10s}")
+    private Duration decay;
+
+    @Value("${gateway.load-balancer.slow-start:30s}")
+    private Duration slowStart;
+
+    // Counted as the response time of a failed request, so fast failures do not attract traffic
+    @Value("${gateway.load-balancer.failure-penalty:1s}")
+    private Duration failurePenalty;
+
+    @Value("${gateway.load-balancer.ejection.consecutive-failures:5}")
+    private int ejectAfterFailures;
+
+    // Ejected when its average is this many times the median of its siblings
+    @Value("${gateway.load-balancer.ejection.latency-factor:3.0}")
+    private double ejectLatencyFactor;
+
+    @Value("${gateway.load-balancer.ejection.min-samples:20}")
+    private int ejectMinSamples;
+
+    // Doubled, tripled, ... for repeat offenders, up to five times
+    @Value("${gateway.load-balancer.ejection.duration:30s}")
+    private Duration ejectionDuration;
+
+    @Value("${gateway.load-balancer.ejection.max-ejection-percent:50}")
+    private int maxEjectionPercent;
+
+    @Value("${gateway.load-balancer.idle-timeout:5m}")
+    private Duration idleTimeout;
+
+    private final Map<String, ServiceStats> services = new ConcurrentHashMap<>();
+
+    /** Cost of sending the next request to this instance; lower is better. */
+    double cost(String serviceId, ServiceInstance instance, long nowNanos) {
+        ServiceStats service = service(serviceId);
+        return cost(service, service.track(instance, nowNanos), nowNanos);
+    }
+
+    boolean isEjected(String serviceId, ServiceInstance instance, long nowNanos) {
+        ServiceStats service = service(serviceId);
+        return service.track(instance, nowNanos).isEjected(nowNanos, service.getEwmaNanos());
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        service(instance.getServiceId()).track(instance, System.nanoTime()).outstanding.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> context) {
+        Response<ServiceInstance> lbResponse = context.getLoadBalancerResponse();
+        if (context.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        long now = System.nanoTime();
+        ServiceInstance instance = lbResponse.getServer();
+        ServiceStats service = service(instance.getServiceId());
+        InstanceStats stats = service.track(instance, now);
+        stats.outstanding.decrementAndGet();
+
+        Object requestContext = context.getLoadBalancerRequest() != null ? context.getLoadBalancerRequest().getContext() : null;
+        if (!(requestContext instanceof TimedRequestContext timed) || timed.getRequestStartTime() == 0) {
+            return;
+        }
+        long rtt = now - timed.getRequestStartTime();
+        boolean failure = context.status() == CompletionContext.Status.FAILED
+                || (context.getClientResponse() instanceof ResponseData response
+                        && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError());
+        if (failure) {
+            rtt = Math.max(rtt, failurePenalty.toNanos());
+        }
+        int failures = stats.record(rtt, failure, now, decay.toNanos());
+        service.record(rtt, now, decay.toNanos());
+
+        if (failures >= ejectAfterFailures) {
+            tryEject(service, stats, now, failures + " consecutive failures");
+        } else if (stats.getSamples() >= ejectMinSamples && stats.outlierCheckDue(now, OUTLIER_CHECK_INTERVAL_NANOS)) {
+            double median = service.siblingMedianNanos(stats, ejectMinSamples);
+            if (median > 0 && stats.getEwmaNanos() > ejectLatencyFactor * median) {
+                tryEject(service, stats, now, String.format("latency %.1f ms against a median of %.1f ms",
+                        stats.getEwmaNanos() / 1e6, median / 1e6));
+            }
+        }
+    }
+
+    private void tryEject(ServiceStats service, InstanceStats stats, long nowNanos, String cause) {
+        service.ejectionLock.lock();
+        try {
+            if (stats.isEjectedFlag()) {
+                return;
+            }
+            int size = service.instances.size();
+            if ((service.ejectedCount(nowNanos) + 1) * 100 > maxEjectionPercent * size) {
+                return;
+            }
+            stats.eject(nowNanos, ejectionDuration.toNanos(), MAX_EJECTION_MULTIPLIER);
+        } finally {
+            service.ejectionLock.unlock();
+        }
+        logger.warn("Ejected {} {} for {} ms: {}", stats.serviceId, stats.instanceKey,
+                TimeUnit.NANOSECONDS.toMillis(stats.getEjectedUntilNanos() - nowNanos), cause);
+    }
+
+    /** Per-service, per-instance view for the loadbalancer actuator endpoint. */
+    public Map<String, List<Map<String, Object>>> snapshot() {
+        long now = System.nanoTime();
+        Map<String, List<Map<String, Object>>> result = new TreeMap<>();
+        services.forEach((serviceId, service) -> {
+            List<Map<String, Object>> instances = new ArrayList<>();
+            for (InstanceStats stats : service.instances.values()) {
+                Map<String, Object> view = new LinkedHashMap<>();
+                view.put("instance", stats.instanceKey);
+                view.put("host", stats.host);
+                view.put("port", stats.port);
+                view.put("latencyMs", stats.getEwmaNanos() / 1e6);
+                view.put("outstanding", stats.outstanding.get());
+                view.put("weight", stats.weight(now, slowStart.toNanos(), MIN_SLOW_START_WEIGHT));
+                view.put("scoreMs", cost(service, stats, now) / 1e6);
+                view.put("samples", stats.getSamples());
+                view.put("consecutiveFailures", stats.getConsecutiveFailures());
+                boolean ejected = stats.isEjectedFlag() && now - stats.getEjectedUntilNanos() < 0;
+                view.put("ejected", ejected);
+                view.put("ejectedForMs", ejected ? TimeUnit.NANOSECONDS.toMillis(stats.getEjectedUntilNanos() - now) : 0);
+                instances.add(view);
+            }
+            result.put(serviceId, instances);
+        });
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.load-balancer.sweep-interval-ms:60000}")
+    public void sweep() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        services.values().forEach(service -> service.instances.values().removeIf(stats -> {
+            if (stats.getLastSeenNanos() - cutoff >= 0 || stats.outstanding.get() > 0) {
+                return false;
+            }
+            stats.meters.forEach(meterRegistry::remove);
+            return true;
+        }));
+    }
+
+    // Expected wait in nanoseconds, inflated by queued requests and by an unfinished slow start
+    private double cost(ServiceStats service, InstanceStats stats, long nowNanos) {
+        // Instances without samples yet are assumed to be average
+        double latency = stats.getSamples() > 0 ? stats.getEwmaNanos() : service.getEwmaNanos();
+        return Math.max(latency, 1) * (stats.outstanding.get() + 1)
+                / stats.weight(nowNanos, slowStart.toNanos(), MIN_SLOW_START_WEIGHT);
+    }
+
+    private ServiceStats service(String serviceId) {
+        return services.computeIfAbsent(serviceId.toLowerCase(), ServiceStats::new);
+    }
+
+    private InstanceStats newStats(ServiceStats service, ServiceInstance instance, String key, long nowNanos) {
+        InstanceStats stats = new InstanceStats(service.serviceId, key, instance.getHost(), instance.getPort(),
+                warmStart(instance, nowNanos));
+        Tags tags = Tags.of("service", service.serviceId, "instance", key);
+        stats.meters.add(Gauge.builder("gateway.loadbalancer.instance.latency", stats, s -> s.getEwmaNanos() / 1e9)
+                .description("Peak-weighted moving average of response time, in seconds")
+                .tags(tags).register(meterRegistry));
+        stats.meters.add(Gauge.builder("gateway.loadbalancer.instance.outstanding", stats, s -> s.outstanding.get())
+                .description("Requests in flight to the instance")
+                .tags(tags).register(meterRegistry));
+        stats.meters.add(Gauge.builder("gateway.loadbalancer.instance.score", stats,
+                        s -> cost(service, s, System.nanoTime()) / 1e9)
+                .description("Load-balancing cost of the instance in seconds; lower is preferred")
+                .tags(tags).register(meterRegistry));
+        stats.meters.add(Gauge.builder("gateway.loadbalancer.instance.ejected", stats,
+                        s -> s.isEjectedFlag() && System.nanoTime() - s.getEjectedUntilNanos() < 0 ? 1 : 0)
+                .description("1 while the instance is ejected")
+                .tags(tags).register(meterRegistry));
+        return stats;
+    }
+
+    // Instances that registered with Eureka before the gateway saw them are already part-way warm
+    private static long warmStart(ServiceInstance instance, long nowNanos) {
+        if (instance instanceof EurekaServiceInstance eureka) {
+            InstanceInfo info = eureka.getInstanceInfo();
+            long upMillis = info.getLeaseInfo() != null ? info.getLeaseInfo().getServiceUpTimestamp() : 0;
+            if (upMillis > 0) {
+                long ageMillis = Math.max(0, System.currentTimeMillis() - upMillis);
+                return nowNanos - TimeUnit.MILLISECONDS.toNanos(ageMillis);
+            }
+        }
+        return nowNanos;
+    }
+
+    private static String instanceKey(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private final class ServiceStats {
+
+        final String serviceId;
+        final Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+        final ReentrantLock ejectionLock = new ReentrantLock();
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private double ewmaNanos;
+        private long lastSampleNanos;
+
+        ServiceStats(String serviceId) {
+            this.serviceId = serviceId;
+        }
+
+        InstanceStats track(ServiceInstance instance, long nowNanos) {
+            String key = instanceKey(instance);
+            InstanceStats stats = instances.get(key);
+            if (stats == null) {
+                stats = instances.computeIfAbsent(key, k -> newStats(this, instance, k, nowNanos));
+            }
+            stats.touch(nowNanos);
+            return stats;
+        }
+
+        // Plain time-decayed average across all instances, used as the prior for new ones
+        void record(long rttNanos, long nowNanos, long decayNanos) {
+            lock.lock();
+            try {
+                if (lastSampleNanos == 0) {
+                    ewmaNanos = rttNanos;
+                } else {
+                    double weight = Math.exp(-(double) (nowNanos - lastSampleNanos) / decayNanos);
+                    ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+                }
+                lastSampleNanos = nowNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        double getEwmaNanos() {
+            lock.lock();
+            try {
+                return ewmaNanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        double siblingMedianNanos(InstanceStats self, int minSamples) {
+            List<Double> latencies = new ArrayList<>();
+            for (InstanceStats other : instances.values()) {
+                if (other != self && !other.isEjectedFlag() && other.getSamples() >= minSamples) {
+                    latencies.add(other.getEwmaNanos());
+                }
+            }
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            Collections.sort(latencies);
+            return latencies.get(latencies.size() / 2);
+        }
+
+        int ejectedCount(long nowNanos) {
+            int count = 0;
+            for (InstanceStats stats : instances.values()) {
+                if (stats.isEjectedFlag() && nowNanos - stats.getEjectedUntilNanos() < 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Meter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Load-balancing state for one service instance: a peak-sensitive EWMA of response time, the
+ * requests currently in flight, the start of its slow-start ramp and any active ejection.
+ */
+class InstanceStats {
+
+    final String serviceId;
+    final String instanceKey;
+    final String host;
+    final int port;
+
+    final AtomicInteger outstanding = new AtomicInteger();
+    final List<Meter> meters = new ArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private double ewmaNanos;
+    private long lastSampleNanos;
+    private long samples;
+    private int consecutiveFailures;
+    private int ejections;
+    private long lastOutlierCheckNanos;
+
+    private volatile boolean ejected;
+    private volatile long ejectedUntilNanos;
+    private volatile long warmStartNanos;
+    private volatile long lastSeenNanos;
+
+    InstanceStats(String serviceId, String instanceKey, String host, int port, long warmStartNanos) {
+        this.serviceId = serviceId;
+        this.instanceKey = instanceKey;
+        this.host = host;
+        this.port = port;
+        this.warmStartNanos = warmStartNanos;
+        this.lastSeenNanos = warmStartNanos;
+    }
+
+    /**
+     * Folds in one response time. Slower-than-average samples replace the average outright so a
+     * pausing instance is avoided at once; faster ones pull it down with time-based decay.
+     * Returns the number of consecutive failures after this sample.
+     */
+    int record(long rttNanos, boolean failure, long nowNanos, long decayNanos) {
+        lock.lock();
+        try {
+            if (samples == 0 || rttNanos > ewmaNanos) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-(double) (nowNanos - lastSampleNanos) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+            }
+            lastSampleNanos = nowNanos;
+            samples++;
+            consecutiveFailures = failure ? consecutiveFailures + 1 : 0;
+            return consecutiveFailures;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rate-limits the sibling comparison to once per interval
+    boolean outlierCheckDue(long nowNanos, long intervalNanos) {
+        lock.lock();
+        try {
+            if (nowNanos - lastOutlierCheckNanos < intervalNanos) {
+                return false;
+            }
+            lastOutlierCheckNanos = nowNanos;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void eject(long nowNanos, long baseNanos, int maxMultiplier) {
+        lock.lock();
+        try {
+            ejections = Math.min(ejections + 1, maxMultiplier);
+            ejectedUntilNanos = nowNanos + baseNanos * ejections;
+            ejected = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Ends an expired ejection; the instance then starts from the service average and ramps up again
+    boolean isEjected(long nowNanos, double serviceEwmaNanos) {
+        if (!ejected) {
+            return false;
+        }
+        if (nowNanos - ejectedUntilNanos < 0) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (ejected) {
+                ejected = false;
+                ewmaNanos = serviceEwmaNanos;
+                samples = 0;
+                consecutiveFailures = 0;
+                warmStartNanos = nowNanos;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Fraction of a full share the instance may take; ramps linearly over the slow-start window
+    double weight(long nowNanos, long slowStartNanos, double minWeight) {
+        long age = nowNanos - warmStartNanos;
+        if (slowStartNanos <= 0 || age >= slowStartNanos) {
+            return 1.0;
+        }
+        return Math.max(minWeight, (double) Math.max(0, age) / slowStartNanos);
+    }
+
+    double getEwmaNanos() {
+        lock.lock();
+        try {
+            return ewmaNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getSamples() {
+        lock.lock();
+        try {
+            return samples;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getConsecutiveFailures() {
+        lock.lock();
+        try {
+            return consecutiveFailures;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEjectedFlag() { return ejected; }
+
+    long getEjectedUntilNanos() { return ejectedUntilNanos; }
+
+    void touch(long nowNanos) { lastSeenNanos = nowNanos; }
+
+    long getLastSeenNanos() { return lastSeenNanos; }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.ecommerce.gateway.composite;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache with a TTL for one leg of a composite response. Concurrent misses for the
+ * same key share a single load, and failed loads are not cached. With a zero TTL nothing is
+ * stored and only the sharing of in-flight loads remains. Loaders must carry their own timeout:
+ * a shared load keeps running when one of its callers gives up.
+ */
+class LegCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAtNanos;
+
+        Entry(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long ttlNanos;
+    private final Map<K, Entry<V>> entries;
+    private final Map<K, Mono<V>> loading = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    LegCache(String leg, int capacity, Duration ttl, MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1 << 12), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.hits = Counter.builder("gateway.composite.cache")
+                .description("Composite leg lookups answered from the gateway cache")
+                .tag("leg", leg)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("gateway.composite.cache")
+                .description("Composite leg lookups answered from the gateway cache")
+                .tag("leg", leg)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        if (ttlNanos > 0) {
+            Entry<V> entry;
+            lock.lock();
+            try {
+                entry = entries.get(key);
+                if (entry != null && System.nanoTime() - entry.expiresAtNanos > 0) {
+                    entries.remove(key);
+                    entry = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (entry != null) {
+                hits.increment();
+                return Mono.just(entry.value);
+            }
+        }
+        misses.increment();
+        return loading.computeIfAbsent(key, k -> loader.apply(k)
+                .doOnNext(value -> put(k, value))
+                .doFinally(signal -> loading.remove(k))
+                .cache());
+    }
+
+    private void put(K key, V value) {
+        if (ttlNanos <= 0) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + ttlNanos);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
\ No newline at end of file
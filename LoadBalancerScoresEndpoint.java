@@ -0,0 +1,26 @@
+package com.ecommerce.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/loadbalancer}: latency, in-flight requests, slow-start weight, score and
+ * ejection state of every instance the gateway has routed to, grouped by service.
+ */
+@Component
+@Endpoint(id = "loadbalancer")
+public class LoadBalancerScoresEndpoint {
+
+    @Autowired
+    private InstanceLatencyRegistry registry;
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> scores() {
+        return registry.snapshot();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.ecommerce.gateway.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limiting for endpoints the gateway serves itself rather than routes, which never pass
+ * through {@link RateLimitFilter}. Today that is the composite product page, which fans out to
+ * four backend calls per request. Same buckets, headers and 429 response as routed traffic.
+ */
+@Component
+public class LocalEndpointRateLimitFilter implements WebFilter, Ordered {
+
+    public static final String PRODUCT_PAGES_PATH = "/api/product-pages/";
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Value("${gateway.rate-limit.product-pages:20:40:ip}")
+    private String productPagesSpec;
+
+    private RateLimitPolicy productPagesPolicy;
+
+    @PostConstruct
+    void init() {
+        productPagesPolicy = RateLimitPolicy.parse("product-pages", productPagesSpec);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith(PRODUCT_PAGES_PATH)) {
+            return chain.filter(exchange);
+        }
+        return rateLimitFilter.limit(productPagesPolicy, exchange, () -> chain.filter(exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        return RateLimitFilter.ORDER;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.ecommerce.email.stub;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process SMTP sink for local runs and load tests, started with the
+ * {@code smtp-stub} profile. Point {@code spring.mail.host/port} at it with no credentials.
+ * Accepted messages are counted and discarded. {@code latency-ms} slows every reply, and
+ * {@code reject-rate} answers that fraction of RCPT commands with a temporary 451.
+ */
+@Component
+@Profile("smtp-stub")
+public class LocalSmtpServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalSmtpServer.class);
+
+    @Value("${email.smtp-stub.port:2525}")
+    private int port;
+
+    @Value("${email.smtp-stub.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${email.smtp-stub.reject-rate:0}")
+    private double rejectRate;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        serverSocket = new ServerSocket(port);
+        executor = Executors.newCachedThreadPool();
+        Thread acceptor = new Thread(this::acceptLoop, "smtp-stub-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("SMTP stub listening on localhost:{}", port);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+        logger.info("SMTP stub accepted {} messages over {} connections", accepted.get(), connections.get());
+    }
+
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                logger.warn("SMTP stub accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            reply(out, "220 localhost ESMTP stub");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "RCPT" -> reply(out, ThreadLocalRandom.current().nextDouble() < rejectRate
+                            ? "451 4.3.0 Try again later" : "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Discard the message body
+                        }
+                        accepted.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("SMTP stub connection closed: {}", e.getMessage());
+        }
+    }
+
+    private void reply(Writer out, String response) throws IOException {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            }
+        }
+        out.write(response);
+        out.write("\r\n");
+        out.flush();
+    }
+}
\ No newline at end of file
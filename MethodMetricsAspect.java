@@ -0,0 +1,105 @@
+package com.ecommerce.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of every public {@code @Service} method ({@code app.service.method}) and every Spring
+ * Data repository call ({@code app.dependency.call}, tagged jpa or elasticsearch), so a slow
+ * service method can be split into the stores it waited on. Only a {@code sample-rate} fraction of
+ * calls is timed; timer counts are then of sampled calls, percentiles are unaffected.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class MethodMetricsAspect {
+
+    public static final String SERVICE_METHOD_TIMER = "app.service.method";
+    public static final String DEPENDENCY_TIMER = "app.dependency.call";
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String[]> repositories = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    @Around("execution(public * *(..)) && within(@org.springframework.stereotype.Service *)")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!sampled()) {
+            return joinPoint.proceed();
+        }
+        String service = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+        return time(joinPoint, SERVICE_METHOD_TIMER, "service", service, null);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!sampled()) {
+            return joinPoint.proceed();
+        }
+        String[] repository = repositories.computeIfAbsent(joinPoint.getThis().getClass(), MethodMetricsAspect::describe);
+        return time(joinPoint, DEPENDENCY_TIMER, "repository", repository[0], repository[1]);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, String ownerTag, String owner, String dependency) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String method = joinPoint.getSignature().getName();
+            String tagOutcome = outcome;
+            timers.computeIfAbsent(name + '|' + owner + '|' + method + '|' + outcome, key -> {
+                Timer.Builder builder = Timer.builder(name)
+                        .tag(ownerTag, owner)
+                        .tag("method", method)
+                        .tag("outcome", tagOutcome);
+                if (dependency != null) {
+                    builder.tag("dependency", dependency);
+                }
+                return builder.register(meterRegistry);
+            }).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    // {application repository interface name, store}; the proxy also implements Spring's own interfaces
+    private static String[] describe(Class<?> proxyClass) {
+        String name = proxyClass.getSimpleName();
+        String store = "repository";
+        for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(proxyClass)) {
+            String typeName = type.getName();
+            if (typeName.startsWith("org.springframework.data.elasticsearch.")) {
+                store = "elasticsearch";
+            } else if (typeName.startsWith("org.springframework.data.jpa.") && !"elasticsearch".equals(store)) {
+                store = "jpa";
+            } else if (Repository.class.isAssignableFrom(type) && !typeName.startsWith("org.springframework.")) {
+                name = type.getSimpleName();
+            }
+        }
+        return new String[] {name, store};
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.ecommerce.common.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Latency instrumentation that stays on in production: sampled per-method and per-repository
+ * timers, hit/miss/load meters on every cache, and percentile histograms (not client-side
+ * percentiles, so they aggregate across instances in Prometheus) for the {@code app.*} timers,
+ * Kafka template/listener observations and server requests. Buckets are bounded to
+ * {@code app.metrics.histogram.min..max} to keep the series count per timer small.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(name = "app.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfiguration {
+
+    private static final List<String> DEFAULT_HISTOGRAM_PREFIXES =
+            List.of("app.", "spring.kafka.", "http.server.requests", "razorpay.");
+
+    @Bean
+    public MethodMetricsAspect methodMetricsAspect(MeterRegistry meterRegistry, Environment environment) {
+        return new MethodMetricsAspect(meterRegistry, environment.getProperty("app.metrics.sample-rate", Double.class, 1.0));
+    }
+
+    // Makes @Timed work on individual methods that need their own name
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterFilter latencyHistograms(Environment environment) {
+        Set<String> configured = StringUtils.commaDelimitedListToSet(environment.getProperty("app.metrics.histogram.prefixes", ""));
+        List<String> prefixes = configured.isEmpty() ? DEFAULT_HISTOGRAM_PREFIXES : List.copyOf(configured);
+        Duration min = environment.getProperty("app.metrics.histogram.min", Duration.class, Duration.ofMillis(1));
+        Duration max = environment.getProperty("app.metrics.histogram.max", Duration.class, Duration.ofSeconds(10));
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || prefixes.stream().noneMatch(id.getName()::startsWith)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) min.toNanos())
+                        .maximumExpectedValue((double) max.toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    // Static: post-processors are created before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor timedCacheManagerPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof TimedCacheManager)) {
+                    return new TimedCacheManager(cacheManager, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.ecommerce.order.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_orders_status", columnList = "status")
+})
+public class Order {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private OrderStatus status;
+
+    @NotNull
+    @Column(precision = 12, scale = 2)
+    private BigDecimal totalAmount;
+
+    @NotNull
+    @Column(length = 3)
+    private String currency = "INR";
+
+    // Stock reservation held in product-catalog-service; assigned before the reserve call so it can always be released
+    private String reservationId;
+
+    // Razorpay order created through payment-service
+    private String paymentOrderId;
+
+    @Column(length = 500)
+    private String failureReason;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<OrderItem> items = new ArrayList<>();
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public Order() {}
+
+    public Order(Long userId, String currency) {
+        this.userId = userId;
+        this.currency = currency;
+        this.status = OrderStatus.PENDING;
+        this.totalAmount = BigDecimal.ZERO;
+    }
+
+    public void addItem(OrderItem item) {
+        item.setOrder(this);
+        items.add(item);
+        totalAmount = totalAmount.add(item.getLineTotal());
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getReservationId() { return reservationId; }
+    public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+
+    public String getPaymentOrderId() { return paymentOrderId; }
+    public void setPaymentOrderId(String paymentOrderId) { this.paymentOrderId = paymentOrderId; }
+
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+
+    public List<OrderItem> getItems() { return items; }
+    public void setItems(List<OrderItem> items) { this.items = items; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    // Enums
+    public enum OrderStatus {
+        // Saved, dependencies still being called
+        PENDING,
+        // Stock reserved and payment order created; waiting for the customer to pay
+        AWAITING_PAYMENT,
+        PAID,
+        CANCELLED,
+        // Placement failed and every completed step was undone
+        FAILED,
+        // Placement failed and a compensating call did not succeed; needs attention
+        COMPENSATION_FAILED
+    }
+}
\ No newline at end of file
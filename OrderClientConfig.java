@@ -0,0 +1,94 @@
+package com.ecommerce.order.config;
+
+import com.ecommerce.order.client.DependencyBulkhead;
+import feign.Request;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One bulkhead per downstream service used while placing an order, each with its own pool size
+ * and deadline. Feign's read timeout is a backstop that frees a bulkhead thread whose call the
+ * deadline has already abandoned.
+ */
+@Configuration
+public class OrderClientConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService dependencyDeadlineTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "dependency-deadlines");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public DependencyBulkhead userServiceBulkhead(ScheduledExecutorService dependencyDeadlineTimer, MeterRegistry meterRegistry,
+                                                  @Value("${order.dependencies.user-service.max-concurrent:20}") int maxConcurrent,
+                                                  @Value("${order.dependencies.user-service.queue-capacity:50}") int queueCapacity,
+                                                  @Value("${order.dependencies.user-service.timeout:800ms}") Duration timeout) {
+        return bulkhead("user-service", maxConcurrent, queueCapacity, timeout, dependencyDeadlineTimer, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public DependencyBulkhead productServiceBulkhead(ScheduledExecutorService dependencyDeadlineTimer, MeterRegistry meterRegistry,
+                                                     @Value("${order.dependencies.product-service.max-concurrent:40}") int maxConcurrent,
+                                                     @Value("${order.dependencies.product-service.queue-capacity:100}") int queueCapacity,
+                                                     @Value("${order.dependencies.product-service.timeout:800ms}") Duration timeout) {
+        return bulkhead("product-service", maxConcurrent, queueCapacity, timeout, dependencyDeadlineTimer, meterRegistry);
+    }
+
+    // Reservations are writes and take row locks, so they get a separate, smaller pool than catalog reads
+    @Bean(destroyMethod = "shutdown")
+    public DependencyBulkhead inventoryBulkhead(ScheduledExecutorService dependencyDeadlineTimer, MeterRegistry meterRegistry,
+                                                @Value("${order.dependencies.inventory.max-concurrent:20}") int maxConcurrent,
+                                                @Value("${order.dependencies.inventory.queue-capacity:50}") int queueCapacity,
+                                                @Value("${order.dependencies.inventory.timeout:1500ms}") Duration timeout) {
+        return bulkhead("inventory", maxConcurrent, queueCapacity, timeout, dependencyDeadlineTimer, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public DependencyBulkhead paymentServiceBulkhead(ScheduledExecutorService dependencyDeadlineTimer, MeterRegistry meterRegistry,
+                                                     @Value("${order.dependencies.payment-service.max-concurrent:20}") int maxConcurrent,
+                                                     @Value("${order.dependencies.payment-service.queue-capacity:50}") int queueCapacity,
+                                                     @Value("${order.dependencies.payment-service.timeout:3s}") Duration timeout) {
+        return bulkhead("payment-service", maxConcurrent, queueCapacity, timeout, dependencyDeadlineTimer, meterRegistry);
+    }
+
+    @Bean
+    public Request.Options feignRequestOptions(@Value("${order.clients.connect-timeout:500ms}") Duration connectTimeout,
+                                               @Value("${order.clients.read-timeout:5s}") Duration readTimeout) {
+        return new Request.Options(connectTimeout.toMillis(), TimeUnit.MILLISECONDS,
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS, true);
+    }
+
+    // Local steps of the saga (validation, database writes) run here, never on a dependency's pool
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService orderSagaExecutor(@Value("${order.saga.threads:8}") int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "order-saga-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static DependencyBulkhead bulkhead(String name, int maxConcurrent, int queueCapacity, Duration timeout,
+                                               ScheduledExecutorService timer, MeterRegistry meterRegistry) {
+        DependencyBulkhead bulkhead = new DependencyBulkhead(name, maxConcurrent, queueCapacity, timeout, timer);
+        bulkhead.registerMetrics(meterRegistry);
+        return bulkhead;
+    }
+}
\ No newline at end of file
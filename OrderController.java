@@ -0,0 +1,74 @@
+package com.ecommerce.order.controller;
+
+import com.ecommerce.order.dto.CreateOrderRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.saga.OrderPlacementException;
+import com.ecommerce.order.saga.OrderPlacementSaga;
+import com.ecommerce.order.service.OrderService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@RestController
+@RequestMapping("/api/orders")
+@CrossOrigin(origins = "*")
+public class OrderController {
+
+    @Autowired
+    private OrderPlacementSaga orderPlacementSaga;
+
+    @Autowired
+    private OrderService orderService;
+
+    // Async return type: the servlet thread is released while dependencies are called
+    @PostMapping
+    public CompletableFuture<ResponseEntity<?>> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+        return orderPlacementSaga.placeOrder(request)
+                .<ResponseEntity<?>>thenApply(order -> ResponseEntity.status(HttpStatus.CREATED).body(order))
+                .exceptionally(OrderController::toErrorResponse);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponse> getOrder(@PathVariable Long id) {
+        return orderService.getOrder(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<Page<OrderResponse>> getOrdersByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderService.getOrdersByUser(userId, PageRequest.of(page, Math.min(size, 100))));
+    }
+
+    private static ResponseEntity<?> toErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof OrderPlacementException placementException)) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Order placement failed"));
+        }
+        HttpStatus status = switch (placementException.getReason()) {
+            case USER_NOT_FOUND, USER_INACTIVE, PRODUCT_NOT_FOUND, PRODUCT_UNAVAILABLE, PAYMENT_REJECTED -> HttpStatus.UNPROCESSABLE_ENTITY;
+            case PRICE_CHANGED, INSUFFICIENT_STOCK -> HttpStatus.CONFLICT;
+            case DEPENDENCY_TIMEOUT -> HttpStatus.GATEWAY_TIMEOUT;
+            default -> HttpStatus.SERVICE_UNAVAILABLE;
+        };
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", placementException.getMessage());
+        body.put("reason", placementException.getReason());
+        if (placementException.getOrderId() != null) {
+            body.put("orderId", placementException.getOrderId());
+        }
+        return ResponseEntity.status(status).body(body);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.ecommerce.order.saga;
+
+public class OrderPlacementException extends RuntimeException {
+
+    public enum Reason {
+        USER_NOT_FOUND,
+        USER_INACTIVE,
+        PRODUCT_NOT_FOUND,
+        PRODUCT_UNAVAILABLE,
+        // The price in the request no longer matches the catalog
+        PRICE_CHANGED,
+        INSUFFICIENT_STOCK,
+        PAYMENT_REJECTED,
+        DEPENDENCY_TIMEOUT,
+        DEPENDENCY_UNAVAILABLE
+    }
+
+    private final Reason reason;
+    private Long orderId;
+
+    public OrderPlacementException(Reason reason, String message) {
+        this(reason, message, null);
+    }
+
+    public OrderPlacementException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() { return reason; }
+
+    // Set once an order row exists; validation failures never create one
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+}
\ No newline at end of file
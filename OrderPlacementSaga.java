@@ -0,0 +1,347 @@
+package com.ecommerce.order.saga;
+
+import com.ecommerce.order.client.DependencyBulkhead;
+import com.ecommerce.order.client.DependencyCallException;
+import com.ecommerce.order.client.PaymentOrderRequest;
+import com.ecommerce.order.client.PaymentServiceClient;
+import com.ecommerce.order.client.ProductCatalogClient;
+import com.ecommerce.order.client.ProductSnapshot;
+import com.ecommerce.order.client.StockReservationRequest;
+import com.ecommerce.order.client.UserServiceClient;
+import com.ecommerce.order.client.UserSummary;
+import com.ecommerce.order.dto.CreateOrderRequest;
+import com.ecommerce.order.dto.OrderItemRequest;
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.service.OrderService;
+import com.ecommerce.order.service.ProductLookupService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places an order in two concurrent phases. The user check and every product lookup (served
+ * from the local replica when fresh) run in parallel; once they pass, the order is saved as PENDING and stock reservation and payment order
+ * creation run in parallel. If either of those fails, whichever step may have taken effect is
+ * undone (stock released, payment order cancelled) before the order is marked FAILED.
+ */
+@Service
+public class OrderPlacementSaga {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPlacementSaga.class);
+
+    @Autowired
+    private UserServiceClient userClient;
+
+    @Autowired
+    private ProductCatalogClient productClient;
+
+    @Autowired
+    private PaymentServiceClient paymentClient;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductLookupService productLookup;
+
+    @Autowired
+    @Qualifier("userServiceBulkhead")
+    private DependencyBulkhead userBulkhead;
+
+    @Autowired
+    @Qualifier("inventoryBulkhead")
+    private DependencyBulkhead inventoryBulkhead;
+
+    @Autowired
+    @Qualifier("paymentServiceBulkhead")
+    private DependencyBulkhead paymentBulkhead;
+
+    @Autowired
+    @Qualifier("orderSagaExecutor")
+    private ExecutorService sagaExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.saga.compensation-attempts:3}")
+    private int compensationAttempts;
+
+    @Value("${order.saga.compensation-backoff:500ms}")
+    private Duration compensationBackoff;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public CompletableFuture<OrderResponse> placeOrder(CreateOrderRequest request) {
+        long startNanos = System.nanoTime();
+        String currency = request.getCurrency() != null ? request.getCurrency() : "INR";
+
+        // Phase 1: independent reads
+        CompletableFuture<UserSummary> user = translate(
+                userBulkhead.call(() -> userClient.getUser(request.getUserId())),
+                OrderPlacementException.Reason.USER_NOT_FOUND, "User " + request.getUserId())
+                .thenApply(summary -> {
+                    if (summary == null || !summary.isActive()) {
+                        throw new OrderPlacementException(OrderPlacementException.Reason.USER_INACTIVE,
+                                "User " + request.getUserId() + " cannot place orders");
+                    }
+                    return summary;
+                });
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        Map<Long, CompletableFuture<ProductSnapshot>> products = new LinkedHashMap<>();
+        for (Long productId : quantities.keySet()) {
+            products.put(productId, translate(productLookup.getProduct(productId),
+                    OrderPlacementException.Reason.PRODUCT_NOT_FOUND, "Product " + productId));
+        }
+
+        List<CompletableFuture<?>> checks = new ArrayList<>(products.values());
+        checks.add(user);
+        return allOrFirstFailure(checks)
+                .thenApplyAsync(ignored -> orderService.createPending(request.getUserId(), currency,
+                        toOrderItems(request, quantities, products)), sagaExecutor)
+                // Phase 2: the two writes, with compensation
+                .thenCompose(this::reserveAndCreatePaymentOrder)
+                .whenComplete((order, error) -> recordOutcome(startNanos, error));
+    }
+
+    private List<OrderItem> toOrderItems(CreateOrderRequest request, Map<Long, Integer> quantities,
+                                         Map<Long, CompletableFuture<ProductSnapshot>> products) {
+        for (OrderItemRequest item : request.getItems()) {
+            ProductSnapshot product = products.get(item.getProductId()).join();
+            if (product.isPurchasable() && item.getPrice() != null && item.getPrice().compareTo(product.getPrice()) != 0) {
+                throw new OrderPlacementException(OrderPlacementException.Reason.PRICE_CHANGED,
+                        "Price of product " + item.getProductId() + " is now " + product.getPrice());
+            }
+        }
+        List<OrderItem> items = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            ProductSnapshot product = products.get(line.getKey()).join();
+            if (!product.isPurchasable()) {
+                throw new OrderPlacementException(OrderPlacementException.Reason.PRODUCT_UNAVAILABLE,
+                        "Product " + line.getKey() + " is not available");
+            }
+            // Early rejection only; the reservation is what actually claims the stock
+            if (product.getStockQuantity() != null && product.getStockQuantity() < line.getValue()) {
+                throw new OrderPlacementException(OrderPlacementException.Reason.INSUFFICIENT_STOCK,
+                        "Only " + product.getStockQuantity() + " of product " + line.getKey() + " left");
+            }
+            items.add(new OrderItem(line.getKey(), product.getName(), line.getValue(), product.getPrice()));
+        }
+        return items;
+    }
+
+    private CompletableFuture<OrderResponse> reserveAndCreatePaymentOrder(Order order) {
+        List<StockReservationRequest.Line> lines = order.getItems().stream()
+                .map(item -> new StockReservationRequest.Line(item.getProductId(), item.getQuantity()))
+                .toList();
+        StockReservationRequest reservationRequest = new StockReservationRequest(order.getReservationId(), lines);
+        PaymentOrderRequest paymentRequest = new PaymentOrderRequest(String.valueOf(order.getId()),
+                order.getUserId(), order.getTotalAmount(), order.getCurrency());
+        String idempotencyKey = paymentIdempotencyKey(order);
+
+        CompletableFuture<Void> reservation = inventoryBulkhead.call(() -> {
+            productClient.reserveStock(reservationRequest);
+            return null;
+        });
+        CompletableFuture<String> paymentOrder = paymentBulkhead.call(
+                () -> paymentClient.createPaymentOrder(idempotencyKey, paymentRequest).path("id").asText());
+
+        return CompletableFuture.allOf(reservation, paymentOrder)
+                .handle((ignored, error) -> null)
+                .thenComposeAsync(ignored -> settle(order, reservation, paymentOrder, paymentRequest), sagaExecutor);
+    }
+
+    private CompletableFuture<OrderResponse> settle(Order order, CompletableFuture<Void> reservation,
+                                                    CompletableFuture<String> paymentOrder,
+                                                    PaymentOrderRequest paymentRequest) {
+        OrderPlacementException failure;
+        if (!reservation.isCompletedExceptionally() && !paymentOrder.isCompletedExceptionally()) {
+            try {
+                return CompletableFuture.completedFuture(orderService.markAwaitingPayment(order.getId(), paymentOrder.join()));
+            } catch (RuntimeException e) {
+                failure = new OrderPlacementException(OrderPlacementException.Reason.DEPENDENCY_UNAVAILABLE,
+                        "Could not confirm order " + order.getId(), e);
+            }
+        } else if (reservation.isCompletedExceptionally()) {
+            failure = placementFailure(causeOf(reservation), OrderPlacementException.Reason.INSUFFICIENT_STOCK, "Stock reservation");
+        } else {
+            failure = placementFailure(causeOf(paymentOrder), OrderPlacementException.Reason.PAYMENT_REJECTED, "Payment order");
+        }
+
+        List<CompletableFuture<Boolean>> compensations = new ArrayList<>(2);
+        if (mayHaveTakenEffect(reservation)) {
+            compensations.add(compensate("release_stock", order.getId(), inventoryBulkhead,
+                    () -> productClient.releaseStock(order.getReservationId())));
+        }
+        if (!paymentOrder.isCompletedExceptionally()) {
+            String paymentOrderId = paymentOrder.join();
+            compensations.add(compensate("cancel_payment_order", order.getId(), paymentBulkhead,
+                    () -> paymentClient.cancelPaymentOrder(paymentOrderId)));
+        } else if (mayHaveTakenEffect(paymentOrder)) {
+            // Replaying the idempotent create returns the order if the first call did reach payment-service
+            String idempotencyKey = paymentIdempotencyKey(order);
+            compensations.add(compensate("cancel_payment_order", order.getId(), paymentBulkhead,
+                    () -> paymentClient.cancelPaymentOrder(
+                            paymentClient.createPaymentOrder(idempotencyKey, paymentRequest).path("id").asText())));
+        }
+
+        failure.setOrderId(order.getId());
+        return CompletableFuture.allOf(compensations.toArray(new CompletableFuture[0]))
+                .thenApplyAsync(ignored -> {
+                    boolean compensated = compensations.stream().allMatch(CompletableFuture::join);
+                    orderService.markFailed(order.getId(),
+                            compensated ? Order.OrderStatus.FAILED : Order.OrderStatus.COMPENSATION_FAILED,
+                            failure.getMessage());
+                    throw failure;
+                }, sagaExecutor);
+    }
+
+    // Retries with linear backoff; completes with false once the attempts are used up
+    private CompletableFuture<Boolean> compensate(String step, Long orderId, DependencyBulkhead bulkhead, Runnable action) {
+        return compensate(step, orderId, bulkhead, action, 1);
+    }
+
+    private CompletableFuture<Boolean> compensate(String step, Long orderId, DependencyBulkhead bulkhead,
+                                                  Runnable action, int attempt) {
+        return bulkhead.call(() -> {
+                    action.run();
+                    return Boolean.TRUE;
+                })
+                .handle((done, error) -> {
+                    if (error == null) {
+                        count("order.saga.compensations", "step", step, "outcome", "succeeded");
+                        return CompletableFuture.completedFuture(Boolean.TRUE);
+                    }
+                    if (attempt >= compensationAttempts) {
+                        logger.error("Compensation {} for order {} failed after {} attempts: {}",
+                                step, orderId, attempt, causeMessage(error));
+                        count("order.saga.compensations", "step", step, "outcome", "failed");
+                        return CompletableFuture.completedFuture(Boolean.FALSE);
+                    }
+                    Executor delayed = CompletableFuture.delayedExecutor(
+                            compensationBackoff.toMillis() * attempt, TimeUnit.MILLISECONDS, sagaExecutor);
+                    return CompletableFuture.runAsync(() -> { }, delayed)
+                            .thenCompose(ignored -> compensate(step, orderId, bulkhead, action, attempt + 1));
+                })
+                .thenCompose(next -> next);
+    }
+
+    // A definite rejection means nothing was applied; a timeout or 5xx might have been
+    private static boolean mayHaveTakenEffect(CompletableFuture<?> step) {
+        if (!step.isCompletedExceptionally()) {
+            return true;
+        }
+        Throwable cause = causeOf(step);
+        if (cause instanceof DependencyCallException dependencyCallException) {
+            return dependencyCallException.getReason() == DependencyCallException.Reason.TIMEOUT
+                    || dependencyCallException.getReason() == DependencyCallException.Reason.UNAVAILABLE;
+        }
+        return true;
+    }
+
+    private static String paymentIdempotencyKey(Order order) {
+        return "order-" + order.getId() + "-payment";
+    }
+
+    private static <T> CompletableFuture<T> translate(CompletableFuture<T> call, OrderPlacementException.Reason notFound,
+                                                      String subject) {
+        return call.handle((value, error) -> {
+            if (error != null) {
+                throw placementFailure(error, notFound, subject);
+            }
+            return value;
+        });
+    }
+
+    private static OrderPlacementException placementFailure(Throwable error, OrderPlacementException.Reason rejected,
+                                                            String subject) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof OrderPlacementException placementException) {
+            return placementException;
+        }
+        DependencyCallException failure = cause instanceof DependencyCallException dependencyCallException
+                ? dependencyCallException : DependencyCallException.from("unknown", cause);
+        OrderPlacementException.Reason reason = switch (failure.getReason()) {
+            case NOT_FOUND, REJECTED -> rejected;
+            case TIMEOUT -> OrderPlacementException.Reason.DEPENDENCY_TIMEOUT;
+            default -> OrderPlacementException.Reason.DEPENDENCY_UNAVAILABLE;
+        };
+        String message = reason == rejected ? subject + " was rejected" : subject + " failed: " + failure.getMessage();
+        return new OrderPlacementException(reason, message, failure);
+    }
+
+    // Fails as soon as any check fails instead of waiting for the slowest one
+    private static CompletableFuture<Void> allOrFirstFailure(List<CompletableFuture<?>> futures) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((value, error) -> {
+                if (error != null) {
+                    all.completeExceptionally(unwrap(error));
+                }
+            });
+        }
+        return all;
+    }
+
+    private void recordOutcome(long startNanos, Throwable error) {
+        String outcome = "placed";
+        if (error != null) {
+            Throwable cause = unwrap(error);
+            outcome = cause instanceof OrderPlacementException placementException
+                    ? placementException.getReason().name().toLowerCase() : "error";
+        }
+        Timer.builder("order.placement")
+                .description("Order placement latency, including compensation on failure")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void count(String name, String... tags) {
+        counters.computeIfAbsent(name + String.join(":", tags), key -> Counter.builder(name)
+                .tags(tags)
+                .register(meterRegistry)).increment();
+    }
+
+    private static Throwable causeOf(CompletableFuture<?> failed) {
+        try {
+            failed.join();
+            return null;
+        } catch (CompletionException e) {
+            return unwrap(e);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static String causeMessage(Throwable error) {
+        return unwrap(error).getMessage();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class OrderService {
+
+    public static final int MAX_FAILURE_REASON_LENGTH = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> getOrder(Long id) {
+        return orderRepository.findWithItemsById(id).map(OrderResponse::new);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OrderResponse> getOrdersByUser(Long userId, Pageable pageable) {
+        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable).map(OrderResponse::new);
+    }
+
+    public Order createPending(Long userId, String currency, List<OrderItem> items) {
+        Order order = new Order(userId, currency);
+        items.forEach(order::addItem);
+        orderRepository.save(order);
+        order.setReservationId("order-" + order.getId());
+        return order;
+    }
+
+    public OrderResponse markAwaitingPayment(Long orderId, String paymentOrderId) {
+        Order order = orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        order.setPaymentOrderId(paymentOrderId);
+        order.setStatus(Order.OrderStatus.AWAITING_PAYMENT);
+        return new OrderResponse(order);
+    }
+
+    public void markFailed(Long orderId, Order.OrderStatus status, String reason) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        order.setStatus(status);
+        order.setFailureReason(reason != null && reason.length() > MAX_FAILURE_REASON_LENGTH
+                ? reason.substring(0, MAX_FAILURE_REASON_LENGTH) : reason);
+    }
+}
\ No newline at end of file
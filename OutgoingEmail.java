@@ -0,0 +1,37 @@
+package com.ecommerce.email.sender;
+
+public class OutgoingEmail {
+
+    private String to;
+    private String subject;
+    private String htmlBody;
+    private String template;
+
+    // Constructors
+    public OutgoingEmail() {}
+
+    public OutgoingEmail(String to, String subject, String htmlBody, String template) {
+        this.to = to;
+        this.subject = subject;
+        this.htmlBody = htmlBody;
+        this.template = template;
+    }
+
+    public String getDomain() {
+        int at = to.lastIndexOf('@');
+        return at >= 0 ? to.substring(at + 1).toLowerCase() : "";
+    }
+
+    // Getters and Setters
+    public String getTo() { return to; }
+    public void setTo(String to) { this.to = to; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getHtmlBody() { return htmlBody; }
+    public void setHtmlBody(String htmlBody) { this.htmlBody = htmlBody; }
+
+    public String getTemplate() { return template; }
+    public void setTemplate(String template) { this.template = template; }
+}
\ No newline at end of file
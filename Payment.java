@@ -10,11 +10,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_status_updated", columnList = "status, updated_at, id"),
+        @Index(name = "idx_payments_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_payments_order_created", columnList = "order_id, created_at"),
+        @Index(name = "idx_payments_razorpay_order", columnList = "razorpay_order_id"),
+        @Index(name = "idx_payments_razorpay_payment", columnList = "razorpay_payment_id")
+})
 public class Payment {
     
+    // Pooled ids let Hibernate batch inserts; payments_seq is seeded past MAX(id) at startup
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotNull
@@ -41,18 +51,13 @@ public class Payment {
     @Enumerated(EnumType.STRING)
     private PaymentMethod method;
     
+    // Lookup keys for webhooks and reconciliation; the bulky gateway fields live in PaymentDetail
     private String razorpayOrderId;
     private String razorpayPaymentId;
-    private String razorpaySignature;
     
     private String description;
     private String receipt;
     
-    @Column(length = 1000)
-    private String errorMessage;
-    
-    private String gatewayResponse;
-    
     @CreationTimestamp
     private LocalDateTime createdAt;
     
@@ -103,21 +108,12 @@ public class Payment {
     public String getRazorpayPaymentId() { return razorpayPaymentId; }
     public void setRazorpayPaymentId(String razorpayPaymentId) { this.razorpayPaymentId = razorpayPaymentId; }
 
-    public String getRazorpaySignature() { return razorpaySignature; }
-    public void setRazorpaySignature(String razorpaySignature) { this.razorpaySignature = razorpaySignature; }
-
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
     public String getReceipt() { return receipt; }
     public void setReceipt(String receipt) { this.receipt = receipt; }
 
-    public String getErrorMessage() { return errorMessage; }
-    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
-
-    public String getGatewayResponse() { return gatewayResponse; }
-    public void setGatewayResponse(String gatewayResponse) { this.gatewayResponse = gatewayResponse; }
-
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -129,7 +125,24 @@ public class Payment {
 
     // Enums
     public enum PaymentStatus {
-        PENDING, PROCESSING, COMPLETED, FAILED, CANCELLED, REFUNDED
+        PENDING, PROCESSING, COMPLETED, FAILED, CANCELLED, REFUNDED;
+
+        // Gateway notifications arrive late and out of order; never move a payment backwards
+        public boolean canTransitionTo(PaymentStatus target) {
+            switch (this) {
+                case PENDING:
+                    return target != PENDING;
+                case PROCESSING:
+                    return target != PENDING && target != PROCESSING;
+                case FAILED:
+                    // A later attempt on the same order can still succeed
+                    return target == COMPLETED || target == REFUNDED;
+                case COMPLETED:
+                    return target == REFUNDED;
+                default:
+                    return false;
+            }
+        }
     }
 
     public enum PaymentMethod {
@@ -0,0 +1,116 @@
+package com.ecommerce.payment.archive;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves payments in a final state that have not changed for {@code payment.archive.after}
+ * from {@code payments} into {@code payments_archive}, so the hot table and its indexes only
+ * hold recent rows. Each batch is copied and deleted in one transaction. Their
+ * payment_details rows stay where they are; that table is already cold.
+ *
+ * <p>Off by default: payment lookups, user and order history, webhooks and refunds only read
+ * {@code payments}, so an archived payment answers 404, drops out of history and can no longer
+ * be matched by a late webhook. Enable it only where that is acceptable.
+ */
+@Component
+public class PaymentArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentArchiver.class);
+
+    private static final String ARCHIVE_TABLE = "payments_archive";
+
+    // Explicit list so a column added to payments later cannot break INSERT ... SELECT
+    private static final String COLUMNS = "id, payment_id, order_id, user_id, amount, currency, status, method, " +
+            "razorpay_order_id, razorpay_payment_id, description, receipt, created_at, updated_at, paid_at";
+
+    private static final String FINAL_STATUSES = "'COMPLETED', 'FAILED', 'CANCELLED', 'REFUNDED'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${payment.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${payment.archive.after:180d}")
+    private Duration archiveAfter;
+
+    @Value("${payment.archive.batch-size:1000}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean archiveTableReady;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (enabled) {
+            logger.warn("Payment archiving is enabled: payments archived after {} are no longer visible to lookups, "
+                    + "history, webhooks or refunds", archiveAfter);
+        }
+    }
+
+    @Scheduled(cron = "${payment.archive.cron:0 0 3 * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ensureArchiveTable();
+            LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+            long archived = 0;
+            int moved;
+            do {
+                moved = archiveBatch(cutoff);
+                archived += moved;
+            } while (moved == batchSize);
+            if (archived > 0) {
+                logger.info("Archived {} payments last updated before {}", archived, cutoff);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Payment archiving failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            // Rides idx_payments_status_updated; the row locks keep webhooks from racing the move
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM payments WHERE status IN (" + FINAL_STATUSES + ") AND updated_at < ? " +
+                    "ORDER BY updated_at, id LIMIT ? FOR UPDATE", Long.class, cutoff, batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            Object[] args = ids.toArray();
+            jdbcTemplate.update("INSERT IGNORE INTO " + ARCHIVE_TABLE + " (" + COLUMNS + ") SELECT " + COLUMNS +
+                    " FROM payments WHERE id IN (" + placeholders + ")", args);
+            jdbcTemplate.update("DELETE FROM payments WHERE id IN (" + placeholders + ")", args);
+            return ids.size();
+        });
+        return moved != null ? moved : 0;
+    }
+
+    private void ensureArchiveTable() {
+        if (!archiveTableReady) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE + " LIKE payments");
+            archiveTableReady = true;
+        }
+    }
+}
\ No newline at end of file
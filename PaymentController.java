@@ -0,0 +1,138 @@
+package com.ecommerce.payment.controller;
+
+import com.ecommerce.payment.dto.CreatePaymentOrderRequest;
+import com.ecommerce.payment.dto.PaymentResponse;
+import com.ecommerce.payment.dto.RefundRequest;
+import com.ecommerce.payment.gateway.RazorpayGatewayClient;
+import com.ecommerce.payment.gateway.RazorpayGatewayException;
+import com.ecommerce.payment.service.CreateOrderOutcomeResolver;
+import com.ecommerce.payment.service.IdempotencyException;
+import com.ecommerce.payment.service.IdempotencyService;
+import com.ecommerce.payment.service.PaymentService;
+import com.ecommerce.payment.service.RazorpayService;
+import com.ecommerce.payment.service.RefundOutcomeResolver;
+import jakarta.validation.Valid;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+@RestController
+@RequestMapping("/api/payments")
+@CrossOrigin(origins = "*")
+public class PaymentController {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    @Autowired
+    private RazorpayService razorpayService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    // Keeps the Payment insert off the gateway I/O threads
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor paymentWriter;
+
+    @GetMapping("/{paymentId}")
+    public ResponseEntity<PaymentResponse> getPayment(@PathVariable String paymentId) {
+        return paymentService.getPayment(paymentId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Includes the compressed gateway payload, error message and signature
+    @GetMapping("/{paymentId}/details")
+    public ResponseEntity<PaymentResponse> getPaymentDetails(@PathVariable String paymentId) {
+        return paymentService.getPaymentWithDetails(paymentId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Async return type: the servlet thread is released while the gateway call is in flight
+    @PostMapping("/create")
+    public CompletableFuture<ResponseEntity<String>> createOrder(
+            @RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+            @Valid @RequestBody CreatePaymentOrderRequest request) {
+        String fingerprint = IdempotencyService.fingerprint(request.getOrderId(), request.getUserId(),
+                request.getAmount().stripTrailingZeros().toPlainString(), request.getCurrency());
+        String receipt = "order_" + request.getOrderId();
+        // The row is written inside the idempotent call, so a replayed key never inserts it twice
+        return respond(() -> idempotencyService.execute(RazorpayGatewayClient.Operation.CREATE_ORDER,
+                idempotencyKey, fingerprint, CreateOrderOutcomeResolver.describe(request, receipt),
+                () -> razorpayService.createOrderAsync(request.getAmount(), request.getCurrency(), receipt)
+                        .thenApplyAsync(order -> {
+                            paymentService.recordCreatedOrder(request, order);
+                            return order;
+                        }, paymentWriter)));
+    }
+
+    @PostMapping("/{paymentId}/refund")
+    public CompletableFuture<ResponseEntity<String>> createRefund(
+            @PathVariable String paymentId,
+            @RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+            @Valid @RequestBody RefundRequest request) {
+        String fingerprint = IdempotencyService.fingerprint(paymentId,
+                request.getAmount().stripTrailingZeros().toPlainString());
+        String receipt = IdempotencyService.receipt(RazorpayGatewayClient.Operation.CREATE_REFUND, idempotencyKey);
+        return respond(() -> idempotencyService.execute(RazorpayGatewayClient.Operation.CREATE_REFUND,
+                idempotencyKey, fingerprint, RefundOutcomeResolver.describe(paymentId, request.getAmount(), receipt),
+                () -> razorpayService.createRefundAsync(paymentId, request.getAmount(), receipt)));
+    }
+
+    // Idempotent: an order that is already cancelled answers 204 again. 404 and 409 tell the caller
+    // that nothing was cancelled and the Razorpay order may still be paid.
+    @PostMapping("/orders/{razorpayOrderId}/cancel")
+    public ResponseEntity<Void> cancelPaymentOrder(@PathVariable String razorpayOrderId) {
+        return switch (paymentService.cancelPaymentOrder(razorpayOrderId)) {
+            case CANCELLED -> ResponseEntity.noContent().build();
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case ALREADY_SETTLED -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+        };
+    }
+
+    private CompletableFuture<ResponseEntity<String>> respond(Supplier<CompletableFuture<JSONObject>> call) {
+        CompletableFuture<JSONObject> result;
+        try {
+            result = call.get();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(error(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        return result
+                .thenApply(body -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body.toString()))
+                .exceptionally(PaymentController::toErrorResponse);
+    }
+
+    private static ResponseEntity<String> toErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IdempotencyException idempotencyException) {
+            return error(idempotencyException.getReason() == IdempotencyException.Reason.KEY_REUSED
+                    ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.CONFLICT, cause.getMessage());
+        }
+        RazorpayGatewayException gatewayException = RazorpayGatewayClient.unwrap(cause);
+        HttpStatus status = switch (gatewayException.getReason()) {
+            case REJECTED -> HttpStatus.BAD_REQUEST;
+            case TIMEOUT -> HttpStatus.GATEWAY_TIMEOUT;
+            default -> HttpStatus.SERVICE_UNAVAILABLE;
+        };
+        return error(status, gatewayException.getMessage());
+    }
+
+    private static ResponseEntity<String> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new JSONObject().put("error", message).toString());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.ecommerce.payment.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+// Bulky, rarely read payment fields; only loaded for detail views
+@Entity
+@Table(name = "payment_details")
+public class PaymentDetail implements Persistable<Long> {
+
+    // Same value as payments.id
+    @Id
+    private Long id;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private String gatewayResponse;
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "BLOB")
+    private String errorMessage;
+
+    private String razorpaySignature;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // The id comes from the payment; skip the merge SELECT on first save
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public PaymentDetail() {}
+
+    public PaymentDetail(Long id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    // Getters and Setters
+    @Override
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getGatewayResponse() { return gatewayResponse; }
+    public void setGatewayResponse(String gatewayResponse) { this.gatewayResponse = gatewayResponse; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public String getRazorpaySignature() { return razorpaySignature; }
+    public void setRazorpaySignature(String razorpaySignature) { this.razorpaySignature = razorpaySignature; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.ecommerce.payment.config;
+
+import com.ecommerce.payment.entity.CompressedTextConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expand step for moving the legacy inline gateway_response, error_message and razorpay_signature
+ * columns of {@code payments} into {@code payment_details}, compressing them on the way. Compression
+ * happens here rather than in SQL because MySQL's COMPRESS() output is not GZIP.
+ *
+ * <p>Instances of the previous release keep reading and writing the inline columns during a rolling
+ * deploy, so they are never dropped here. All rows are copied at startup, then rows changed since the
+ * last pass are copied again on a schedule for as long as the columns exist. A value already in
+ * payment_details is kept. Dropping the columns is the separate contract step in
+ * db-migrations/payments-drop-inline-detail-columns.sql, run once no old instance is left.
+ */
+@Component
+public class PaymentDetailMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentDetailMigration.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    // Covers clock skew between instances and transactions still open when a pass starts
+    private static final Duration RESYNC_OVERLAP = Duration.ofMinutes(2);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    private volatile boolean legacyColumnsPresent;
+    private volatile LocalDateTime lastPassStartedAt;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        legacyColumnsPresent = hasLegacyColumns();
+        if (legacyColumnsPresent) {
+            copy(null);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.detail-migration.resync-interval-ms:300000}")
+    public void resync() {
+        if (!legacyColumnsPresent) {
+            return;
+        }
+        try {
+            legacyColumnsPresent = hasLegacyColumns();
+            if (legacyColumnsPresent) {
+                copy(lastPassStartedAt.minus(RESYNC_OVERLAP));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not copy inline payment details: {}", e.getMessage());
+        }
+    }
+
+    private boolean hasLegacyColumns() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() " +
+                "AND table_name = 'payments' AND column_name = 'gateway_response'", Integer.class);
+        return legacyColumns != null && legacyColumns > 0;
+    }
+
+    // Copies in id order, so an interrupted pass can simply restart; null copies every row
+    private void copy(LocalDateTime changedSince) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        String changedFilter = changedSince != null ? "AND updated_at >= ? " : "";
+        long afterId = 0;
+        long copied = 0;
+        List<Map<String, Object>> rows;
+        do {
+            String sql = "SELECT id, gateway_response, error_message, razorpay_signature FROM payments " +
+                    "WHERE id > ? " + changedFilter + "AND (gateway_response IS NOT NULL OR error_message IS NOT NULL " +
+                    "OR razorpay_signature IS NOT NULL) ORDER BY id LIMIT ?";
+            rows = changedSince != null
+                    ? jdbcTemplate.queryForList(sql, afterId, Timestamp.valueOf(changedSince), BATCH_SIZE)
+                    : jdbcTemplate.queryForList(sql, afterId, BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Object[]> batch = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                batch.add(new Object[] {
+                        row.get("id"),
+                        converter.convertToDatabaseColumn((String) row.get("gateway_response")),
+                        converter.convertToDatabaseColumn((String) row.get("error_message")),
+                        row.get("razorpay_signature")
+                });
+            }
+            // Fills only what payment_details lacks, so values written by this release are never replaced
+            jdbcTemplate.batchUpdate("INSERT INTO payment_details " +
+                    "(id, gateway_response, error_message, razorpay_signature, updated_at) VALUES (?, ?, ?, ?, NOW()) " +
+                    "ON DUPLICATE KEY UPDATE " +
+                    "gateway_response = COALESCE(gateway_response, VALUES(gateway_response)), " +
+                    "error_message = COALESCE(error_message, VALUES(error_message)), " +
+                    "razorpay_signature = COALESCE(razorpay_signature, VALUES(razorpay_signature))", batch);
+            copied += rows.size();
+            afterId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        } while (rows.size() == BATCH_SIZE);
+
+        lastPassStartedAt = startedAt;
+        if (changedSince == null || copied > 0) {
+            logger.info("Copied inline gateway details of {} payments into payment_details", copied);
+        }
+    }
+}
\ No newline at end of file
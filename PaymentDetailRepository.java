@@ -0,0 +1,9 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.entity.PaymentDetail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PaymentDetailRepository extends JpaRepository<PaymentDetail, Long> {
+}
\ No newline at end of file
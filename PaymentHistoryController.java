@@ -0,0 +1,40 @@
+package com.ecommerce.payment.controller;
+
+import com.ecommerce.payment.dto.PaymentHistoryPage;
+import com.ecommerce.payment.service.PaymentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payments/history")
+@CrossOrigin(origins = "*")
+public class PaymentHistoryController {
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<PaymentHistoryPage> getUserHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(paymentService.getUserHistory(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/orders/{orderId}")
+    public ResponseEntity<PaymentHistoryPage> getOrderHistory(
+            @PathVariable Long orderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(paymentService.getOrderHistory(orderId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.ecommerce.payment.dto;
+
+import java.util.List;
+
+public class PaymentHistoryPage {
+
+    private List<PaymentSummary> items;
+
+    // Opaque; pass back as ?cursor= for the next (older) page, null on the last page
+    private String nextCursor;
+
+    // Constructors
+    public PaymentHistoryPage() {}
+
+    public PaymentHistoryPage(List<PaymentSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<PaymentSummary> getItems() { return items; }
+    public void setItems(List<PaymentSummary> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.ecommerce.payment.config;
+
+import com.ecommerce.payment.entity.Payment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Keeps payments_seq ahead of MAX(id) + one allocation block; legacy payment ids
+ * from the IDENTITY column stay valid.
+ */
+@Component
+public class PaymentIdSequenceSeeder implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentIdSequenceSeeder.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isSequenceTable()) {
+            return;
+        }
+        Long floor = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) + ? + 1 FROM payments", Long.class, Payment.ID_ALLOCATION_SIZE);
+
+        jdbcTemplate.update("INSERT INTO payments_seq (next_val) SELECT ? FROM DUAL " +
+                "WHERE NOT EXISTS (SELECT 1 FROM payments_seq)", floor);
+        int bumped = jdbcTemplate.update("UPDATE payments_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+
+        if (bumped > 0) {
+            logger.info("Seeded payments_seq to {} past existing payments ids", floor);
+        }
+    }
+
+    // MySQL emulates the sequence with a table. A database with native sequences (H2 in the load-test
+    // harness) never had the IDENTITY column, so there is nothing to seed.
+    private boolean isSequenceTable() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? "PAYMENTS_SEQ" : "payments_seq";
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[] {"TABLE"})) {
+                return tables.next();
+            }
+        }));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.ecommerce.order.client;
+
+import java.math.BigDecimal;
+
+// Body of payment-service's POST /api/payments/create
+public class PaymentOrderRequest {
+
+    private String orderId;
+    private Long userId;
+    private BigDecimal amount;
+    private String currency;
+
+    public PaymentOrderRequest() {}
+
+    public PaymentOrderRequest(String orderId, Long userId, BigDecimal amount, String currency) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.amount = amount;
+        this.currency = currency;
+    }
+
+    public String getOrderId() { return orderId; }
+    public void setOrderId(String orderId) { this.orderId = orderId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+}
\ No newline at end of file
@@ -0,0 +1,494 @@
+package com.ecommerce.payment.reconciliation;
+
+import com.ecommerce.payment.dto.ReconciliationReport;
+import com.ecommerce.payment.entity.Payment;
+import com.ecommerce.payment.entity.ReconciliationRun;
+import com.ecommerce.payment.gateway.GatewayRateLimiter;
+import com.ecommerce.payment.gateway.RazorpayGatewayClient;
+import com.ecommerce.payment.gateway.RazorpayGatewayException;
+import com.ecommerce.payment.repository.PaymentRepository;
+import com.ecommerce.payment.repository.ReconciliationRunRepository;
+import com.ecommerce.payment.service.PaymentService;
+import com.ecommerce.payment.service.PaymentStatusChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compares PENDING/PROCESSING payments that have not moved for a while with their state at the
+ * gateway. Candidates are read in keyset pages ordered by (updatedAt, id); each page is checked
+ * with at most {@code max-concurrency} gateway calls in flight, paced by a client-side rate
+ * limit, and its corrections commit in one transaction together with the run's cursor. A run
+ * that dies part-way is resumed from that cursor by the next trigger or on startup.
+ *
+ * Every instance fires the triggers, so a run is claimed in the database first: one RUNNING row
+ * at most (unique active slot), owned by one instance under a lease that each page commit renews.
+ * The others skip the run until that lease lapses.
+ */
+@Service
+public class PaymentReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciliationService.class);
+
+    private static final Set<Payment.PaymentStatus> CANDIDATE_STATUSES =
+            EnumSet.of(Payment.PaymentStatus.PENDING, Payment.PaymentStatus.PROCESSING);
+
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReconciliationRunRepository runRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private RazorpayGatewayClient gatewayClient;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${payment.reconciliation.page-size:200}")
+    private int pageSize;
+
+    @Value("${payment.reconciliation.max-concurrency:16}")
+    private int maxConcurrency;
+
+    @Value("${payment.reconciliation.rate-per-second:25}")
+    private double ratePerSecond;
+
+    @Value("${payment.reconciliation.burst:5}")
+    private int burst;
+
+    // Younger payments are probably still in checkout
+    @Value("${payment.reconciliation.stale-after:15m}")
+    private Duration staleAfter;
+
+    @Value("${payment.reconciliation.report-sample-size:50}")
+    private int reportSampleSize;
+
+    @Value("${payment.reconciliation.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    // How long a claimed run stays with this instance without a page commit; well above one page's duration
+    @Value("${payment.reconciliation.lease:5m}")
+    private Duration lease;
+
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    // Set before a run is queued, so two triggers cannot both pass the check
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private TransactionTemplate transactionTemplate;
+    private GatewayRateLimiter rateLimiter;
+    private Semaphore permits;
+    private ExecutorService runner;
+
+    private volatile ReconciliationReport lastReport;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        rateLimiter = new GatewayRateLimiter(ratePerSecond, burst);
+        permits = new Semaphore(maxConcurrency);
+        runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (resumeOnStartup && runRepository.findFirstByStatusOrderByIdDesc(ReconciliationRun.RunStatus.RUNNING).isPresent()) {
+            logger.info("Resuming interrupted payment reconciliation run");
+            startAsync();
+        }
+    }
+
+    @Scheduled(cron = "${payment.reconciliation.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        startAsync();
+    }
+
+    // False when a run is already in progress on this instance; one held by another instance is skipped in the background
+    public boolean startAsync() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            runner.execute(() -> {
+                try {
+                    runClaimed();
+                } catch (RuntimeException e) {
+                    logger.error("Payment reconciliation failed: {}", e.getMessage(), e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    // Empty when a run is in progress here or on another instance
+    public Optional<ReconciliationReport> runIfIdle() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return runClaimed();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Optional<ReconciliationReport> getLatestReport() {
+        ReconciliationReport report = lastReport;
+        if (report != null) {
+            return Optional.of(report);
+        }
+        return runRepository.findFirstByOrderByIdDesc().map(run -> ReconciliationReport.from(run, List.of()));
+    }
+
+    private Optional<ReconciliationReport> runClaimed() {
+        Optional<ReconciliationRun> claimed = claimRun();
+        if (claimed.isEmpty()) {
+            logger.info("Payment reconciliation is already running on another instance");
+            return Optional.empty();
+        }
+        return Optional.of(run(claimed.get()));
+    }
+
+    // Resumes the RUNNING run if its lease has lapsed, or starts a new one if there is none
+    private Optional<ReconciliationRun> claimRun() {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<ReconciliationRun> interrupted = runRepository.findFirstByStatusOrderByIdDesc(ReconciliationRun.RunStatus.RUNNING);
+        if (interrupted.isPresent()) {
+            if (runRepository.claim(interrupted.get().getId(), instanceId, now, now.plus(lease)) == 0) {
+                return Optional.empty();
+            }
+            return runRepository.findById(interrupted.get().getId());
+        }
+        ReconciliationRun run = new ReconciliationRun(now.minus(staleAfter), CURSOR_START, now);
+        run.setOwner(instanceId);
+        run.setLeaseUntil(now.plus(lease));
+        try {
+            return Optional.of(runRepository.saveAndFlush(run));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance started a run at the same moment and holds the active slot
+            return Optional.empty();
+        }
+    }
+
+    private ReconciliationReport run(ReconciliationRun run) {
+        logger.info("Payment reconciliation run {} starting after ({}, {})",
+                run.getId(), run.getCursorUpdatedAt(), run.getCursorId());
+
+        Map<String, Long> transitions = parseSummary(run.getCorrectionSummary());
+        List<String> samples = new ArrayList<>();
+        try {
+            List<Payment> page;
+            while (!(page = nextPage(run)).isEmpty()) {
+                List<Check> checks = checkAll(page);
+                run = commitPage(run, page.get(page.size() - 1), checks, transitions, samples);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordFailure(run, "interrupted");
+            throw new IllegalStateException("Reconciliation run " + run.getId() + " interrupted", e);
+        } catch (LeaseLostException e) {
+            // The other instance owns the run and its cursor now; nothing of this page was committed
+            logger.warn(e.getMessage());
+            throw e;
+        } catch (RuntimeException e) {
+            // The run stays RUNNING; the next trigger resumes from the last committed page
+            recordFailure(run, e.getMessage());
+            throw e;
+        }
+
+        ReconciliationRun finished = run;
+        run = transactionTemplate.execute(status -> {
+            renewLease(finished);
+            finished.setStatus(ReconciliationRun.RunStatus.COMPLETED);
+            finished.setFinishedAt(LocalDateTime.now());
+            finished.setActiveSlot(null);
+            finished.setLeaseUntil(null);
+            return runRepository.save(finished);
+        });
+
+        ReconciliationReport report = ReconciliationReport.from(run, samples);
+        lastReport = report;
+        logger.info("Payment reconciliation run {} finished: scanned={}, unchanged={}, corrected={} {}, unresolved={}, errors={}",
+                run.getId(), run.getScanned(), run.getUnchanged(), run.getCorrected(), transitions,
+                run.getUnresolved(), run.getErrors());
+        return report;
+    }
+
+    private List<Payment> nextPage(ReconciliationRun run) {
+        return paymentRepository.findReconciliationCandidates(CANDIDATE_STATUSES, run.getCutoff(),
+                run.getCursorUpdatedAt(), run.getCursorId(), PageRequest.of(0, pageSize));
+    }
+
+    private List<Check> checkAll(List<Payment> page) throws InterruptedException {
+        List<CompletableFuture<Check>> futures = new ArrayList<>(page.size());
+        for (Payment payment : page) {
+            if (payment.getRazorpayPaymentId() == null && payment.getRazorpayOrderId() == null) {
+                futures.add(CompletableFuture.completedFuture(Check.unresolved(payment, "no gateway reference")));
+                continue;
+            }
+            // Blocking here is the backpressure: the next call is not issued until a slot frees up
+            permits.acquire();
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                permits.release();
+                throw e;
+            }
+            boolean byPayment = payment.getRazorpayPaymentId() != null;
+            CompletableFuture<JSONObject> call = byPayment
+                    ? gatewayClient.fetchPayment(payment.getRazorpayPaymentId())
+                    : gatewayClient.fetchOrder(payment.getRazorpayOrderId());
+            futures.add(call.handle((entity, error) -> {
+                permits.release();
+                if (error != null) {
+                    return Check.failed(payment, RazorpayGatewayClient.unwrap(error));
+                }
+                try {
+                    return byPayment ? Check.fromPayment(payment, entity) : Check.fromOrder(payment, entity);
+                } catch (RuntimeException e) {
+                    return Check.unresolved(payment, "unreadable gateway response: " + e.getMessage());
+                }
+            }));
+        }
+
+        List<Check> checks = new ArrayList<>(futures.size());
+        for (CompletableFuture<Check> future : futures) {
+            checks.add(future.join());
+        }
+        return checks;
+    }
+
+    private ReconciliationRun commitPage(ReconciliationRun run, Payment last, List<Check> checks,
+                                         Map<String, Long> transitions, List<String> samples) {
+        return transactionTemplate.execute(status -> {
+            // First, so the row stays locked and no other instance can take the run over mid-page
+            renewLease(run);
+            Map<Long, Check> corrections = new HashMap<>();
+            for (Check check : checks) {
+                if (check.target != null) {
+                    corrections.put(check.payment.getId(), check);
+                }
+            }
+
+            long corrected = 0;
+            long unchanged = 0;
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, String> errorMessages = new HashMap<>();
+            List<Payment> locked = corrections.isEmpty() ? List.of() : paymentRepository.lockAllById(corrections.keySet());
+            for (Payment current : locked) {
+                Check check = corrections.get(current.getId());
+                // A webhook may have moved the payment since the page was read; the row lock keeps it from moving now
+                if (!current.getStatus().canTransitionTo(check.target)) {
+                    unchanged++;
+                    continue;
+                }
+                Payment.PaymentStatus previousStatus = current.getStatus();
+                transitions.merge(previousStatus + "->" + check.target, 1L, Long::sum);
+                sample(samples, "payment " + current.getPaymentId() + ": " + previousStatus + " -> " + check.target);
+                current.setStatus(check.target);
+                eventPublisher.publishEvent(new PaymentStatusChangedEvent(current, previousStatus));
+                if (check.razorpayPaymentId != null && current.getRazorpayPaymentId() == null) {
+                    current.setRazorpayPaymentId(check.razorpayPaymentId);
+                }
+                if (check.target == Payment.PaymentStatus.COMPLETED && current.getPaidAt() == null) {
+                    current.setPaidAt(now);
+                }
+                if (check.detail != null) {
+                    errorMessages.put(current.getId(), check.detail);
+                }
+                corrected++;
+            }
+            paymentService.recordErrorMessages(errorMessages);
+
+            for (Check check : checks) {
+                switch (check.outcome) {
+                    case UNCHANGED -> unchanged++;
+                    case UNRESOLVED -> {
+                        run.setUnresolved(run.getUnresolved() + 1);
+                        sample(samples, "payment " + check.payment.getPaymentId() + " unresolved: " + check.detail);
+                    }
+                    case ERROR -> {
+                        run.setErrors(run.getErrors() + 1);
+                        sample(samples, "payment " + check.payment.getPaymentId() + " error: " + check.detail);
+                    }
+                    default -> { }
+                }
+            }
+
+            run.setScanned(run.getScanned() + checks.size());
+            run.setCorrected(run.getCorrected() + corrected);
+            run.setUnchanged(run.getUnchanged() + unchanged);
+            run.setCorrectionSummary(new JSONObject(transitions).toString());
+            run.setCursorUpdatedAt(last.getUpdatedAt());
+            run.setCursorId(last.getId());
+            run.setCheckpointedAt(now);
+            // Corrected payments flush with the checkpoint, so a crash never skips or repeats a page's writes
+            return runRepository.save(run);
+        });
+    }
+
+    private void renewLease(ReconciliationRun run) {
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(lease);
+        if (runRepository.renewLease(run.getId(), instanceId, leaseUntil) == 0) {
+            throw new LeaseLostException("Reconciliation run " + run.getId() + " was taken over by another instance");
+        }
+        run.setLeaseUntil(leaseUntil);
+    }
+
+    private void recordFailure(ReconciliationRun run, String message) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                renewLease(run);
+                run.setLastError(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+                // Released, so the next trigger on any instance resumes without waiting for the lease
+                run.setLeaseUntil(null);
+                runRepository.save(run);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not record reconciliation failure for run {}: {}", run.getId(), e.getMessage());
+        }
+    }
+
+    private void sample(List<String> samples, String line) {
+        if (samples.size() < reportSampleSize) {
+            samples.add(line);
+        }
+    }
+
+    private static Map<String, Long> parseSummary(String summary) {
+        Map<String, Long> transitions = new HashMap<>();
+        if (summary != null) {
+            JSONObject json = new JSONObject(summary);
+            for (String key : json.keySet()) {
+                transitions.put(key, json.getLong(key));
+            }
+        }
+        return transitions;
+    }
+
+    static class Check {
+        enum Outcome { UNCHANGED, CORRECTION, UNRESOLVED, ERROR }
+
+        final Payment payment;
+        final Outcome outcome;
+        final Payment.PaymentStatus target;
+        final String razorpayPaymentId;
+        final String detail;
+
+        private Check(Payment payment, Outcome outcome, Payment.PaymentStatus target, String razorpayPaymentId, String detail) {
+            this.payment = payment;
+            this.outcome = outcome;
+            this.target = target;
+            this.razorpayPaymentId = razorpayPaymentId;
+            this.detail = detail;
+        }
+
+        static Check fromPayment(Payment payment, JSONObject entity) {
+            String gatewayStatus = entity.getString("status");
+            Payment.PaymentStatus target;
+            String detail = null;
+            switch (gatewayStatus) {
+                case "authorized":
+                    target = Payment.PaymentStatus.PROCESSING;
+                    break;
+                case "captured":
+                    target = Payment.PaymentStatus.COMPLETED;
+                    break;
+                case "refunded":
+                    target = Payment.PaymentStatus.REFUNDED;
+                    break;
+                case "failed":
+                    target = Payment.PaymentStatus.FAILED;
+                    detail = entity.optString("error_description", "failed at gateway");
+                    break;
+                default:
+                    target = null;
+            }
+            return decide(payment, target, entity.optString("id", null), detail);
+        }
+
+        static Check fromOrder(Payment payment, JSONObject entity) {
+            Payment.PaymentStatus target = "paid".equals(entity.getString("status")) ? Payment.PaymentStatus.COMPLETED : null;
+            return decide(payment, target, null, null);
+        }
+
+        static Check unresolved(Payment payment, String detail) {
+            return new Check(payment, Outcome.UNRESOLVED, null, null, detail);
+        }
+
+        static Check failed(Payment payment, RazorpayGatewayException error) {
+            if (error.getStatusCode() == 404) {
+                return unresolved(payment, "not found at gateway");
+            }
+            return new Check(payment, Outcome.ERROR, null, null, error.getReason() + ": " + error.getMessage());
+        }
+
+        private static Check decide(Payment payment, Payment.PaymentStatus target, String razorpayPaymentId, String detail) {
+            if (target == null || target == payment.getStatus() || !payment.getStatus().canTransitionTo(target)) {
+                return new Check(payment, Outcome.UNCHANGED, null, null, null);
+            }
+            return new Check(payment, Outcome.CORRECTION, target, razorpayPaymentId, detail);
+        }
+    }
+
+    private static final class LeaseLostException extends RuntimeException {
+        LeaseLostException(String message) {
+            super(message);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.dto.PaymentSummary;
+import com.ecommerce.payment.entity.Payment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    String PAYMENT_SUMMARY_SELECT = "SELECT new com.ecommerce.payment.dto.PaymentSummary(" +
+            "p.id, p.paymentId, p.orderId, p.amount, p.currency, p.status, p.method, p.createdAt, p.paidAt) " +
+            "FROM Payment p ";
+
+    // Newest first; the (createdAt, id) pair is the keyset so equal timestamps never skip or repeat rows
+    String OLDER_THAN_CURSOR = "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ";
+
+    String NEWEST_FIRST = "ORDER BY p.createdAt DESC, p.id DESC";
+
+    Optional<Payment> findByPaymentId(String paymentId);
+
+    Optional<Payment> findByRazorpayPaymentId(String razorpayPaymentId);
+
+    Optional<Payment> findByRazorpayOrderId(String razorpayOrderId);
+
+    // Status writers (webhooks, reconciliation, cancel) read under a row lock, so canTransitionTo is never
+    // decided on a status another writer is about to change. Id order keeps concurrent batches from deadlocking.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.razorpayOrderId = :razorpayOrderId")
+    Optional<Payment> lockByRazorpayOrderId(@Param("razorpayOrderId") String razorpayOrderId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.razorpayPaymentId IN :razorpayPaymentIds ORDER BY p.id")
+    List<Payment> lockByRazorpayPaymentIdIn(@Param("razorpayPaymentIds") Collection<String> razorpayPaymentIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.razorpayOrderId IN :razorpayOrderIds ORDER BY p.id")
+    List<Payment> lockByRazorpayOrderIdIn(@Param("razorpayOrderIds") Collection<String> razorpayOrderIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id IN :ids ORDER BY p.id")
+    List<Payment> lockAllById(@Param("ids") Collection<Long> ids);
+
+    // Keyset page over (updatedAt, id); served by idx_payments_status_updated
+    @Query("SELECT p FROM Payment p WHERE p.status IN :statuses AND p.updatedAt < :cutoff " +
+           "AND (p.updatedAt > :afterUpdatedAt OR (p.updatedAt = :afterUpdatedAt AND p.id > :afterId)) " +
+           "ORDER BY p.updatedAt, p.id")
+    List<Payment> findReconciliationCandidates(@Param("statuses") Collection<Payment.PaymentStatus> statuses,
+                                               @Param("cutoff") LocalDateTime cutoff,
+                                               @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    // History pages, served by idx_payments_user_created / idx_payments_order_created
+    @Query(PAYMENT_SUMMARY_SELECT + "WHERE p.userId = :userId " + NEWEST_FIRST)
+    List<PaymentSummary> findUserHistory(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(PAYMENT_SUMMARY_SELECT + "WHERE p.userId = :userId " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<PaymentSummary> findUserHistoryBefore(@Param("userId") Long userId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query(PAYMENT_SUMMARY_SELECT + "WHERE p.orderId = :orderId " + NEWEST_FIRST)
+    List<PaymentSummary> findOrderHistory(@Param("orderId") Long orderId, Pageable pageable);
+
+    @Query(PAYMENT_SUMMARY_SELECT + "WHERE p.orderId = :orderId " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<PaymentSummary> findOrderHistoryBefore(@Param("orderId") Long orderId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.ecommerce.payment.dto;
+
+import com.ecommerce.payment.entity.Payment;
+import com.ecommerce.payment.entity.PaymentDetail;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class PaymentResponse {
+
+    private Long id;
+    private String paymentId;
+    private Long orderId;
+    private Long userId;
+    private BigDecimal amount;
+    private String currency;
+    private Payment.PaymentStatus status;
+    private Payment.PaymentMethod method;
+    private String razorpayOrderId;
+    private String razorpayPaymentId;
+    private String description;
+    private String receipt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime paidAt;
+
+    // Only present on the detail view
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String razorpaySignature;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String errorMessage;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String gatewayResponse;
+
+    // Constructors
+    public PaymentResponse() {}
+
+    public PaymentResponse(Payment payment) {
+        this.id = payment.getId();
+        this.paymentId = payment.getPaymentId();
+        this.orderId = payment.getOrderId();
+        this.userId = payment.getUserId();
+        this.amount = payment.getAmount();
+        this.currency = payment.getCurrency();
+        this.status = payment.getStatus();
+        this.method = payment.getMethod();
+        this.razorpayOrderId = payment.getRazorpayOrderId();
+        this.razorpayPaymentId = payment.getRazorpayPaymentId();
+        this.description = payment.getDescription();
+        this.receipt = payment.getReceipt();
+        this.createdAt = payment.getCreatedAt();
+        this.updatedAt = payment.getUpdatedAt();
+        this.paidAt = payment.getPaidAt();
+    }
+
+    public void applyDetail(PaymentDetail detail) {
+        this.razorpaySignature = detail.getRazorpaySignature();
+        this.errorMessage = detail.getErrorMessage();
+        this.gatewayResponse = detail.getGatewayResponse();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getPaymentId() { return paymentId; }
+    public void setPaymentId(String paymentId) { this.paymentId = paymentId; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Payment.PaymentStatus getStatus() { return status; }
+    public void setStatus(Payment.PaymentStatus status) { this.status = status; }
+
+    public Payment.PaymentMethod getMethod() { return method; }
+    public void setMethod(Payment.PaymentMethod method) { this.method = method; }
+
+    public String getRazorpayOrderId() { return razorpayOrderId; }
+    public void setRazorpayOrderId(String razorpayOrderId) { this.razorpayOrderId = razorpayOrderId; }
+
+    public String getRazorpayPaymentId() { return razorpayPaymentId; }
+    public void setRazorpayPaymentId(String razorpayPaymentId) { this.razorpayPaymentId = razorpayPaymentId; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getReceipt() { return receipt; }
+    public void setReceipt(String receipt) { this.receipt = receipt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getPaidAt() { return paidAt; }
+    public void setPaidAt(LocalDateTime paidAt) { this.paidAt = paidAt; }
+
+    public String getRazorpaySignature() { return razorpaySignature; }
+    public void setRazorpaySignature(String razorpaySignature) { this.razorpaySignature = razorpaySignature; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public String getGatewayResponse() { return gatewayResponse; }
+    public void setGatewayResponse(String gatewayResponse) { this.gatewayResponse = gatewayResponse; }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.payment.dto.CreatePaymentOrderRequest;
+import com.ecommerce.payment.dto.PaymentHistoryPage;
+import com.ecommerce.payment.dto.PaymentResponse;
+import com.ecommerce.payment.dto.PaymentSummary;
+import com.ecommerce.payment.entity.Payment;
+import com.ecommerce.payment.entity.PaymentDetail;
+import com.ecommerce.payment.repository.PaymentDetailRepository;
+import com.ecommerce.payment.repository.PaymentRepository;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class PaymentService {
+
+    public static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+    public static final int DEFAULT_HISTORY_LIMIT = 20;
+    public static final int MAX_HISTORY_LIMIT = 100;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentDetailRepository paymentDetailRepository;
+
+    @Autowired
+    private RecentPaymentsCache recentPaymentsCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Hot row only; status checks never touch payment_details
+    @Transactional(readOnly = true)
+    public Optional<PaymentResponse> getPayment(String paymentId) {
+        return paymentRepository.findByPaymentId(paymentId).map(PaymentResponse::new);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PaymentResponse> getPaymentWithDetails(String paymentId) {
+        return paymentRepository.findByPaymentId(paymentId).map(payment -> {
+            PaymentResponse response = new PaymentResponse(payment);
+            paymentDetailRepository.findById(payment.getId()).ifPresent(response::applyDetail);
+            return response;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public PaymentHistoryPage getUserHistory(Long userId, String cursor, int limit) {
+        int size = clampLimit(limit);
+        int cached = recentPaymentsCache.getRowsPerUser();
+        if (cursor == null && size <= cached) {
+            // First page: served from the per-user cache of the newest rows
+            RecentPaymentsCache.Entry recent = recentPaymentsCache.get(userId);
+            List<PaymentSummary> rows;
+            boolean hasMore;
+            if (recent != null) {
+                rows = recent.getRows();
+                hasMore = recent.hasMore();
+            } else {
+                List<PaymentSummary> loaded = paymentRepository.findUserHistory(userId, PageRequest.of(0, cached + 1));
+                hasMore = loaded.size() > cached;
+                rows = hasMore ? loaded.subList(0, cached) : loaded;
+                recentPaymentsCache.put(userId, rows, hasMore);
+            }
+            if (rows.size() > size || (rows.size() == size && hasMore)) {
+                List<PaymentSummary> items = rows.subList(0, size);
+                return new PaymentHistoryPage(items, encodeCursor(items.get(size - 1)));
+            }
+            return new PaymentHistoryPage(rows, null);
+        }
+
+        Cursor position = decodeCursor(cursor);
+        List<PaymentSummary> rows = position == null
+                ? paymentRepository.findUserHistory(userId, PageRequest.of(0, size + 1))
+                : paymentRepository.findUserHistoryBefore(userId, position.createdAt, position.id, PageRequest.of(0, size + 1));
+        return page(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public PaymentHistoryPage getOrderHistory(Long orderId, String cursor, int limit) {
+        int size = clampLimit(limit);
+        Cursor position = decodeCursor(cursor);
+        List<PaymentSummary> rows = position == null
+                ? paymentRepository.findOrderHistory(orderId, PageRequest.of(0, size + 1))
+                : paymentRepository.findOrderHistoryBefore(orderId, position.createdAt, position.id, PageRequest.of(0, size + 1));
+        return page(rows, size);
+    }
+
+    // The PENDING row webhooks, reconciliation and history match by Razorpay order id; keyed by that id so a
+    // gateway order can only ever have one row. Recording the same order again returns the existing row.
+    public Payment recordCreatedOrder(CreatePaymentOrderRequest request, JSONObject gatewayOrder) {
+        String razorpayOrderId = gatewayOrder.getString("id");
+        Optional<Payment> existing = paymentRepository.findByPaymentId(razorpayOrderId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Payment payment = new Payment(razorpayOrderId, Long.parseLong(request.getOrderId()), request.getUserId(),
+                request.getAmount());
+        payment.setCurrency(request.getCurrency());
+        payment.setRazorpayOrderId(razorpayOrderId);
+        payment.setReceipt(gatewayOrder.optString("receipt", null));
+        paymentRepository.save(payment);
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(payment, null));
+        return payment;
+    }
+
+    public enum CancelResult { CANCELLED, NOT_FOUND, ALREADY_SETTLED }
+
+    // Called when the order behind a Razorpay order is abandoned; a capture that still arrives is left to reconciliation.
+    // Cancelling twice reports CANCELLED both times.
+    public CancelResult cancelPaymentOrder(String razorpayOrderId) {
+        Optional<Payment> found = paymentRepository.lockByRazorpayOrderId(razorpayOrderId);
+        if (found.isEmpty()) {
+            return CancelResult.NOT_FOUND;
+        }
+        Payment payment = found.get();
+        if (payment.getStatus() == Payment.PaymentStatus.CANCELLED) {
+            return CancelResult.CANCELLED;
+        }
+        if (!payment.getStatus().canTransitionTo(Payment.PaymentStatus.CANCELLED)) {
+            return CancelResult.ALREADY_SETTLED;
+        }
+        Payment.PaymentStatus previousStatus = payment.getStatus();
+        payment.setStatus(Payment.PaymentStatus.CANCELLED);
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(payment, previousStatus));
+        return CancelResult.CANCELLED;
+    }
+
+    // Joins the caller's transaction so details commit with the status change they explain
+    public void recordErrorMessages(Map<Long, String> errorMessages) {
+        if (errorMessages.isEmpty()) {
+            return;
+        }
+        Map<Long, PaymentDetail> details = new HashMap<>();
+        paymentDetailRepository.findAllById(errorMessages.keySet()).forEach(detail -> details.put(detail.getId(), detail));
+
+        List<PaymentDetail> created = new ArrayList<>();
+        for (Map.Entry<Long, String> error : errorMessages.entrySet()) {
+            PaymentDetail detail = details.get(error.getKey());
+            if (detail == null) {
+                detail = new PaymentDetail(error.getKey());
+                created.add(detail);
+            }
+            String message = error.getValue();
+            detail.setErrorMessage(message.length() > MAX_ERROR_MESSAGE_LENGTH
+                    ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message);
+        }
+        paymentDetailRepository.saveAll(created);
+    }
+
+    // rows holds up to size + 1 entries; the extra one only signals that another page exists
+    private static PaymentHistoryPage page(List<PaymentSummary> rows, int size) {
+        if (rows.size() <= size) {
+            return new PaymentHistoryPage(rows, null);
+        }
+        List<PaymentSummary> items = rows.subList(0, size);
+        return new PaymentHistoryPage(items, encodeCursor(items.get(size - 1)));
+    }
+
+    private static int clampLimit(int limit) {
+        return limit <= 0 ? DEFAULT_HISTORY_LIMIT : Math.min(limit, MAX_HISTORY_LIMIT);
+    }
+
+    private static String encodeCursor(PaymentSummary last) {
+        String position = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+    }
+
+    private record Cursor(LocalDateTime createdAt, Long id) {}
+}
\ No newline at end of file
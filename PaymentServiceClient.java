@@ -0,0 +1,22 @@
+package com.ecommerce.order.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+@FeignClient(name = "payment-service", url = "${order.clients.payment-service.url:}")
+public interface PaymentServiceClient {
+
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    // Returns the Razorpay order entity; a repeated key replays the first response
+    @PostMapping("/api/payments/create")
+    JsonNode createPaymentOrder(@RequestHeader(IDEMPOTENCY_KEY_HEADER) String idempotencyKey,
+                                @RequestBody PaymentOrderRequest request);
+
+    @PostMapping("/api/payments/orders/{razorpayOrderId}/cancel")
+    void cancelPaymentOrder(@PathVariable("razorpayOrderId") String razorpayOrderId);
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.ecommerce.payment.service;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * HMAC-SHA256 checks for Razorpay checkout signatures ({@code order_id|payment_id}). Keyed
+ * {@link Mac} instances are pooled and reused, the ids are hashed straight from their characters
+ * and the hex signature is compared against the digest byte by byte, so a verification allocates
+ * nothing once the pool is warm. The comparison is constant-time.
+ */
+public class PaymentSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 32;
+
+    private final SecretKeySpec key;
+    // A pool rather than a ThreadLocal: with virtual threads every request is a new thread
+    private final BlockingQueue<State> pool = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final class State {
+        final Mac mac;
+        final byte[] digest = new byte[SIGNATURE_BYTES];
+        // Ids are short ASCII tokens; longer or non-ASCII input falls back to getBytes
+        final byte[] input = new byte[64];
+
+        State(Mac mac) {
+            this.mac = mac;
+        }
+    }
+
+    public PaymentSignatureVerifier(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Fail at startup rather than on the first payment
+        pool.offer(newState());
+    }
+
+    public boolean verify(String orderId, String paymentId, String signature) {
+        if (signature == null || signature.length() != SIGNATURE_BYTES * 2) {
+            return false;
+        }
+        State current = pool.poll();
+        if (current == null) {
+            current = newState();
+        }
+        boolean matches = matches(current, orderId, paymentId, signature);
+        // Not returned on failure: a Mac left mid-update would corrupt the next caller's digest
+        pool.offer(current);
+        return matches;
+    }
+
+    private static boolean matches(State current, String orderId, String paymentId, String signature) {
+        Mac mac = current.mac;
+        update(current, orderId);
+        mac.update((byte) '|');
+        update(current, paymentId);
+        byte[] digest = current.digest;
+        try {
+            mac.doFinal(digest, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        int difference = 0;
+        for (int i = 0; i < SIGNATURE_BYTES; i++) {
+            int high = hexValue(signature.charAt(2 * i));
+            int low = hexValue(signature.charAt(2 * i + 1));
+            // Anything but lower-case hex gives -1, which sets the sign bit and fails the check
+            difference |= (((high << 4) | low) ^ (digest[i] & 0xff)) | ((high | low) & 0x80000000);
+        }
+        return difference == 0;
+    }
+
+    private static void update(State current, String value) {
+        if (value == null) {
+            current.mac.update("null".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        int length = value.length();
+        byte[] input = current.input;
+        if (length > input.length) {
+            current.mac.update(value.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                current.mac.update(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            input[i] = (byte) c;
+        }
+        current.mac.update(input, 0, length);
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private State newState() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return new State(mac);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.payment.entity.Payment;
+
+// Published inside the transaction that changes a payment's status; previousStatus is null for a new payment
+public class PaymentStatusChangedEvent {
+
+    private final Long id;
+    private final Long userId;
+    private final Long orderId;
+    private final Payment.PaymentStatus previousStatus;
+    private final Payment.PaymentStatus newStatus;
+
+    public PaymentStatusChangedEvent(Payment payment, Payment.PaymentStatus previousStatus) {
+        this.id = payment.getId();
+        this.userId = payment.getUserId();
+        this.orderId = payment.getOrderId();
+        this.previousStatus = previousStatus;
+        this.newStatus = payment.getStatus();
+    }
+
+    public Long getId() { return id; }
+
+    public Long getUserId() { return userId; }
+
+    public Long getOrderId() { return orderId; }
+
+    public Payment.PaymentStatus getPreviousStatus() { return previousStatus; }
+
+    public Payment.PaymentStatus getNewStatus() { return newStatus; }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.ecommerce.payment.dto;
+
+import com.ecommerce.payment.entity.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Narrow history row, built directly by the JPQL constructor expression in PaymentRepository
+public class PaymentSummary {
+
+    private Long id;
+    private String paymentId;
+    private Long orderId;
+    private BigDecimal amount;
+    private String currency;
+    private Payment.PaymentStatus status;
+    private Payment.PaymentMethod method;
+    private LocalDateTime createdAt;
+    private LocalDateTime paidAt;
+
+    // Constructors
+    public PaymentSummary() {}
+
+    public PaymentSummary(Long id, String paymentId, Long orderId, BigDecimal amount, String currency,
+                          Payment.PaymentStatus status, Payment.PaymentMethod method,
+                          LocalDateTime createdAt, LocalDateTime paidAt) {
+        this.id = id;
+        this.paymentId = paymentId;
+        this.orderId = orderId;
+        this.amount = amount;
+        this.currency = currency;
+        this.status = status;
+        this.method = method;
+        this.createdAt = createdAt;
+        this.paidAt = paidAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getPaymentId() { return paymentId; }
+    public void setPaymentId(String paymentId) { this.paymentId = paymentId; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Payment.PaymentStatus getStatus() { return status; }
+    public void setStatus(Payment.PaymentStatus status) { this.status = status; }
+
+    public Payment.PaymentMethod getMethod() { return method; }
+    public void setMethod(Payment.PaymentMethod method) { this.method = method; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getPaidAt() { return paidAt; }
+    public void setPaidAt(LocalDateTime paidAt) { this.paidAt = paidAt; }
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.ecommerce.payment.controller;
+
+import com.ecommerce.payment.service.RazorpayService;
+import com.ecommerce.payment.webhook.WebhookEventDeduplicator;
+import com.ecommerce.payment.webhook.WebhookEventLog;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/payments/webhook")
+public class PaymentWebhookController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookController.class);
+
+    @Autowired
+    private RazorpayService razorpayService;
+
+    @Autowired
+    private WebhookEventDeduplicator deduplicator;
+
+    @Autowired
+    private WebhookEventLog eventLog;
+
+    @Value("${razorpay.webhook-secret}")
+    private String webhookSecret;
+
+    // Verify, dedup, append durably and acknowledge; Payment rows are updated by WebhookEventProcessor
+    @PostMapping
+    public ResponseEntity<Void> receive(
+            @RequestBody String payload,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
+
+        if (signature == null || !razorpayService.validateWebhookSignature(payload, signature, webhookSecret)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        JSONObject event;
+        try {
+            event = new JSONObject(payload);
+        } catch (JSONException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (eventId == null || eventId.isBlank()) {
+            eventId = "sha_" + DigestUtils.md5DigestAsHex(payload.getBytes(StandardCharsets.UTF_8));
+        }
+        if (!deduplicator.markIfNew(eventId)) {
+            return ResponseEntity.ok().build();
+        }
+
+        try {
+            eventLog.append(eventId, event);
+        } catch (IOException e) {
+            deduplicator.forget(eventId);
+            logger.error("Could not persist webhook event {}: {}", eventId, e.getMessage());
+            // Non-2xx makes the gateway redeliver later
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.ecommerce.payment.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "processed_webhook_events")
+public class ProcessedWebhookEvent implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String eventId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private LocalDateTime processedAt;
+
+    // Ids are assigned by the gateway; skip the merge SELECT that saveAll would otherwise issue
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public ProcessedWebhookEvent() {}
+
+    public ProcessedWebhookEvent(String eventId, String eventType, LocalDateTime processedAt) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.processedAt = processedAt;
+    }
+
+    @Override
+    public String getId() { return eventId; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    // Getters and Setters
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.entity.ProcessedWebhookEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProcessedWebhookEventRepository extends JpaRepository<ProcessedWebhookEvent, String> {
+
+    @Query("SELECT e.eventId FROM ProcessedWebhookEvent e WHERE e.eventId IN :eventIds")
+    List<String> findExistingIds(@Param("eventIds") Collection<String> eventIds);
+}
\ No newline at end of file
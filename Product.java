@@ -19,8 +19,12 @@ import java.util.List;
 @Document(indexName = "products")
 public class Product {
     
+    // Pooled ids let Hibernate batch inserts; products_seq is seeded past MAX(id) at startup
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = ID_ALLOCATION_SIZE)
     @org.springframework.data.annotation.Id
     private Long id;
     
@@ -0,0 +1,51 @@
+package com.ecommerce.product.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Feeds single-product requests ({@code GET /api/products/{id}}) to the hot-product counts and to
+ * the first-traffic hit ratio. Looks at the matched pattern, so listing endpoints under the same
+ * prefix are not mistaken for product ids.
+ */
+@Component
+public class ProductAccessInterceptor implements HandlerInterceptor {
+
+    static final String PRODUCT_PATTERN = "/api/products/{id}";
+
+    @Autowired
+    private HotProductTracker hotProducts;
+
+    @Autowired
+    private ProductCacheWarmer warmer;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())
+                || !PRODUCT_PATTERN.equals(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables != null ? variables.get("id") : null;
+        if (id == null) {
+            return true;
+        }
+        long productId;
+        try {
+            productId = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        hotProducts.record(productId);
+        // Before the controller runs, so the lookup sees the cache as the request found it
+        warmer.recordFirstTraffic(productId);
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.ecommerce.product.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Keys for the paged product caches, built directly instead of evaluating SpEL such as
+ * {@code #category + '_' + #pageable.pageNumber + '_' + #pageable.pageSize} on every call. The
+ * keys are the same strings the expressions produced (arguments joined with {@code _}, a
+ * {@link Pageable} as {@code page_size}), so entries written before the switch still hit.
+ */
+@Component(ProductCacheKeyGenerator.BEAN_NAME)
+public class ProductCacheKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "productPageKeyGenerator";
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        StringBuilder key = new StringBuilder(32);
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                key.append('_');
+            }
+            if (params[i] instanceof Pageable pageable) {
+                key.append(pageable.getPageNumber()).append('_').append(pageable.getPageSize());
+            } else {
+                key.append(params[i]);
+            }
+        }
+        return key.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,219 @@
+package com.ecommerce.product.warmup;
+
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.service.ProductService;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the product caches before the instance takes traffic: the hottest product ids (from
+ * {@link HotProductTracker}), the category and brand lists, and the first featured pages.
+ * {@link CacheWarmupHealthIndicator} keeps health OUT_OF_SERVICE until this finishes, which with
+ * {@code eureka.client.healthcheck.enabled=true} keeps the instance out of Eureka's UP list.
+ * Afterwards it measures the {@code products} hit ratio over the first requests served.
+ */
+@Component
+public class ProductCacheWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCacheWarmer.class);
+
+    public enum State { PENDING, RUNNING, DONE, FAILED }
+
+    @Autowired
+    private HotProductTracker hotProducts;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${product.cache-warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.cache-warmup.hot-products:2000}")
+    private int hotProductCount;
+
+    // Ids per query, so warming 2000 products costs 20 statements rather than 2000
+    @Value("${product.cache-warmup.chunk-size:100}")
+    private int chunkSize;
+
+    // Must match the page sizes clients request, since they are part of the cache key
+    @Value("${product.cache-warmup.featured-page-size:20}")
+    private int featuredPageSize;
+
+    @Value("${product.cache-warmup.featured-pages:3}")
+    private int featuredPages;
+
+    // Past this the instance goes UP with whatever was loaded
+    @Value("${product.cache-warmup.max-duration:60s}")
+    private Duration maxDuration;
+
+    @Value("${product.cache-warmup.first-traffic-requests:1000}")
+    private int firstTrafficRequests;
+
+    private volatile State state = State.PENDING;
+    private volatile long durationMillis = -1;
+    private final Map<String, Integer> warmed = new ConcurrentHashMap<>();
+
+    private final AtomicLong firstTrafficLookups = new AtomicLong();
+    private final AtomicLong firstTrafficHits = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        Gauge.builder("product.cache.warmup.duration", this, warmer -> warmer.durationMillis / 1000.0)
+                .description("Time the last cache warm-up took, in seconds; negative until it finishes")
+                .register(meterRegistry);
+        Gauge.builder("product.cache.first-traffic.hit.ratio", this, ProductCacheWarmer::getFirstTrafficHitRatio)
+                .description("products cache hit ratio over the first requests after warm-up")
+                .register(meterRegistry);
+        if (!enabled) {
+            state = State.DONE;
+            return;
+        }
+        // Off the startup thread so the web server and health endpoint answer while warming
+        Thread thread = new Thread(this::warmUp, "product-cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        try {
+            warmLists();
+            warmFeatured(deadline);
+            warmHotProducts(deadline);
+            state = State.DONE;
+        } catch (RuntimeException e) {
+            // Serving with cold caches beats not serving
+            logger.warn("Product cache warm-up failed, going UP with partly warm caches: {}", e.getMessage());
+            state = State.FAILED;
+        }
+        durationMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Product cache warm-up {} in {} ms: {}", state == State.DONE ? "finished" : "stopped", durationMillis, warmed);
+        markUp();
+    }
+
+    private void warmLists() {
+        count("categories", productService.getAllCategories() != null ? 1 : 0);
+        count("brands", productService.getAllBrands() != null ? 1 : 0);
+    }
+
+    private void warmFeatured(long deadline) {
+        for (int page = 0; page < featuredPages && System.nanoTime() - deadline < 0; page++) {
+            if (productService.getFeaturedProducts(PageRequest.of(page, featuredPageSize)).isEmpty()) {
+                break;
+            }
+            count("featuredProducts", 1);
+        }
+    }
+
+    // Loaded in chunks and written straight to the cache under the key getProductById uses
+    private void warmHotProducts(long deadline) {
+        Cache products = cacheManager.getCache("products");
+        if (products == null) {
+            return;
+        }
+        List<Long> ids = hotProducts.hottest(hotProductCount);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            if (System.nanoTime() - deadline >= 0) {
+                logger.warn("Product cache warm-up hit its {} limit after {} of {} hot products",
+                        maxDuration, from, ids.size());
+                return;
+            }
+            List<Product> chunk = productRepository.findAllById(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+            for (Product product : chunk) {
+                products.put(product.getId(), product);
+            }
+            count("products", chunk.size());
+        }
+    }
+
+    private void markUp() {
+        ApplicationInfoManager infoManager = applicationInfoManager.getIfAvailable();
+        if (infoManager != null && infoManager.getInfo().getStatus() != InstanceInfo.InstanceStatus.UP) {
+            // Re-registers now instead of on the next health-check cycle
+            infoManager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+
+    private void count(String cache, int entries) {
+        warmed.merge(cache, entries, Integer::sum);
+    }
+
+    /** Called for each single-product request until the first-traffic sample is complete. */
+    void recordFirstTraffic(long productId) {
+        if (!isWarm() || firstTrafficLookups.get() >= firstTrafficRequests) {
+            return;
+        }
+        Cache products = cacheManager.getCache("products");
+        if (products == null) {
+            return;
+        }
+        boolean hit = products.get(productId) != null;
+        long lookups = firstTrafficLookups.incrementAndGet();
+        if (lookups > firstTrafficRequests) {
+            return;
+        }
+        if (hit) {
+            firstTrafficHits.incrementAndGet();
+        }
+        if (lookups == firstTrafficRequests) {
+            logger.info("products cache hit ratio over the first {} requests after warm-up: {}",
+                    firstTrafficRequests, String.format("%.3f", getFirstTrafficHitRatio()));
+        }
+    }
+
+    public boolean isWarm() {
+        return state == State.DONE || state == State.FAILED;
+    }
+
+    public State getState() { return state; }
+
+    public long getDurationMillis() { return durationMillis; }
+
+    public Map<String, Integer> getWarmed() {
+        return new LinkedHashMap<>(warmed);
+    }
+
+    public double getFirstTrafficHitRatio() {
+        long lookups = Math.min(firstTrafficLookups.get(), firstTrafficRequests);
+        return lookups == 0 ? 0 : (double) firstTrafficHits.get() / lookups;
+    }
+
+    public long getFirstTrafficLookups() {
+        return Math.min(firstTrafficLookups.get(), firstTrafficRequests);
+    }
+}
\ No newline at end of file
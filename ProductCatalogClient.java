@@ -0,0 +1,34 @@
+package com.ecommerce.order.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+@FeignClient(name = "product-catalog-service", url = "${order.clients.product-catalog-service.url:}")
+public interface ProductCatalogClient {
+
+    @GetMapping("/api/products/{id}")
+    ProductSnapshot getProduct(@PathVariable("id") Long id);
+
+    // Unknown ids are left out of the result
+    @GetMapping("/api/products/batch")
+    List<ProductSnapshot> getProducts(@RequestParam("ids") List<Long> ids);
+
+    // Keyset page of the whole catalog in id order; an empty page means the end
+    @GetMapping("/api/products/snapshot")
+    List<ProductSnapshot> getSnapshotPage(@RequestParam("afterId") Long afterId, @RequestParam("limit") int limit);
+
+    // 409 when any line cannot be reserved; nothing is held in that case
+    @PostMapping("/api/products/reservations")
+    void reserveStock(@RequestBody StockReservationRequest request);
+
+    // Idempotent; releasing an unknown reservation is a no-op
+    @DeleteMapping("/api/products/reservations/{reservationId}")
+    void releaseStock(@PathVariable("reservationId") String reservationId);
+}
\ No newline at end of file
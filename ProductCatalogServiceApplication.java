@@ -1,15 +1,22 @@
 package com.ecommerce.product;
 
+import com.ecommerce.common.metrics.MetricsConfiguration;
+import com.ecommerce.common.startup.FastStartupConfiguration;
+import com.ecommerce.common.threads.VirtualThreadConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableEurekaClient
 @EnableKafka
 @EnableCaching
+@EnableScheduling
+@Import({FastStartupConfiguration.class, MetricsConfiguration.class, VirtualThreadConfiguration.class})
 public class ProductCatalogServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,41 @@
+package com.ecommerce.order.replica;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+// The fields of product-catalog-service's ProductEvent that the replica keeps
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductChangeEvent {
+
+    private String eventType;
+    private Long productId;
+    private String productName;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private String status;
+    private Long version;
+
+    public ProductChangeEvent() {}
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public Integer getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.ecommerce.product.config;
+
+import com.ecommerce.common.datasource.ReplicaRoutingConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+@Configuration
+@Import(ReplicaRoutingConfiguration.class)
+public class ProductDataSourceConfig {
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.client.CollapsingProductClient;
+import com.ecommerce.order.client.ProductSnapshot;
+import com.ecommerce.order.replica.ProductReplica;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Product price, stock and status for order placement: from the local replica when it is fresh,
+ * otherwise from product-catalog-service in collapsed batches. Stock read here only screens out
+ * obviously short orders; the reservation is what claims it.
+ */
+@Service
+public class ProductLookupService {
+
+    @Autowired
+    private ProductReplica productReplica;
+
+    @Autowired
+    private CollapsingProductClient collapsingProductClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter replicaHits;
+    private Counter remoteFetches;
+
+    @PostConstruct
+    void init() {
+        replicaHits = Counter.builder("order.product.lookups")
+                .description("Product lookups during order placement by source")
+                .tag("source", "replica")
+                .register(meterRegistry);
+        remoteFetches = Counter.builder("order.product.lookups")
+                .description("Product lookups during order placement by source")
+                .tag("source", "remote")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ProductSnapshot> getProduct(long productId) {
+        Optional<ProductSnapshot> local = productReplica.lookup(productId);
+        if (local.isPresent()) {
+            replicaHits.increment();
+            return CompletableFuture.completedFuture(local.get());
+        }
+        remoteFetches.increment();
+        return collapsingProductClient.getProduct(productId)
+                .thenApply(product -> {
+                    // Fills a miss; an older copy never overwrites a newer event
+                    productReplica.apply(product);
+                    return product;
+                });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package com.ecommerce.gateway.composite;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the product page from four legs: the product itself, its live availability, other
+ * products of the same brand, and the signed-in user's profile. Product, availability and user
+ * start together; the brand listing starts as soon as the product names its brand. Every leg has
+ * its own timeout and cache. Only the product is required: the other legs degrade to a null
+ * section, and the user leg is cached per user so it never mixes with the shared product data.
+ */
+@Component
+public class ProductPageAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductPageAggregator.class);
+
+    private static final String PRODUCT_SERVICE = "http://product-catalog-service";
+    private static final String USER_SERVICE = "http://user-service";
+
+    @Autowired
+    private WebClient.Builder loadBalancedWebClientBuilder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.composite.product.timeout:800ms}")
+    private Duration productTimeout;
+
+    @Value("${gateway.composite.product.ttl:60s}")
+    private Duration productTtl;
+
+    @Value("${gateway.composite.availability.timeout:300ms}")
+    private Duration availabilityTimeout;
+
+    // Stock moves quickly; keep this far below the product TTL
+    @Value("${gateway.composite.availability.ttl:2s}")
+    private Duration availabilityTtl;
+
+    @Value("${gateway.composite.related.timeout:500ms}")
+    private Duration relatedTimeout;
+
+    @Value("${gateway.composite.related.ttl:5m}")
+    private Duration relatedTtl;
+
+    @Value("${gateway.composite.related.limit:8}")
+    private int relatedLimit;
+
+    @Value("${gateway.composite.user.timeout:500ms}")
+    private Duration userTimeout;
+
+    @Value("${gateway.composite.user.ttl:30s}")
+    private Duration userTtl;
+
+    @Value("${gateway.composite.cache.capacity:10000}")
+    private int cacheCapacity;
+
+    // Bounds a shared fetch even after every caller has timed out
+    @Value("${gateway.composite.fetch-timeout:5s}")
+    private Duration fetchTimeout;
+
+    private WebClient webClient;
+    private LegCache<Long, JsonNode> productFetches;
+    private LegCache<Long, JsonNode> productCache;
+    private LegCache<Long, ProductPageResponse.Availability> availabilityCache;
+    private LegCache<String, List<JsonNode>> relatedCache;
+    private LegCache<String, JsonNode> userCache;
+
+    @PostConstruct
+    void init() {
+        webClient = loadBalancedWebClientBuilder.build();
+        // Product and availability read the same resource; concurrent misses share one call
+        productFetches = new LegCache<>("product-fetch", cacheCapacity, Duration.ZERO, meterRegistry);
+        productCache = new LegCache<>("product", cacheCapacity, productTtl, meterRegistry);
+        availabilityCache = new LegCache<>("availability", cacheCapacity, availabilityTtl, meterRegistry);
+        relatedCache = new LegCache<>("related", cacheCapacity, relatedTtl, meterRegistry);
+        userCache = new LegCache<>("user", cacheCapacity, userTtl, meterRegistry);
+    }
+
+    /** Empty when the product does not exist; errors when the product leg fails. */
+    public Mono<ProductPageResponse> getProductPage(long productId, String userId) {
+        Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+        Mono<JsonNode> product = leg("product", productTimeout,
+                productCache.get(productId, this::fetchProduct)).cache();
+        Mono<Optional<ProductPageResponse.Availability>> availability = optionalLeg("availability", availabilityTimeout,
+                availabilityCache.get(productId, id -> fetchProduct(id).map(ProductPageAggregator::toAvailability)), failures);
+        Mono<Optional<List<JsonNode>>> related = product.flatMap(node -> {
+            String brand = node.path("brand").asText(null);
+            if (brand == null || brand.isBlank()) {
+                return Mono.just(Optional.<List<JsonNode>>empty());
+            }
+            return optionalLeg("related", relatedTimeout,
+                    relatedCache.get(brand, this::fetchBrandListing).map(listing -> withoutProduct(listing, productId)),
+                    failures);
+        });
+        Mono<Optional<JsonNode>> user = userId == null || userId.isBlank()
+                ? Mono.just(Optional.empty())
+                : optionalLeg("user", userTimeout, userCache.get(userId, this::fetchUser), failures);
+
+        return Mono.zip(product, availability, related, user).map(legs -> {
+            ProductPageResponse page = new ProductPageResponse();
+            page.setProduct(legs.getT1());
+            page.setAvailability(legs.getT2().orElse(null));
+            page.setRelatedProducts(legs.getT3().orElse(null));
+            page.setUser(legs.getT4().orElse(null));
+            if (!failures.isEmpty()) {
+                page.setPartial(true);
+                page.setFailedLegs(new LinkedHashMap<>(failures));
+            }
+            return page;
+        });
+    }
+
+    private Mono<JsonNode> fetchProduct(Long productId) {
+        return productFetches.get(productId, id -> webClient.get()
+                .uri(PRODUCT_SERVICE + "/api/products/{id}", id)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(fetchTimeout)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()));
+    }
+
+    private Mono<List<JsonNode>> fetchBrandListing(String brand) {
+        // One extra row so the list is still full after the current product is removed
+        return webClient.get()
+                .uri(PRODUCT_SERVICE + "/api/products/brand/{brand}?page=0&size={size}", brand, relatedLimit + 1)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(fetchTimeout)
+                .map(page -> {
+                    List<JsonNode> products = new ArrayList<>();
+                    page.path("content").forEach(products::add);
+                    return products;
+                });
+    }
+
+    private Mono<JsonNode> fetchUser(String userId) {
+        return webClient.get()
+                .uri(USER_SERVICE + "/api/users/{id}", userId)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(fetchTimeout);
+    }
+
+    private List<JsonNode> withoutProduct(List<JsonNode> listing, long productId) {
+        List<JsonNode> related = new ArrayList<>(relatedLimit);
+        for (JsonNode node : listing) {
+            if (node.path("id").asLong() != productId && related.size() < relatedLimit) {
+                related.add(node);
+            }
+        }
+        return related;
+    }
+
+    private static ProductPageResponse.Availability toAvailability(JsonNode product) {
+        Integer stock = product.hasNonNull("stockQuantity") ? product.get("stockQuantity").asInt() : null;
+        String status = product.path("status").asText(null);
+        boolean inStock = stock != null && stock > 0 && (status == null || "ACTIVE".equals(status));
+        return new ProductPageResponse.Availability(stock, status, inStock);
+    }
+
+    private <T> Mono<T> leg(String name, Duration timeout, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.timeout(timeout)
+                    .doOnSuccess(value -> sample.stop(legTimer(name, value != null ? "success" : "empty")))
+                    .doOnError(e -> sample.stop(legTimer(name, outcome(e))));
+        });
+    }
+
+    // Failures and timeouts become an empty section recorded in failures instead of failing the page
+    private <T> Mono<Optional<T>> optionalLeg(String name, Duration timeout, Mono<T> call, Map<String, String> failures) {
+        return leg(name, timeout, call)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    logger.debug("Product page leg {} failed: {}", name, e.toString());
+                    failures.put(name, outcome(e));
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private Timer legTimer(String name, String outcome) {
+        return Timer.builder("gateway.composite.leg")
+                .description("Latency of each product page leg, including cache hits")
+                .tag("leg", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    static String outcome(Throwable e) {
+        return e instanceof TimeoutException ? "timeout" : "error";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.ecommerce.gateway.composite;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/product-pages")
+public class ProductPageController {
+
+    @Autowired
+    private ProductPageAggregator aggregator;
+
+    // X-User-Id is whatever the caller sent unless an authenticating proxy overwrites it; without that,
+    // anyone could read and warm the cache for another user's profile, so the user section is left out
+    @Value("${gateway.rate-limit.trust-identity-headers:false}")
+    private boolean trustIdentityHeaders;
+
+    @GetMapping("/{productId}")
+    public Mono<ResponseEntity<Object>> getProductPage(@PathVariable Long productId,
+                                                       @RequestHeader(value = "X-User-Id", required = false) String userId) {
+        return aggregator.getProductPage(productId, trustIdentityHeaders ? userId : null)
+                .map(page -> ResponseEntity.ok()
+                        // Responses carrying a profile must never land in a shared cache
+                        .cacheControl(page.getUser() != null ? CacheControl.noStore().cachePrivate() : CacheControl.noCache())
+                        .body((Object) page))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "Product not found")))
+                .onErrorResume(e -> Mono.just(ResponseEntity
+                        .status("timeout".equals(ProductPageAggregator.outcome(e)) ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY)
+                        .body(Map.of("error", "Product is currently unavailable"))));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.ecommerce.gateway.composite;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the product detail page needs in one response. Sections whose leg failed or timed
+ * out are null and listed in {@code failedLegs}; {@code partial} is set when any are.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductPageResponse {
+
+    public static class Availability {
+        private final Integer stockQuantity;
+        private final String status;
+        private final boolean inStock;
+
+        public Availability(Integer stockQuantity, String status, boolean inStock) {
+            this.stockQuantity = stockQuantity;
+            this.status = status;
+            this.inStock = inStock;
+        }
+
+        public Integer getStockQuantity() { return stockQuantity; }
+
+        public String getStatus() { return status; }
+
+        public boolean isInStock() { return inStock; }
+    }
+
+    private JsonNode product;
+    private Availability availability;
+    private List<JsonNode> relatedProducts;
+    private JsonNode user;
+    private boolean partial;
+    private Map<String, String> failedLegs;
+
+    public JsonNode getProduct() { return product; }
+    public void setProduct(JsonNode product) { this.product = product; }
+
+    public Availability getAvailability() { return availability; }
+    public void setAvailability(Availability availability) { this.availability = availability; }
+
+    public List<JsonNode> getRelatedProducts() { return relatedProducts; }
+    public void setRelatedProducts(List<JsonNode> relatedProducts) { this.relatedProducts = relatedProducts; }
+
+    public JsonNode getUser() { return user; }
+    public void setUser(JsonNode user) { this.user = user; }
+
+    public boolean isPartial() { return partial; }
+    public void setPartial(boolean partial) { this.partial = partial; }
+
+    public Map<String, String> getFailedLegs() { return failedLegs; }
+    public void setFailedLegs(Map<String, String> failedLegs) { this.failedLegs = failedLegs; }
+}
\ No newline at end of file
@@ -0,0 +1,272 @@
+package com.ecommerce.order.replica;
+
+import com.ecommerce.order.client.ProductCatalogClient;
+import com.ecommerce.order.client.ProductSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of every product's price, stock and status, kept current from
+ * {@code product-events}. On first start it records the topic's end offsets, loads a keyset
+ * snapshot of the catalog, then consumes from those offsets; events that the snapshot already
+ * reflects are ignored by version. Each instance reads every partition itself (no consumer group),
+ * and after a consumer error it resumes from the offsets it last applied instead of reloading.
+ */
+@Component
+public class ProductReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductReplica.class);
+
+    public static final String PRODUCT_EVENTS_TOPIC = "product-events";
+
+    @Autowired
+    private ProductCatalogClient productClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.product-replica.enabled:true}")
+    private boolean enabled;
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${order.product-replica.expected-products:100000}")
+    private int expectedProducts;
+
+    @Value("${order.product-replica.snapshot-page-size:1000}")
+    private int snapshotPageSize;
+
+    // Lookups go remote when the consumer has not polled for this long or has fallen this far behind
+    @Value("${order.product-replica.max-staleness:10s}")
+    private Duration maxStaleness;
+
+    @Value("${order.product-replica.max-lag:1000}")
+    private long maxLag;
+
+    @Value("${order.product-replica.lag-check-interval:5s}")
+    private Duration lagCheckInterval;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Next offset to read per partition, advanced only after the record is applied
+    private final Map<TopicPartition, Long> positions = new ConcurrentHashMap<>();
+
+    private ProductReplicaMap products;
+    private Thread consumerThread;
+    private volatile KafkaConsumer<String, byte[]> consumer;
+    private volatile boolean running;
+    private volatile boolean bootstrapped;
+    private volatile long lastPollNanos;
+    private volatile long lag = Long.MAX_VALUE;
+
+    @PostConstruct
+    void start() {
+        products = new ProductReplicaMap(expectedProducts);
+        Gauge.builder("order.product.replica.entries", this, replica -> replica.products.size())
+                .description("Products held in the local replica")
+                .register(meterRegistry);
+        Gauge.builder("order.product.replica.lag", this, replica -> replica.bootstrapped ? replica.lag : -1)
+                .description("product-events records not yet applied; -1 until the snapshot is loaded")
+                .register(meterRegistry);
+        Gauge.builder("order.product.replica.staleness.seconds", this,
+                        replica -> replica.lastPollNanos == 0 ? -1 : (System.nanoTime() - replica.lastPollNanos) / 1e9)
+                .description("Time since the replica consumer last polled")
+                .register(meterRegistry);
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        consumerThread = new Thread(this::run, "product-replica");
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        KafkaConsumer<String, byte[]> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (consumerThread != null) {
+            consumerThread.join(5000);
+        }
+    }
+
+    // Empty when the replica is stale or does not know the product; callers then ask the catalog
+    public Optional<ProductSnapshot> lookup(long productId) {
+        if (!isFresh()) {
+            return Optional.empty();
+        }
+        ProductReplicaEntry entry = products.get(productId);
+        return entry != null ? Optional.of(entry.toSnapshot()) : Optional.empty();
+    }
+
+    public boolean isFresh() {
+        return bootstrapped
+                && System.nanoTime() - lastPollNanos < maxStaleness.toNanos()
+                && lag <= maxLag;
+    }
+
+    // Also used to refresh the replica with a product fetched remotely
+    public void apply(ProductSnapshot snapshot) {
+        if (snapshot.getId() == null || snapshot.getVersion() == null) {
+            return;
+        }
+        products.putIfNewer(new ProductReplicaEntry(snapshot.getId(), snapshot.getName(), snapshot.getPrice(),
+                snapshot.getStockQuantity() != null ? snapshot.getStockQuantity() : 0, snapshot.getStatus(),
+                snapshot.getVersion()));
+    }
+
+    private void run() {
+        while (running) {
+            try (KafkaConsumer<String, byte[]> kafkaConsumer = new KafkaConsumer<>(consumerProperties())) {
+                consumer = kafkaConsumer;
+                List<TopicPartition> partitions = kafkaConsumer.partitionsFor(PRODUCT_EVENTS_TOPIC).stream()
+                        .map(info -> new TopicPartition(info.topic(), info.partition()))
+                        .toList();
+                if (partitions.isEmpty()) {
+                    throw new IllegalStateException(PRODUCT_EVENTS_TOPIC + " has no partitions yet");
+                }
+                kafkaConsumer.assign(partitions);
+                if (!bootstrapped) {
+                    // Offsets first: anything published while the snapshot loads is replayed afterwards
+                    positions.putAll(kafkaConsumer.endOffsets(partitions));
+                    loadSnapshot();
+                    bootstrapped = true;
+                }
+                for (TopicPartition partition : partitions) {
+                    Long position = positions.get(partition);
+                    if (position != null) {
+                        kafkaConsumer.seek(partition, position);
+                    } else {
+                        // Partition added since the snapshot
+                        kafkaConsumer.seekToBeginning(List.of(partition));
+                    }
+                }
+                consume(kafkaConsumer, partitions);
+            } catch (WakeupException e) {
+                // Shutting down
+            } catch (RuntimeException e) {
+                logger.warn("Product replica consumer failed, lookups use the catalog until it recovers: {}", e.getMessage());
+                sleepBeforeRetry();
+            } finally {
+                consumer = null;
+            }
+        }
+    }
+
+    private void consume(KafkaConsumer<String, byte[]> kafkaConsumer, List<TopicPartition> partitions) {
+        long nextLagCheck = 0;
+        while (running) {
+            ConsumerRecords<String, byte[]> records = kafkaConsumer.poll(Duration.ofMillis(500));
+            for (ConsumerRecord<String, byte[]> record : records) {
+                applyEvent(record);
+                positions.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+            }
+            long now = System.nanoTime();
+            if (now - nextLagCheck >= 0) {
+                Map<TopicPartition, Long> endOffsets = kafkaConsumer.endOffsets(partitions);
+                long behind = 0;
+                for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+                    behind += Math.max(0, end.getValue() - kafkaConsumer.position(end.getKey()));
+                }
+                lag = behind;
+                nextLagCheck = now + lagCheckInterval.toNanos();
+            }
+            lastPollNanos = now;
+        }
+    }
+
+    private void applyEvent(ConsumerRecord<String, byte[]> record) {
+        ProductChangeEvent event;
+        try {
+            event = objectMapper.readValue(record.value(), ProductChangeEvent.class);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Skipping unreadable product event at {}-{}@{}: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+            return;
+        }
+        if (event.getProductId() == null || event.getProductId() <= 0) {
+            return;
+        }
+        // Events from before versions were published are ordered by broker time instead
+        long version = event.getVersion() != null ? event.getVersion() : record.timestamp();
+        String status = event.getStatus();
+        if (status == null) {
+            status = "product.deleted".equals(event.getEventType()) ? "DISCONTINUED" : "ACTIVE";
+        }
+        products.putIfNewer(new ProductReplicaEntry(event.getProductId(), event.getProductName(), event.getPrice(),
+                event.getStockQuantity() != null ? event.getStockQuantity() : 0, status, version));
+    }
+
+    private void loadSnapshot() {
+        long startNanos = System.nanoTime();
+        long afterId = 0;
+        int loaded = 0;
+        while (running) {
+            List<ProductSnapshot> page = productClient.getSnapshotPage(afterId, snapshotPageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            for (ProductSnapshot snapshot : page) {
+                apply(snapshot);
+                afterId = Math.max(afterId, snapshot.getId());
+            }
+            loaded += page.size();
+        }
+        logger.info("Product replica loaded {} products in {} ms", loaded, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private Properties consumerProperties() {
+        Properties properties = new Properties();
+        properties.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1000);
+        properties.put(ConsumerConfig.CLIENT_ID_CONFIG, "order-service-product-replica");
+        return properties;
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    public boolean isBootstrapped() { return bootstrapped; }
+
+    public long getLag() { return lag; }
+
+    public Map<TopicPartition, Long> getPositions() { return new HashMap<>(positions); }
+}
\ No newline at end of file
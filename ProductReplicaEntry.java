@@ -0,0 +1,41 @@
+package com.ecommerce.order.replica;
+
+import com.ecommerce.order.client.ProductSnapshot;
+
+import java.math.BigDecimal;
+
+// Immutable, so readers can hold one without copying while the consumer replaces it
+public final class ProductReplicaEntry {
+
+    private final long productId;
+    private final String name;
+    private final BigDecimal price;
+    private final int stockQuantity;
+    private final String status;
+    private final long version;
+
+    public ProductReplicaEntry(long productId, String name, BigDecimal price, int stockQuantity, String status, long version) {
+        this.productId = productId;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.status = status;
+        this.version = version;
+    }
+
+    public ProductSnapshot toSnapshot() {
+        return new ProductSnapshot(productId, name, price, stockQuantity, status, version);
+    }
+
+    public long getProductId() { return productId; }
+
+    public String getName() { return name; }
+
+    public BigDecimal getPrice() { return price; }
+
+    public int getStockQuantity() { return stockQuantity; }
+
+    public String getStatus() { return status; }
+
+    public long getVersion() { return version; }
+}
\ No newline at end of file
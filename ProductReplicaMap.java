@@ -0,0 +1,127 @@
+package com.ecommerce.order.replica;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing map from a positive product id to its replica entry, with keys in a
+ * {@code long[]} so lookups neither box the id nor chase a node per entry. Writes (the
+ * product-events consumer, and remote fetches filling misses) are rare next to reads, so reads
+ * are optimistic and only fall back to the read lock when a write or resize overlapped them.
+ */
+class ProductReplicaMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private final StampedLock lock = new StampedLock();
+
+    // 0 marks an empty slot; product ids start at 1
+    private long[] keys;
+    private ProductReplicaEntry[] values;
+    private int size;
+    private int resizeAt;
+
+    ProductReplicaMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    ProductReplicaEntry get(long productId) {
+        long stamp = lock.tryOptimisticRead();
+        ProductReplicaEntry entry = find(keys, values, productId);
+        if (lock.validate(stamp)) {
+            return entry;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(keys, values, productId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Keeps the stored entry when it is newer than the one offered; returns whether the map changed
+    boolean putIfNewer(ProductReplicaEntry entry) {
+        long productId = entry.getProductId();
+        if (productId <= 0) {
+            throw new IllegalArgumentException("Product ids must be positive: " + productId);
+        }
+        long stamp = lock.writeLock();
+        try {
+            int mask = keys.length - 1;
+            int slot = mix(productId) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == productId) {
+                    if (values[slot].getVersion() > entry.getVersion()) {
+                        return false;
+                    }
+                    values[slot] = entry;
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = productId;
+            values[slot] = entry;
+            if (++size >= resizeAt) {
+                resize();
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static ProductReplicaEntry find(long[] keys, ProductReplicaEntry[] values, long productId) {
+        // Arrays may be mid-resize during an optimistic read; the mask keeps every index in bounds
+        int mask = Math.min(keys.length, values.length) - 1;
+        int slot = mix(productId) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long key = keys[slot];
+            if (key == productId) {
+                return values[slot];
+            }
+            if (key == 0) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        ProductReplicaEntry[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new ProductReplicaEntry[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Sequential ids would otherwise fill one contiguous run of slots
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
\ No newline at end of file
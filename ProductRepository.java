@@ -44,4 +44,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     @Query("SELECT p FROM Product p WHERE p.stockQuantity < :threshold")
     List<Product> findLowStockProducts(@Param("threshold") Integer threshold);
+
+    // Keyset pages over the whole catalog, for consumers bootstrapping a copy of it
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.ecommerce.product.service;
 
+import com.ecommerce.product.cache.ProductCacheKeyGenerator;
+import com.ecommerce.product.dto.CatalogProductSnapshot;
 import com.ecommerce.product.entity.Product;
 import com.ecommerce.product.repository.ProductRepository;
 import com.ecommerce.product.repository.ProductElasticsearchRepository;
@@ -7,12 +9,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +25,10 @@ import java.util.Optional;
 @Transactional
 public class ProductService {
 
+    public static final String PRODUCT_EVENTS_TOPIC = "product-events";
+    public static final int MAX_SNAPSHOT_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 100;
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -29,51 +38,72 @@ public class ProductService {
     @Autowired
     private KafkaTemplate<String, Object> kafkaTemplate;
 
-    @Cacheable(value = "products", key = "#id")
+    @Transactional(readOnly = true)
+    // No key expression: the default key for a single argument is the id itself
+    @Cacheable(value = "products")
     public Optional<Product> getProductById(Long id) {
         return productRepository.findById(id);
     }
 
-    @Cacheable(value = "productsByCategory", key = "#category + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    // Backs GET /api/products/batch; unknown ids are left out of the result
+    @Transactional(readOnly = true)
+    public List<CatalogProductSnapshot> getProductsByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids per batch");
+        }
+        return productRepository.findAllById(ids).stream().map(CatalogProductSnapshot::new).toList();
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "productsByCategory", keyGenerator = ProductCacheKeyGenerator.BEAN_NAME)
     public Page<Product> getProductsByCategory(String category, Pageable pageable) {
         return productRepository.findByCategory(category, pageable);
     }
 
-    @Cacheable(value = "productsByBrand", key = "#brand + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Transactional(readOnly = true)
+    @Cacheable(value = "productsByBrand", keyGenerator = ProductCacheKeyGenerator.BEAN_NAME)
     public Page<Product> getProductsByBrand(String brand, Pageable pageable) {
         return productRepository.findByBrand(brand, pageable);
     }
 
-    @Cacheable(value = "featuredProducts", key = "#pageable.pageNumber + '_' + #pageable.pageSize")
+    @Transactional(readOnly = true)
+    @Cacheable(value = "featuredProducts", keyGenerator = ProductCacheKeyGenerator.BEAN_NAME)
     public Page<Product> getFeaturedProducts(Pageable pageable) {
         return productRepository.findByFeatured(true, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         return productRepository.findByPriceRange(minPrice, maxPrice, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Product> getProductsByCategoryAndPriceRange(String category, BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         return productRepository.findByCategoryAndPriceRange(category, minPrice, maxPrice, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Product> getAllProducts(Pageable pageable) {
         return productRepository.findAll(pageable);
     }
 
     // Elasticsearch search methods
+    @Transactional(readOnly = true)
     public Page<Product> searchProducts(String query, Pageable pageable) {
         return elasticsearchRepository.searchProducts(query, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Product> searchProductsByCategory(String query, String category, Pageable pageable) {
         return elasticsearchRepository.searchProductsByCategory(query, category, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Product> searchProductsByTag(String tag, Pageable pageable) {
         return elasticsearchRepository.findByTagsContaining(tag, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Page<Product> searchProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         return elasticsearchRepository.findByPriceRange(minPrice, maxPrice, pageable);
     }
@@ -173,30 +203,51 @@ public class ProductService {
         return updatedProduct;
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "categories")
     public List<String> getAllCategories() {
         return productRepository.findAllActiveCategories();
     }
 
+    @Transactional(readOnly = true)
     @Cacheable(value = "brands")
     public List<String> getAllBrands() {
         return productRepository.findAllActiveBrands();
     }
 
+    @Transactional(readOnly = true)
     public List<Product> getLowStockProducts(Integer threshold) {
         return productRepository.findLowStockProducts(threshold);
     }
 
+    // Products after afterId in id order; pair with product-events to keep a copy current
+    @Transactional(readOnly = true)
+    public List<CatalogProductSnapshot> getSnapshotPage(Long afterId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SNAPSHOT_PAGE_SIZE));
+        return productRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, PageRequest.of(0, size))
+                .stream().map(CatalogProductSnapshot::new).toList();
+    }
+
+    // Same ordering as ProductEvent.version, so a snapshot row and an event for it can be compared
+    public static long versionOf(Product product) {
+        return product.getUpdatedAt() != null ? product.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
     private void publishProductEvent(String eventType, Product product) {
+        // Flush so updatedAt, and with it the event version, reflects this change
+        productRepository.flush();
         ProductEvent event = new ProductEvent(
             eventType, 
             product.getId(), 
             product.getName(), 
             product.getCategory(), 
             product.getPrice(), 
-            product.getStockQuantity()
+            product.getStockQuantity(),
+            product.getStatus(),
+            versionOf(product)
         );
-        kafkaTemplate.send("product-events", event);
+        // Keyed by product so each product's events stay in order on one partition
+        kafkaTemplate.send(PRODUCT_EVENTS_TOPIC, String.valueOf(product.getId()), event);
     }
 
     // Inner class for product events
@@ -207,14 +258,20 @@ public class ProductService {
         private String category;
         private BigDecimal price;
         private Integer stockQuantity;
+        private Product.ProductStatus status;
+        // updatedAt in epoch millis; newer events have higher versions
+        private Long version;
 
-        public ProductEvent(String eventType, Long productId, String productName, String category, BigDecimal price, Integer stockQuantity) {
+        public ProductEvent(String eventType, Long productId, String productName, String category, BigDecimal price,
+                            Integer stockQuantity, Product.ProductStatus status, Long version) {
             this.eventType = eventType;
             this.productId = productId;
             this.productName = productName;
             this.category = category;
             this.price = price;
             this.stockQuantity = stockQuantity;
+            this.status = status;
+            this.version = version;
         }
 
         // Getters and Setters
@@ -235,5 +292,11 @@ public class ProductService {
 
         public Integer getStockQuantity() { return stockQuantity; }
         public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
+
+        public Product.ProductStatus getStatus() { return status; }
+        public void setStatus(Product.ProductStatus status) { this.status = status; }
+
+        public Long getVersion() { return version; }
+        public void setVersion(Long version) { this.version = version; }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.ecommerce.order.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+// The fields of product-catalog-service's Product that order placement needs
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductSnapshot {
+
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private String status;
+    // Product updatedAt in epoch millis, comparable with product-events versions
+    private Long version;
+
+    public ProductSnapshot() {}
+
+    public ProductSnapshot(Long id, String name, BigDecimal price, Integer stockQuantity, String status, Long version) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.status = status;
+        this.version = version;
+    }
+
+    public boolean isPurchasable() {
+        return "ACTIVE".equals(status) && price != null;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public Integer getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
\ No newline at end of file
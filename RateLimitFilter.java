@@ -0,0 +1,179 @@
+package com.ecommerce.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-client rate limiting for every routed request, answered from in-memory token buckets.
+ * Policies are chosen by route id ({@code gateway.rate-limit.routes}), falling back to
+ * {@code gateway.rate-limit.default}. Responses carry {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset}; refusals are 429 with {@code Retry-After}.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    // Before routing and load balancing, so refused requests cost no backend work
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    @Autowired
+    private RateLimitKeyTable keyTable;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.rate-limit.default:50:100:ip}")
+    private String defaultSpec;
+
+    // <route id>=<rate>:<burst>:<key type>, comma separated
+    @Value("${gateway.rate-limit.routes:}")
+    private String routeSpecs;
+
+    // Only behind a proxy that overwrites X-Forwarded-For; otherwise clients could pick their own key
+    @Value("${gateway.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    // Only when something in front of the gateway authenticates the caller and overwrites X-API-Key and
+    // X-User-Id; otherwise a client could send a new value per request and get a fresh burst each time
+    @Value("${gateway.rate-limit.trust-identity-headers:false}")
+    private boolean trustIdentityHeaders;
+
+    private RateLimitPolicy defaultPolicy;
+    private final Map<String, RateLimitPolicy> routePolicies = new HashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        defaultPolicy = RateLimitPolicy.parse("default", defaultSpec);
+        for (String entry : routeSpecs.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq > 0) {
+                String routeId = entry.substring(0, eq).trim();
+                routePolicies.put(routeId, RateLimitPolicy.parse(routeId, entry.substring(eq + 1)));
+            }
+        }
+        if (!trustIdentityHeaders && (defaultPolicy.getKeyType() != RateLimitPolicy.KeyType.IP
+                || routePolicies.values().stream().anyMatch(policy -> policy.getKeyType() != RateLimitPolicy.KeyType.IP))) {
+            logger.warn("Rate limit policies keyed by api_key or user use the client IP: identity headers are not trusted "
+                    + "(gateway.rate-limit.trust-identity-headers=false)");
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RateLimitPolicy policy = route != null ? routePolicies.getOrDefault(route.getId(), defaultPolicy) : defaultPolicy;
+        return limit(policy, exchange, () -> chain.filter(exchange));
+    }
+
+    // Also used by LocalEndpointRateLimitFilter for endpoints the gateway answers itself
+    Mono<Void> limit(RateLimitPolicy policy, ServerWebExchange exchange, Supplier<Mono<Void>> proceed) {
+        if (!enabled) {
+            return proceed.get();
+        }
+        long result = keyTable.tryAcquire(policy, resolveKey(policy, exchange.getRequest()), System.nanoTime());
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set("RateLimit-Limit", String.valueOf(policy.getBurst()));
+        if (result >= 0) {
+            count(policy, "allowed");
+            headers.set("RateLimit-Remaining", String.valueOf(result));
+            headers.set("RateLimit-Reset", String.valueOf(ceilSeconds((policy.getBurst() - result) * policy.getEmissionIntervalNanos())));
+            return proceed.get();
+        }
+        count(policy, "rejected");
+        long retryAfterNanos = -(result + 1);
+        headers.set("RateLimit-Remaining", "0");
+        headers.set("RateLimit-Reset", String.valueOf(ceilSeconds(policy.getBurstWindowNanos())));
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ceilSeconds(retryAfterNanos))));
+        return reject(exchange.getResponse());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private String resolveKey(RateLimitPolicy policy, ServerHttpRequest request) {
+        if (!trustIdentityHeaders) {
+            return "ip:" + clientIp(request);
+        }
+        if (policy.getKeyType() == RateLimitPolicy.KeyType.API_KEY) {
+            String apiKey = request.getHeaders().getFirst(API_KEY_HEADER);
+            if (apiKey != null && !apiKey.isBlank()) {
+                return "key:" + apiKey;
+            }
+        } else if (policy.getKeyType() == RateLimitPolicy.KeyType.USER) {
+            String userId = request.getHeaders().getFirst(USER_ID_HEADER);
+            if (userId != null && !userId.isBlank()) {
+                return "user:" + userId;
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(ServerHttpRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeaders().getFirst("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma > 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown";
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory()
+                .wrap("{\"error\":\"Rate limit exceeded\"}".getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    private void count(RateLimitPolicy policy, String outcome) {
+        counters.computeIfAbsent(policy.getName() + ":" + outcome, name -> Counter.builder("gateway.ratelimit.requests")
+                .description("Requests checked by the gateway rate limiter")
+                .tag("policy", policy.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+}
\ No newline at end of file
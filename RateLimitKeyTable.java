@@ -0,0 +1,91 @@
+package com.ecommerce.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Buckets for every (policy, client key) pair seen recently, capped at {@code max-keys}. Full
+ * buckets hold no state and are swept out periodically; if the table still reaches the cap,
+ * arbitrary buckets are dropped, which at worst hands those clients a fresh burst.
+ */
+@Component
+public class RateLimitKeyTable {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    // Buckets only count tokens for RedisQuotaSync when it runs to collect them
+    @Value("${gateway.rate-limit.redis-sync.enabled:false}")
+    private boolean redisSyncEnabled;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Counter evictions;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("gateway.ratelimit.keys", buckets, Map::size)
+                .description("Rate limit buckets held in memory")
+                .register(meterRegistry);
+        evictions = Counter.builder("gateway.ratelimit.evictions")
+                .description("Buckets dropped while still refilling because the key table was full")
+                .register(meterRegistry);
+    }
+
+    // Remaining tokens if allowed, otherwise -(nanos until a token is available) - 1
+    public long tryAcquire(RateLimitPolicy policy, String clientKey, long nowNanos) {
+        String key = policy.getName() + '|' + clientKey;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                makeRoom(nowNanos);
+            }
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket(policy, nowNanos, redisSyncEnabled));
+        }
+        return bucket.tryAcquire(nowNanos);
+    }
+
+    void forEach(BiConsumer<String, TokenBucket> action) {
+        buckets.forEach(action);
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.sweep-interval-ms:10000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private void makeRoom(long nowNanos) {
+        // One thread evicts; the others insert anyway and overshoot the cap briefly
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+            int target = maxKeys - Math.max(1, maxKeys / 10);
+            Iterator<TokenBucket> iterator = buckets.values().iterator();
+            while (buckets.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
\ No newline at end of file
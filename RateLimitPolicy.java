@@ -0,0 +1,58 @@
+package com.ecommerce.gateway.ratelimit;
+
+/**
+ * Limit applied to every key on one route: {@code ratePerSecond} sustained, with bursts of up to
+ * {@code burst} requests. Parsed from {@code <rate>:<burst>:<key type>}, e.g. {@code 20:40:user}.
+ */
+public final class RateLimitPolicy {
+
+    public enum KeyType {
+        // X-API-Key header, falling back to the client IP
+        API_KEY,
+        // X-User-Id header, falling back to the client IP
+        USER,
+        IP
+    }
+
+    private final String name;
+    private final double ratePerSecond;
+    private final int burst;
+    private final KeyType keyType;
+    // Nanoseconds between requests at the sustained rate
+    private final long emissionIntervalNanos;
+
+    public RateLimitPolicy(String name, double ratePerSecond, int burst, KeyType keyType) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit policy " + name + " needs a positive rate and burst");
+        }
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.keyType = keyType;
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+    }
+
+    public static RateLimitPolicy parse(String name, String spec) {
+        String[] parts = spec.trim().split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw new IllegalArgumentException("Rate limit policy " + name + " must be <rate>:<burst>[:<key type>]: " + spec);
+        }
+        KeyType keyType = parts.length == 3
+                ? KeyType.valueOf(parts[2].trim().toUpperCase().replace('-', '_'))
+                : KeyType.IP;
+        return new RateLimitPolicy(name, Double.parseDouble(parts[0].trim()), Integer.parseInt(parts[1].trim()), keyType);
+    }
+
+    public String getName() { return name; }
+
+    public double getRatePerSecond() { return ratePerSecond; }
+
+    public int getBurst() { return burst; }
+
+    public KeyType getKeyType() { return keyType; }
+
+    public long getEmissionIntervalNanos() { return emissionIntervalNanos; }
+
+    // How long an idle bucket takes to refill completely
+    public long getBurstWindowNanos() { return emissionIntervalNanos * burst; }
+}
\ No newline at end of file
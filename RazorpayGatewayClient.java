@@ -0,0 +1,289 @@
+package com.ecommerce.payment.gateway;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking client for the Razorpay REST API. Calls share one keep-alive connection pool,
+ * each operation has its own timeout, at most {@code max-concurrent-calls} are in flight
+ * (excess calls fail fast instead of queueing) and a circuit breaker stops calling a gateway
+ * that keeps timing out or returning 5xx.
+ */
+@Component
+public class RazorpayGatewayClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(RazorpayGatewayClient.class);
+
+    public enum Operation {
+        CREATE_ORDER, FETCH_ORDER, CAPTURE_PAYMENT, FETCH_PAYMENT, CREATE_REFUND
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${razorpay.base-url:https://api.razorpay.com/v1}")
+    private String baseUrl;
+
+    @Value("${razorpay.key-id}")
+    private String keyId;
+
+    @Value("${razorpay.key-secret}")
+    private String keySecret;
+
+    @Value("${razorpay.client.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${razorpay.client.fetch-timeout:3s}")
+    private Duration fetchTimeout;
+
+    @Value("${razorpay.client.create-order-timeout:8s}")
+    private Duration createOrderTimeout;
+
+    @Value("${razorpay.client.capture-timeout:10s}")
+    private Duration captureTimeout;
+
+    @Value("${razorpay.client.refund-timeout:10s}")
+    private Duration refundTimeout;
+
+    @Value("${razorpay.client.max-concurrent-calls:64}")
+    private int maxConcurrentCalls;
+
+    @Value("${razorpay.client.io-threads:4}")
+    private int ioThreads;
+
+    @Value("${razorpay.client.circuit-breaker.window-size:50}")
+    private int breakerWindowSize;
+
+    @Value("${razorpay.client.circuit-breaker.minimum-calls:20}")
+    private int breakerMinimumCalls;
+
+    @Value("${razorpay.client.circuit-breaker.failure-rate-threshold:0.5}")
+    private double breakerFailureRateThreshold;
+
+    @Value("${razorpay.client.circuit-breaker.open-duration:30s}")
+    private Duration breakerOpenDuration;
+
+    private final Map<Operation, Duration> timeouts = new EnumMap<>(Operation.class);
+
+    private ExecutorService executor;
+    private HttpClient httpClient;
+    private Semaphore bulkhead;
+    private GatewayCircuitBreaker circuitBreaker;
+    private String authorization;
+
+    @PostConstruct
+    void init() {
+        timeouts.put(Operation.CREATE_ORDER, createOrderTimeout);
+        timeouts.put(Operation.FETCH_ORDER, fetchTimeout);
+        timeouts.put(Operation.CAPTURE_PAYMENT, captureTimeout);
+        timeouts.put(Operation.FETCH_PAYMENT, fetchTimeout);
+        timeouts.put(Operation.CREATE_REFUND, refundTimeout);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(ioThreads, runnable -> {
+            Thread thread = new Thread(runnable, "razorpay-io-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+
+        bulkhead = new Semaphore(maxConcurrentCalls);
+        circuitBreaker = new GatewayCircuitBreaker(breakerWindowSize, breakerMinimumCalls,
+                breakerFailureRateThreshold, breakerOpenDuration);
+        authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((keyId + ":" + keySecret).getBytes(StandardCharsets.UTF_8));
+
+        logger.info("Razorpay gateway client targeting {} (max {} concurrent calls)", baseUrl, maxConcurrentCalls);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public CompletableFuture<JSONObject> createOrder(BigDecimal amount, String currency, String receipt) {
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", toPaise(amount));
+        orderRequest.put("currency", currency);
+        orderRequest.put("receipt", receipt);
+        orderRequest.put("payment_capture", 1);
+        return post(Operation.CREATE_ORDER, "/orders", orderRequest);
+    }
+
+    public CompletableFuture<JSONObject> fetchOrder(String orderId) {
+        return get(Operation.FETCH_ORDER, "/orders/" + orderId);
+    }
+
+    // Orders created with this receipt, newest first, under "items"
+    public CompletableFuture<JSONObject> findOrdersByReceipt(String receipt) {
+        return get(Operation.FETCH_ORDER, "/orders?receipt=" + URLEncoder.encode(receipt, StandardCharsets.UTF_8));
+    }
+
+    public CompletableFuture<JSONObject> capturePayment(String paymentId, BigDecimal amount) {
+        JSONObject captureRequest = new JSONObject();
+        captureRequest.put("amount", toPaise(amount));
+        captureRequest.put("currency", "INR");
+        return post(Operation.CAPTURE_PAYMENT, "/payments/" + paymentId + "/capture", captureRequest);
+    }
+
+    public CompletableFuture<JSONObject> fetchPayment(String paymentId) {
+        return get(Operation.FETCH_PAYMENT, "/payments/" + paymentId);
+    }
+
+    // The receipt lets a refund whose response was lost be found again with fetchRefunds
+    public CompletableFuture<JSONObject> createRefund(String paymentId, BigDecimal amount, String receipt) {
+        JSONObject refundRequest = new JSONObject();
+        refundRequest.put("amount", toPaise(amount));
+        refundRequest.put("receipt", receipt);
+        return post(Operation.CREATE_REFUND, "/payments/" + paymentId + "/refund", refundRequest);
+    }
+
+    public CompletableFuture<JSONObject> fetchRefunds(String paymentId) {
+        return get(Operation.FETCH_PAYMENT, "/payments/" + paymentId + "/refunds");
+    }
+
+    public GatewayCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getAvailableCallPermits() {
+        return bulkhead.availablePermits();
+    }
+
+    private CompletableFuture<JSONObject> get(Operation operation, String path) {
+        return send(operation, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private CompletableFuture<JSONObject> post(Operation operation, String path, JSONObject body) {
+        return send(operation, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())));
+    }
+
+    private CompletableFuture<JSONObject> send(Operation operation, HttpRequest.Builder requestBuilder) {
+        if (!bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RazorpayGatewayException(
+                    RazorpayGatewayException.Reason.BULKHEAD_FULL, operation + " rejected: too many gateway calls in flight"));
+        }
+        GatewayCircuitBreaker.Permit permit = circuitBreaker.tryAcquirePermission();
+        if (permit == null) {
+            bulkhead.release();
+            return CompletableFuture.failedFuture(new RazorpayGatewayException(
+                    RazorpayGatewayException.Reason.CIRCUIT_OPEN, operation + " rejected: gateway circuit is open"));
+        }
+
+        Duration timeout = timeouts.get(operation);
+        HttpRequest request = requestBuilder
+                .timeout(timeout)
+                .header("Authorization", authorization)
+                .build();
+
+        long startNanos = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw translate(operation, error);
+                    }
+                    return parse(operation, response);
+                })
+                .whenComplete((body, error) -> {
+                    bulkhead.release();
+                    recordCall(operation, error, System.nanoTime() - startNanos);
+                    if (error != null && unwrap(error).countsAsGatewayFailure()) {
+                        circuitBreaker.onFailure(permit);
+                    } else {
+                        circuitBreaker.onSuccess(permit);
+                    }
+                });
+    }
+
+    // Only calls that reached the gateway; bulkhead and circuit rejections are not latency
+    private void recordCall(Operation operation, Throwable error, long elapsedNanos) {
+        String outcome = error == null ? "success" : unwrap(error).getReason().name().toLowerCase();
+        Timer.builder("razorpay.calls")
+                .tag("operation", operation.name().toLowerCase())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private JSONObject parse(Operation operation, HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            try {
+                return new JSONObject(response.body());
+            } catch (JSONException e) {
+                throw new RazorpayGatewayException(RazorpayGatewayException.Reason.UNAVAILABLE, status,
+                        operation + " returned an unreadable body", e);
+            }
+        }
+        RazorpayGatewayException.Reason reason = status >= 400 && status < 500
+                ? RazorpayGatewayException.Reason.REJECTED
+                : RazorpayGatewayException.Reason.UNAVAILABLE;
+        throw new RazorpayGatewayException(reason, status, operation + " failed with HTTP " + status + ": " + response.body(), null);
+    }
+
+    private RazorpayGatewayException translate(Operation operation, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RazorpayGatewayException gatewayException) {
+            return gatewayException;
+        }
+        if (cause instanceof TimeoutException || cause instanceof HttpTimeoutException) {
+            return new RazorpayGatewayException(RazorpayGatewayException.Reason.TIMEOUT, 0,
+                    operation + " timed out after " + timeouts.get(operation).toMillis() + "ms", cause);
+        }
+        if (cause instanceof IOException) {
+            return new RazorpayGatewayException(RazorpayGatewayException.Reason.UNAVAILABLE, 0,
+                    operation + " failed: " + cause.getMessage(), cause);
+        }
+        return new RazorpayGatewayException(RazorpayGatewayException.Reason.UNAVAILABLE, 0,
+                operation + " failed unexpectedly", cause);
+    }
+
+    public static RazorpayGatewayException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RazorpayGatewayException gatewayException
+                ? gatewayException
+                : new RazorpayGatewayException(RazorpayGatewayException.Reason.UNAVAILABLE, 0, cause.getMessage(), cause);
+    }
+
+    private static long toPaise(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.ecommerce.payment.gateway;
+
+public class RazorpayGatewayException extends RuntimeException {
+
+    public enum Reason {
+        // The gateway answered with a 4xx; retrying the same request will not help
+        REJECTED,
+        // 5xx, connection error or malformed response
+        UNAVAILABLE,
+        TIMEOUT,
+        BULKHEAD_FULL,
+        CIRCUIT_OPEN
+    }
+
+    private final Reason reason;
+    private final int statusCode;
+
+    public RazorpayGatewayException(Reason reason, String message) {
+        this(reason, 0, message, null);
+    }
+
+    public RazorpayGatewayException(Reason reason, int statusCode, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+        this.statusCode = statusCode;
+    }
+
+    public Reason getReason() { return reason; }
+
+    public int getStatusCode() { return statusCode; }
+
+    // Whether this failure says something about gateway health
+    public boolean countsAsGatewayFailure() {
+        return reason == Reason.UNAVAILABLE || reason == Reason.TIMEOUT;
+    }
+}
\ No newline at end of file
@@ -1,22 +1,21 @@
 package com.ecommerce.payment.service;
 
 import com.ecommerce.payment.entity.Payment;
+import com.ecommerce.payment.gateway.RazorpayGatewayClient;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import com.razorpay.Utils;
+import jakarta.annotation.PostConstruct;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.math.BigDecimal;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.util.Formatter;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class RazorpayService {
@@ -29,9 +28,17 @@ public class RazorpayService {
     @Value("${razorpay.key-secret}")
     private String keySecret;
 
+    @Autowired
+    private RazorpayGatewayClient gatewayClient;
+
     private RazorpayClient razorpayClient;
 
-    public RazorpayService() {
+    private PaymentSignatureVerifier signatureVerifier;
+
+    // Runs after @Value injection; a constructor would see null credentials
+    @PostConstruct
+    void initClient() {
+        this.signatureVerifier = new PaymentSignatureVerifier(keySecret);
         try {
             this.razorpayClient = new RazorpayClient(keyId, keySecret);
         } catch (RazorpayException e) {
@@ -62,14 +69,7 @@ public class RazorpayService {
     }
 
     public boolean verifyPaymentSignature(String orderId, String paymentId, String signature) {
-        try {
-            String payload = orderId + "|" + paymentId;
-            String expectedSignature = calculateHmacSHA256(payload, keySecret);
-            return expectedSignature.equals(signature);
-        } catch (Exception e) {
-            logger.error("Error verifying payment signature: {}", e.getMessage());
-            return false;
-        }
+        return signatureVerifier.verify(orderId, paymentId, signature);
     }
 
     public com.razorpay.Refund createRefund(String paymentId, BigDecimal amount) throws RazorpayException {
@@ -83,19 +83,25 @@ public class RazorpayService {
         return razorpayClient.orders.fetch(orderId);
     }
 
-    private String calculateHmacSHA256(String data, String key) throws NoSuchAlgorithmException, InvalidKeyException {
-        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(), "HmacSHA256");
-        Mac mac = Mac.getInstance("HmacSHA256");
-        mac.init(secretKeySpec);
-        byte[] hash = mac.doFinal(data.getBytes());
-        
-        Formatter formatter = new Formatter();
-        for (byte b : hash) {
-            formatter.format("%02x", b);
-        }
-        String result = formatter.toString();
-        formatter.close();
-        return result;
+    // Non-blocking variants: bounded by per-operation timeouts, a concurrency bulkhead and a circuit breaker
+    public CompletableFuture<JSONObject> createOrderAsync(BigDecimal amount, String currency, String receipt) {
+        return gatewayClient.createOrder(amount, currency, receipt);
+    }
+
+    public CompletableFuture<JSONObject> capturePaymentAsync(String paymentId, BigDecimal amount) {
+        return gatewayClient.capturePayment(paymentId, amount);
+    }
+
+    public CompletableFuture<JSONObject> fetchPaymentAsync(String paymentId) {
+        return gatewayClient.fetchPayment(paymentId);
+    }
+
+    public CompletableFuture<JSONObject> fetchOrderAsync(String orderId) {
+        return gatewayClient.fetchOrder(orderId);
+    }
+
+    public CompletableFuture<JSONObject> createRefundAsync(String paymentId, BigDecimal amount, String receipt) {
+        return gatewayClient.createRefund(paymentId, amount, receipt);
     }
 
     public boolean validateWebhookSignature(String payload, String signature, String secret) {
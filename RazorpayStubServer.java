@@ -0,0 +1,235 @@
+package com.ecommerce.payment.gateway;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-in for the Razorpay orders/payments/refunds endpoints, started with the
+ * {@code razorpay-stub} profile. Point {@code razorpay.base-url} at {@code http://localhost:<port>/v1}.
+ *
+ * Latency and faults can be changed at runtime for tests:
+ * {@code POST /__stub/faults?latencyMs=200&jitterMs=50&failureRate=0.1&hangRate=0.01}.
+ * Payment state can be seeded with {@code POST /__stub/payments} and a Razorpay payment entity body.
+ */
+@Component
+@Profile("razorpay-stub")
+public class RazorpayStubServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RazorpayStubServer.class);
+
+    @Value("${razorpay.stub.port:8099}")
+    private int port;
+
+    @Value("${razorpay.stub.latency-ms:0}")
+    private volatile long latencyMs;
+
+    @Value("${razorpay.stub.jitter-ms:0}")
+    private volatile long jitterMs;
+
+    // Fraction of requests answered with 503
+    @Value("${razorpay.stub.failure-rate:0}")
+    private volatile double failureRate;
+
+    // Fraction of requests that never answer within any client timeout
+    @Value("${razorpay.stub.hang-rate:0}")
+    private volatile double hangRate;
+
+    private final Map<String, JSONObject> orders = new ConcurrentHashMap<>();
+    private final Map<String, JSONObject> payments = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(port), 512);
+        server.setExecutor(executor);
+        server.createContext("/v1/", this::handleApi);
+        server.createContext("/__stub/", this::handleAdmin);
+        server.start();
+        logger.info("Razorpay stub listening on http://localhost:{}/v1", port);
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        try {
+            if (injectFault(exchange)) {
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().substring("/v1/".length()).split("/");
+            JSONObject body = "POST".equals(method) ? readBody(exchange) : new JSONObject();
+
+            if (path[0].equals("orders") && path.length == 1 && "POST".equals(method)) {
+                respond(exchange, 200, createOrder(body));
+            } else if (path[0].equals("orders") && path.length == 2) {
+                respondOrNotFound(exchange, orders.get(path[1]), path[1]);
+            } else if (path[0].equals("payments") && path.length == 2) {
+                respondOrNotFound(exchange, payments.get(path[1]), path[1]);
+            } else if (path[0].equals("payments") && path.length == 3 && path[2].equals("capture")) {
+                respond(exchange, 200, updatePayment(path[1], body.optLong("amount"), "captured"));
+            } else if (path[0].equals("payments") && path.length == 3 && path[2].equals("refund")) {
+                JSONObject payment = updatePayment(path[1], body.optLong("amount"), "refunded");
+                respond(exchange, 200, new JSONObject()
+                        .put("id", "rfnd_" + shortId())
+                        .put("entity", "refund")
+                        .put("payment_id", path[1])
+                        .put("amount", body.optLong("amount", payment.optLong("amount")))
+                        .put("status", "processed")
+                        .put("created_at", now()));
+            } else {
+                respond(exchange, 404, error("BAD_REQUEST_ERROR", "The requested URL was not found on the server."));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleAdmin(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/__stub/faults")) {
+                Map<String, String> params = queryParams(exchange.getRequestURI());
+                latencyMs = Long.parseLong(params.getOrDefault("latencyMs", String.valueOf(latencyMs)));
+                jitterMs = Long.parseLong(params.getOrDefault("jitterMs", String.valueOf(jitterMs)));
+                failureRate = Double.parseDouble(params.getOrDefault("failureRate", String.valueOf(failureRate)));
+                hangRate = Double.parseDouble(params.getOrDefault("hangRate", String.valueOf(hangRate)));
+                respond(exchange, 200, new JSONObject()
+                        .put("latencyMs", latencyMs).put("jitterMs", jitterMs)
+                        .put("failureRate", failureRate).put("hangRate", hangRate));
+            } else if (path.equals("/__stub/payments")) {
+                JSONObject payment = readBody(exchange);
+                payment.put("entity", "payment");
+                payments.put(payment.getString("id"), payment);
+                respond(exchange, 200, payment);
+            } else {
+                respond(exchange, 404, error("BAD_REQUEST_ERROR", "Unknown stub endpoint"));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean injectFault(HttpExchange exchange) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+        if (random.nextDouble() < hangRate) {
+            delay = Math.max(delay, 120_000);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+        if (random.nextDouble() < failureRate) {
+            respond(exchange, 503, error("SERVER_ERROR", "Injected failure"));
+            return true;
+        }
+        return false;
+    }
+
+    private JSONObject createOrder(JSONObject request) {
+        JSONObject order = new JSONObject()
+                .put("id", "order_" + shortId())
+                .put("entity", "order")
+                .put("amount", request.optLong("amount"))
+                .put("amount_paid", 0)
+                .put("amount_due", request.optLong("amount"))
+                .put("currency", request.optString("currency", "INR"))
+                .put("receipt", request.optString("receipt", null))
+                .put("status", "created")
+                .put("attempts", 0)
+                .put("created_at", now());
+        orders.put(order.getString("id"), order);
+        return order;
+    }
+
+    private JSONObject updatePayment(String paymentId, long amount, String status) {
+        return payments.compute(paymentId, (id, existing) -> {
+            JSONObject payment = existing != null ? existing : new JSONObject()
+                    .put("id", id)
+                    .put("entity", "payment")
+                    .put("amount", amount)
+                    .put("currency", "INR")
+                    .put("created_at", now());
+            return payment.put("status", status);
+        });
+    }
+
+    private void respondOrNotFound(HttpExchange exchange, JSONObject entity, String id) throws IOException {
+        if (entity == null) {
+            respond(exchange, 400, error("BAD_REQUEST_ERROR", "The id provided does not exist: " + id));
+        } else {
+            respond(exchange, 200, entity);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, JSONObject body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static JSONObject readBody(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        return body.isBlank() ? new JSONObject() : new JSONObject(body);
+    }
+
+    private static JSONObject error(String code, String description) {
+        return new JSONObject().put("error", new JSONObject().put("code", code).put("description", description));
+    }
+
+    private static Map<String, String> queryParams(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        if (uri.getQuery() != null) {
+            for (String pair : uri.getQuery().split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+        }
+        return params;
+    }
+
+    private static String shortId() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 14);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.ecommerce.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Read-your-writes stickiness for replica routing. A client whose request committed a write to
+ * the primary gets a short-lived cookie, and its requests carrying that cookie read from the
+ * primary until it expires, so nobody sees their own change missing while the replica catches
+ * up. The cookie's expiry is signed with an HMAC, so a client cannot pin itself to the primary
+ * by sending a far-future value. Pinning only applies inside a request this filter is handling;
+ * startup, scheduled and listener threads are never pinned, since nothing clears the pin on
+ * threads the filter does not run on.
+ */
+public class ReadYourWritesTracker extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadYourWritesTracker.class);
+
+    static final String COOKIE_NAME = "db-primary-until";
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final String WRITE_RECORDED_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".WRITE_RECORDED";
+
+    // Null outside a filtered request, otherwise whether this request reads from the primary
+    private final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+    private final Duration window;
+    private final SecretKeySpec signingKey;
+
+    // Every instance must share the secret, or a cookie set by one is ignored by the others
+    public ReadYourWritesTracker(Duration window, String secret) {
+        this.window = window;
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            logger.warn("No read-your-writes secret configured; cookies only pin clients to the primary on this instance");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(key, MAC_ALGORITHM);
+    }
+
+    public boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(pinnedToPrimary.get());
+    }
+
+    boolean isInRequest() {
+        return pinnedToPrimary.get() != null;
+    }
+
+    public void recordWrite() {
+        if (pinnedToPrimary.get() == null) {
+            return;
+        }
+        pinnedToPrimary.set(Boolean.TRUE);
+
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted() || request.getAttribute(WRITE_RECORDED_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(WRITE_RECORDED_ATTRIBUTE, Boolean.TRUE);
+
+        String expiry = Long.toString(System.currentTimeMillis() + window.toMillis());
+        Cookie cookie = new Cookie(COOKIE_NAME, expiry + "." + sign(expiry));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.getSeconds()));
+        response.addCookie(cookie);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        pinnedToPrimary.set(hasRecentWrite(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            pinnedToPrimary.remove();
+        }
+    }
+
+    private boolean hasRecentWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return isValid(cookie.getValue());
+            }
+        }
+        return false;
+    }
+
+    private boolean isValid(String value) {
+        int dot = value.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        String expiry = value.substring(0, dot);
+        byte[] signature = value.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(signature, sign(expiry).getBytes(StandardCharsets.US_ASCII))) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(expiry);
+            long now = System.currentTimeMillis();
+            return until > now && until <= now + window.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private String sign(String expiry) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(signingKey);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(expiry.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+        }
+    }
+}
\ No newline at end of file
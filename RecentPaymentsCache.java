@@ -0,0 +1,97 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.payment.dto.PaymentSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Short-lived cache of each user's newest payments, i.e. the first page of their history.
+ * Bounded LRU; entries are dropped once a status change for that user commits, and the TTL
+ * bounds staleness from anything that bypasses the event (a read racing the commit,
+ * another instance's writes).
+ */
+@Component
+public class RecentPaymentsCache {
+
+    public static final class Entry {
+        private final List<PaymentSummary> rows;
+        private final boolean hasMore;
+        private final long expiresAtNanos;
+
+        Entry(List<PaymentSummary> rows, boolean hasMore, long expiresAtNanos) {
+            this.rows = rows;
+            this.hasMore = hasMore;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        public List<PaymentSummary> getRows() { return rows; }
+
+        // More history exists beyond the cached rows
+        public boolean hasMore() { return hasMore; }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entry> entries;
+    private final int rowsPerUser;
+    private final long ttlNanos;
+
+    public RecentPaymentsCache(@Value("${payment.history.recent-cache.capacity:10000}") int capacity,
+                               @Value("${payment.history.recent-cache.rows-per-user:20}") int rowsPerUser,
+                               @Value("${payment.history.recent-cache.ttl:30s}") Duration ttl) {
+        this.rowsPerUser = rowsPerUser;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1 << 12), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public int getRowsPerUser() { return rowsPerUser; }
+
+    public Entry get(Long userId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry != null && System.nanoTime() - entry.expiresAtNanos > 0) {
+                entries.remove(userId);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(Long userId, List<PaymentSummary> rows, boolean hasMore) {
+        Entry entry = new Entry(List.copyOf(rows), hasMore, System.nanoTime() + ttlNanos);
+        lock.lock();
+        try {
+            entries.put(userId, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(Long userId) {
+        lock.lock();
+        try {
+            entries.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PaymentStatusChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+}
\ No newline at end of file
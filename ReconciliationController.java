@@ -0,0 +1,31 @@
+package com.ecommerce.payment.controller;
+
+import com.ecommerce.payment.dto.ReconciliationReport;
+import com.ecommerce.payment.reconciliation.PaymentReconciliationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payments/reconciliation")
+public class ReconciliationController {
+
+    @Autowired
+    private PaymentReconciliationService reconciliationService;
+
+    // Runs in the background; poll /runs/latest for the report
+    @PostMapping("/runs")
+    public ResponseEntity<Void> startRun() {
+        return reconciliationService.startAsync()
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @GetMapping("/runs/latest")
+    public ResponseEntity<ReconciliationReport> getLatestRun() {
+        return reconciliationService.getLatestReport()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.ecommerce.payment.dto;
+
+import com.ecommerce.payment.entity.ReconciliationRun;
+import org.json.JSONObject;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReconciliationReport {
+
+    private Long runId;
+    private ReconciliationRun.RunStatus status;
+    private LocalDateTime cutoff;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long scanned;
+    private long unchanged;
+    private long corrected;
+    private long unresolved;
+    private long errors;
+    private Map<String, Long> corrections;
+    private String lastError;
+    private List<String> samples;
+
+    // Constructors
+    public ReconciliationReport() {}
+
+    public static ReconciliationReport from(ReconciliationRun run, List<String> samples) {
+        ReconciliationReport report = new ReconciliationReport();
+        report.runId = run.getId();
+        report.status = run.getStatus();
+        report.cutoff = run.getCutoff();
+        report.startedAt = run.getStartedAt();
+        report.finishedAt = run.getFinishedAt();
+        report.scanned = run.getScanned();
+        report.unchanged = run.getUnchanged();
+        report.corrected = run.getCorrected();
+        report.unresolved = run.getUnresolved();
+        report.errors = run.getErrors();
+        report.lastError = run.getLastError();
+        report.corrections = new LinkedHashMap<>();
+        if (run.getCorrectionSummary() != null) {
+            JSONObject summary = new JSONObject(run.getCorrectionSummary());
+            for (String transition : summary.keySet()) {
+                report.corrections.put(transition, summary.getLong(transition));
+            }
+        }
+        report.samples = List.copyOf(samples);
+        return report;
+    }
+
+    // Getters and Setters
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public ReconciliationRun.RunStatus getStatus() { return status; }
+    public void setStatus(ReconciliationRun.RunStatus status) { this.status = status; }
+
+    public LocalDateTime getCutoff() { return cutoff; }
+    public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public long getScanned() { return scanned; }
+    public void setScanned(long scanned) { this.scanned = scanned; }
+
+    public long getUnchanged() { return unchanged; }
+    public void setUnchanged(long unchanged) { this.unchanged = unchanged; }
+
+    public long getCorrected() { return corrected; }
+    public void setCorrected(long corrected) { this.corrected = corrected; }
+
+    public long getUnresolved() { return unresolved; }
+    public void setUnresolved(long unresolved) { this.unresolved = unresolved; }
+
+    public long getErrors() { return errors; }
+    public void setErrors(long errors) { this.errors = errors; }
+
+    public Map<String, Long> getCorrections() { return corrections; }
+    public void setCorrections(Map<String, Long> corrections) { this.corrections = corrections; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public List<String> getSamples() { return samples; }
+    public void setSamples(List<String> samples) { this.samples = samples; }
+}
\ No newline at end of file
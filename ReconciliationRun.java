@@ -0,0 +1,130 @@
+package com.ecommerce.payment.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reconciliation_runs")
+public class ReconciliationRun {
+
+    // Sequence pooling buys nothing for one row per run
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RunStatus status;
+
+    // Only payments untouched since before this instant are candidates; fixed for the whole run
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    // Keyset position: the last (updatedAt, id) whose corrections have been committed
+    @Column(nullable = false)
+    private LocalDateTime cursorUpdatedAt;
+
+    @Column(nullable = false)
+    private Long cursorId;
+
+    private long scanned;
+    private long unchanged;
+    private long corrected;
+    private long unresolved;
+    private long errors;
+
+    // JSON object of "FROM->TO" transition counts
+    @Column(columnDefinition = "TEXT")
+    private String correctionSummary;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime checkpointedAt;
+    private LocalDateTime finishedAt;
+
+    // Instance working on the run and until when; another instance may take it over once the lease lapses
+    @Column(length = 200)
+    private String owner;
+    private LocalDateTime leaseUntil;
+
+    // 1 while RUNNING, null afterwards: the unique index allows only one RUNNING run across all instances
+    @Column(unique = true)
+    private Integer activeSlot;
+
+    // Constructors
+    public ReconciliationRun() {}
+
+    public ReconciliationRun(LocalDateTime cutoff, LocalDateTime cursorUpdatedAt, LocalDateTime startedAt) {
+        this.status = RunStatus.RUNNING;
+        this.cutoff = cutoff;
+        this.cursorUpdatedAt = cursorUpdatedAt;
+        this.cursorId = 0L;
+        this.startedAt = startedAt;
+        this.activeSlot = 1;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public RunStatus getStatus() { return status; }
+    public void setStatus(RunStatus status) { this.status = status; }
+
+    public LocalDateTime getCutoff() { return cutoff; }
+    public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+
+    public LocalDateTime getCursorUpdatedAt() { return cursorUpdatedAt; }
+    public void setCursorUpdatedAt(LocalDateTime cursorUpdatedAt) { this.cursorUpdatedAt = cursorUpdatedAt; }
+
+    public Long getCursorId() { return cursorId; }
+    public void setCursorId(Long cursorId) { this.cursorId = cursorId; }
+
+    public long getScanned() { return scanned; }
+    public void setScanned(long scanned) { this.scanned = scanned; }
+
+    public long getUnchanged() { return unchanged; }
+    public void setUnchanged(long unchanged) { this.unchanged = unchanged; }
+
+    public long getCorrected() { return corrected; }
+    public void setCorrected(long corrected) { this.corrected = corrected; }
+
+    public long getUnresolved() { return unresolved; }
+    public void setUnresolved(long unresolved) { this.unresolved = unresolved; }
+
+    public long getErrors() { return errors; }
+    public void setErrors(long errors) { this.errors = errors; }
+
+    public String getCorrectionSummary() { return correctionSummary; }
+    public void setCorrectionSummary(String correctionSummary) { this.correctionSummary = correctionSummary; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCheckpointedAt() { return checkpointedAt; }
+    public void setCheckpointedAt(LocalDateTime checkpointedAt) { this.checkpointedAt = checkpointedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public LocalDateTime getLeaseUntil() { return leaseUntil; }
+    public void setLeaseUntil(LocalDateTime leaseUntil) { this.leaseUntil = leaseUntil; }
+
+    public Integer getActiveSlot() { return activeSlot; }
+    public void setActiveSlot(Integer activeSlot) { this.activeSlot = activeSlot; }
+
+    // Enums
+    public enum RunStatus {
+        RUNNING, COMPLETED
+    }
+}
\ No newline at end of file
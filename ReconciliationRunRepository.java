@@ -0,0 +1,35 @@
+package com.ecommerce.payment.repository;
+
+import com.ecommerce.payment.entity.ReconciliationRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    Optional<ReconciliationRun> findFirstByStatusOrderByIdDesc(ReconciliationRun.RunStatus status);
+
+    Optional<ReconciliationRun> findFirstByOrderByIdDesc();
+
+    // Succeeds for the current owner, or for anyone once the lease has lapsed
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReconciliationRun r SET r.owner = :owner, r.leaseUntil = :leaseUntil " +
+           "WHERE r.id = :id AND r.status = com.ecommerce.payment.entity.ReconciliationRun.RunStatus.RUNNING " +
+           "AND (r.owner = :owner OR r.leaseUntil IS NULL OR r.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Locks the row for the caller's transaction; 0 once another instance has taken the run over
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReconciliationRun r SET r.leaseUntil = :leaseUntil WHERE r.id = :id AND r.owner = :owner")
+    int renewLease(@Param("id") Long id, @Param("owner") String owner, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.ecommerce.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns the per-instance buckets into an approximate cluster-wide limit without a Redis call per
+ * request. Every sync interval each instance adds the tokens it handed out to a per-key counter in
+ * Redis and charges its local bucket with whatever the other instances added since the last sync.
+ * Between syncs the cluster can overshoot by at most one interval's worth of traffic per instance.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limit.redis-sync.enabled", havingValue = "true")
+public class RedisQuotaSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisQuotaSync.class);
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    @Autowired
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RateLimitKeyTable keyTable;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.rate-limit.redis-sync.timeout:2s}")
+    private Duration timeout;
+
+    @Value("${gateway.rate-limit.redis-sync.concurrency:64}")
+    private int concurrency;
+
+    private Counter synced;
+    private Counter failed;
+
+    @PostConstruct
+    void init() {
+        synced = Counter.builder("gateway.ratelimit.sync")
+                .description("Bucket counters exchanged with Redis")
+                .tag("outcome", "synced")
+                .register(meterRegistry);
+        failed = Counter.builder("gateway.ratelimit.sync")
+                .description("Bucket counters exchanged with Redis")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.redis-sync.interval-ms:500}")
+    public void sync() {
+        long now = System.nanoTime();
+        List<Mono<Void>> updates = new ArrayList<>();
+        keyTable.forEach((key, bucket) -> {
+            // Idle buckets still poll so they learn about traffic elsewhere before their next local request
+            if (bucket.isFull(now) && bucket.getClusterTotal() >= 0) {
+                return;
+            }
+            long local = bucket.drainUnsynced();
+            String redisKey = KEY_PREFIX + key;
+            Duration ttl = Duration.ofNanos(Math.max(bucket.getPolicy().getBurstWindowNanos() * 2, Duration.ofMinutes(1).toNanos()));
+            updates.add(redisTemplate.opsForValue().increment(redisKey, local)
+                    .flatMap(total -> redisTemplate.expire(redisKey, ttl).thenReturn(total))
+                    .doOnNext(total -> {
+                        long previous = bucket.getClusterTotal();
+                        // The first sync only sets the baseline; history before it is not charged
+                        if (previous >= 0) {
+                            bucket.charge(total - previous - local, System.nanoTime());
+                        }
+                        bucket.setClusterTotal(total);
+                        synced.increment();
+                    })
+                    .onErrorResume(e -> {
+                        bucket.restoreUnsynced(local);
+                        failed.increment();
+                        return Mono.empty();
+                    })
+                    .then());
+        });
+        if (updates.isEmpty()) {
+            return;
+        }
+        try {
+            Flux.fromIterable(updates).flatMap(update -> update, concurrency).then().block(timeout);
+        } catch (RuntimeException e) {
+            logger.warn("Rate limit sync with Redis did not finish: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
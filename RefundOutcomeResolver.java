@@ -0,0 +1,46 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.payment.gateway.RazorpayGatewayClient;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+// Looks for the refund among the payment's refunds by the receipt it was created with
+@Component
+public class RefundOutcomeResolver implements UnknownOutcomeResolver {
+
+    @Autowired
+    private RazorpayGatewayClient gatewayClient;
+
+    public static JSONObject describe(String paymentId, BigDecimal amount, String receipt) {
+        return new JSONObject()
+                .put("paymentId", paymentId)
+                .put("amount", amount.toPlainString())
+                .put("receipt", receipt);
+    }
+
+    @Override
+    public RazorpayGatewayClient.Operation operation() {
+        return RazorpayGatewayClient.Operation.CREATE_REFUND;
+    }
+
+    @Override
+    public Optional<JSONObject> resolve(JSONObject request) {
+        JSONArray refunds = gatewayClient.fetchRefunds(request.getString("paymentId")).join()
+                .optJSONArray("items");
+        if (refunds != null) {
+            String receipt = request.getString("receipt");
+            for (int i = 0; i < refunds.length(); i++) {
+                JSONObject refund = refunds.getJSONObject(i);
+                if (receipt.equals(refund.optString("receipt", null))) {
+                    return Optional.of(refund);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
\ No newline at end of file
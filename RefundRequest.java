@@ -0,0 +1,24 @@
+package com.ecommerce.payment.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public class RefundRequest {
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "1.00", message = "Amount must be at least 1.00")
+    private BigDecimal amount;
+
+    // Constructors
+    public RefundRequest() {}
+
+    public RefundRequest(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
\ No newline at end of file
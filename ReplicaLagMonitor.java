@@ -0,0 +1,94 @@
+package com.ecommerce.common.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replication status and reports whether it is fresh enough to serve reads.
+ * Until the first successful check, and whenever the check fails, reads go to the primary.
+ */
+public class ReplicaLagMonitor implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final boolean allowStandalone;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean replicaUsable = false;
+    private volatile long lastLagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, Duration checkInterval, boolean allowStandalone) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.allowStandalone = allowStandalone;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    void check() {
+        boolean usable;
+        try {
+            List<Map<String, Object>> status = replicaJdbcTemplate.queryForList("SHOW REPLICA STATUS");
+            if (status.isEmpty()) {
+                // Not configured as a replica; only acceptable for local two-instance testing
+                lastLagSeconds = 0;
+                usable = allowStandalone;
+            } else {
+                Object lag = status.get(0).get("Seconds_Behind_Source");
+                if (lag == null) {
+                    lag = status.get(0).get("Seconds_Behind_Master");
+                }
+                // NULL lag means the SQL thread is stopped
+                lastLagSeconds = lag != null ? ((Number) lag).longValue() : -1;
+                usable = lag != null && lastLagSeconds <= maxLag.getSeconds();
+            }
+        } catch (Exception e) {
+            lastLagSeconds = -1;
+            usable = false;
+            logger.debug("Replica status check failed: {}", e.getMessage());
+        }
+
+        if (usable != replicaUsable) {
+            logger.warn("Replica {} for reads (lag {}s, max {}s)",
+                    usable ? "enabled" : "disabled", lastLagSeconds, maxLag.getSeconds());
+        }
+        replicaUsable = usable;
+    }
+}
\ No newline at end of file
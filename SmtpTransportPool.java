@@ -0,0 +1,161 @@
+package com.ecommerce.email.sender;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps up to {@code pool-size} authenticated SMTP connections open and reuses them across
+ * messages, so a burst pays the TCP + TLS + AUTH handshake once per connection rather than
+ * once per email. Connections are recycled after {@code max-messages-per-connection} sends
+ * (many providers cap this) and discarded on any error.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.mail.host:localhost}")
+    private String host;
+
+    @Value("${spring.mail.port:25}")
+    private int port;
+
+    @Value("${spring.mail.username:}")
+    private String username;
+
+    @Value("${spring.mail.password:}")
+    private String password;
+
+    @Value("${spring.mail.properties.mail.smtp.starttls.enable:false}")
+    private boolean startTls;
+
+    @Value("${email.smtp.pool-size:8}")
+    private int poolSize;
+
+    @Value("${email.smtp.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${email.smtp.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${email.smtp.read-timeout:10s}")
+    private Duration readTimeout;
+
+    private Session session;
+    private BlockingQueue<PooledTransport> idle;
+    private Semaphore permits;
+    private final AtomicInteger open = new AtomicInteger();
+
+    private static final class PooledTransport {
+        final Transport transport;
+        int sent;
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        Properties props = new Properties();
+        props.put("mail.transport.protocol", "smtp");
+        props.put("mail.smtp.host", host);
+        props.put("mail.smtp.port", String.valueOf(port));
+        props.put("mail.smtp.auth", String.valueOf(!username.isEmpty()));
+        props.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(connectTimeout.toMillis()));
+        props.put("mail.smtp.timeout", String.valueOf(readTimeout.toMillis()));
+        props.put("mail.smtp.writetimeout", String.valueOf(readTimeout.toMillis()));
+        session = Session.getInstance(props);
+
+        idle = new ArrayBlockingQueue<>(poolSize);
+        permits = new Semaphore(poolSize);
+        Gauge.builder("email.smtp.connections.open", open, AtomicInteger::get)
+                .description("Open pooled SMTP connections")
+                .register(meterRegistry);
+        logger.info("SMTP pool for {}:{} with up to {} connections", host, port, poolSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.poll()) != null) {
+            close(pooled);
+        }
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public void send(MimeMessage message) throws MessagingException, InterruptedException {
+        permits.acquire();
+        PooledTransport pooled = idle.poll();
+        try {
+            if (pooled == null || !pooled.transport.isConnected()) {
+                if (pooled != null) {
+                    close(pooled);
+                    pooled = null;
+                }
+                pooled = connect();
+            }
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            pooled.sent++;
+        } catch (MessagingException | RuntimeException e) {
+            // The connection may be mid-conversation; never hand it to another sender
+            if (pooled != null) {
+                close(pooled);
+            }
+            pooled = null;
+            throw e;
+        } finally {
+            if (pooled != null) {
+                if (pooled.sent >= maxMessagesPerConnection || !idle.offer(pooled)) {
+                    close(pooled);
+                }
+            }
+            permits.release();
+        }
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = session.getTransport();
+        if (username.isEmpty()) {
+            transport.connect();
+        } else {
+            transport.connect(host, port, username, password);
+        }
+        open.incrementAndGet();
+        return new PooledTransport(transport);
+    }
+
+    private void close(PooledTransport pooled) {
+        open.decrementAndGet();
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.ecommerce.order.client;
+
+import java.util.List;
+
+public class StockReservationRequest {
+
+    // Chosen by the caller so a retry or a release after a timeout refers to the same reservation
+    private String reservationId;
+    private List<Line> items;
+
+    public StockReservationRequest() {}
+
+    public StockReservationRequest(String reservationId, List<Line> items) {
+        this.reservationId = reservationId;
+        this.items = items;
+    }
+
+    public String getReservationId() { return reservationId; }
+    public void setReservationId(String reservationId) { this.reservationId = reservationId; }
+
+    public List<Line> getItems() { return items; }
+    public void setItems(List<Line> items) { this.items = items; }
+
+    public static class Line {
+        private Long productId;
+        private Integer quantity;
+
+        public Line() {}
+
+        public Line(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getProductId() { return productId; }
+        public void setProductId(Long productId) { this.productId = productId; }
+
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+    }
+}
\ No newline at end of file
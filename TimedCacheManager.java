@@ -0,0 +1,156 @@
+package com.ecommerce.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps every cache with hit/miss counters ({@code app.cache.gets}) and a load timer
+ * ({@code app.cache.load}). For {@code @Cacheable} the load is the time from the miss to the put
+ * of the same key on the same thread, i.e. the method that computed the value, so it works for
+ * any cache provider without needing its native statistics.
+ */
+public class TimedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TimedCacheManager(CacheManager delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, key -> new TimedCache(target, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    static final class TimedCache implements Cache {
+
+        private final Cache delegate;
+        private final Counter hits;
+        private final Counter misses;
+        private final Timer loads;
+        // Key that missed on this thread and when, until the matching put
+        private final ThreadLocal<Object> missedKey = new ThreadLocal<>();
+        private final ThreadLocal<long[]> missedAt = ThreadLocal.withInitial(() -> new long[1]);
+
+        TimedCache(Cache delegate, MeterRegistry meterRegistry) {
+            this.delegate = delegate;
+            String name = delegate.getName();
+            this.hits = Counter.builder("app.cache.gets").tag("cache", name).tag("result", "hit")
+                    .description("Cache lookups").register(meterRegistry);
+            this.misses = Counter.builder("app.cache.gets").tag("cache", name).tag("result", "miss")
+                    .description("Cache lookups").register(meterRegistry);
+            this.loads = Timer.builder("app.cache.load").tag("cache", name)
+                    .description("Time to compute a value after a miss").register(meterRegistry);
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper value = delegate.get(key);
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                missedKey.set(key);
+                missedAt.get()[0] = System.nanoTime();
+            }
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            T value = delegate.get(key, type);
+            (value != null ? hits : misses).increment();
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            // sync=true caches: the loader only runs on a miss, so time it directly
+            boolean[] loaded = {false};
+            T value = delegate.get(key, () -> {
+                loaded[0] = true;
+                long start = System.nanoTime();
+                try {
+                    return valueLoader.call();
+                } finally {
+                    loads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+            (loaded[0] ? misses : hits).increment();
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            Object missed = missedKey.get();
+            if (missed != null) {
+                missedKey.remove();
+                if (missed.equals(key)) {
+                    loads.record(System.nanoTime() - missedAt.get()[0], TimeUnit.NANOSECONDS);
+                }
+            }
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.ecommerce.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp (the generic cell rate algorithm): {@code tat} is when
+ * the bucket would be full again. Taking a token pushes it one emission interval further; a
+ * request is refused if that would put it more than a full burst window ahead of now. One CAS per
+ * request and no lock, so contended keys never block each other.
+ */
+final class TokenBucket {
+
+    private final RateLimitPolicy policy;
+    private final AtomicLong tat;
+    // Only counted when a cluster sync will drain it; otherwise it would keep the bucket from ever being full
+    private final boolean trackUnsynced;
+    // Tokens taken here since the last cluster sync
+    private final AtomicLong unsynced = new AtomicLong();
+    // Cluster-wide count last read from Redis; -1 until this bucket's first sync. Sync thread only
+    private long clusterTotal = -1;
+
+    TokenBucket(RateLimitPolicy policy, long nowNanos, boolean trackUnsynced) {
+        this.policy = policy;
+        this.tat = new AtomicLong(nowNanos);
+        this.trackUnsynced = trackUnsynced;
+    }
+
+    /**
+     * @return remaining tokens after this request, or {@code -(nanos until one is available) - 1}
+     *         when refused
+     */
+    long tryAcquire(long nowNanos) {
+        long interval = policy.getEmissionIntervalNanos();
+        long window = policy.getBurstWindowNanos();
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + interval;
+            long ahead = next - nowNanos;
+            if (ahead > window) {
+                return -(ahead - window) - 1;
+            }
+            if (tat.compareAndSet(current, next)) {
+                if (trackUnsynced) {
+                    unsynced.incrementAndGet();
+                }
+                return (window - ahead) / interval;
+            }
+        }
+    }
+
+    // Charges tokens taken on other gateway instances; never refuses, only delays refills
+    void charge(long tokens, long nowNanos) {
+        if (tokens <= 0) {
+            return;
+        }
+        long cost = tokens * policy.getEmissionIntervalNanos();
+        // Never more than one burst window ahead, so a flood elsewhere cannot lock this key out for long
+        long limit = nowNanos + policy.getBurstWindowNanos() + policy.getEmissionIntervalNanos();
+        tat.updateAndGet(current -> Math.min(Math.max(current, nowNanos) + cost, limit));
+    }
+
+    long drainUnsynced() {
+        return unsynced.getAndSet(0);
+    }
+
+    // Puts back tokens whose sync failed, so the next sync reports them
+    void restoreUnsynced(long tokens) {
+        unsynced.addAndGet(tokens);
+    }
+
+    long getClusterTotal() { return clusterTotal; }
+
+    void setClusterTotal(long clusterTotal) { this.clusterTotal = clusterTotal; }
+
+    // Nanoseconds until the bucket is full again
+    long nanosUntilFull(long nowNanos) {
+        return Math.max(0, tat.get() - nowNanos);
+    }
+
+    // Full buckets carry no state and can be dropped and recreated
+    boolean isFull(long nowNanos) {
+        return tat.get() <= nowNanos && unsynced.get() == 0;
+    }
+
+    RateLimitPolicy getPolicy() { return policy; }
+}
\ No newline at end of file
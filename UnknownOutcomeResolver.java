@@ -0,0 +1,19 @@
+package com.ecommerce.payment.service;
+
+import com.ecommerce.payment.gateway.RazorpayGatewayClient;
+import org.json.JSONObject;
+
+import java.util.Optional;
+
+/**
+ * Asks the gateway whether an idempotent call whose outcome was lost (timeout, 5xx, or a failure
+ * after the gateway answered) was applied. Called from the idempotency resolver thread, so it may block.
+ */
+public interface UnknownOutcomeResolver {
+
+    RazorpayGatewayClient.Operation operation();
+
+    // The response to replay if the call was applied, empty if the gateway has no trace of it.
+    // Throws if the gateway cannot tell yet; the record stays UNKNOWN and is asked again later.
+    Optional<JSONObject> resolve(JSONObject request);
+}
\ No newline at end of file
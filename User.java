@@ -8,14 +8,20 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
 public class User {
     
+    // Pooled ids let Hibernate batch inserts; users_seq is seeded past MAX(id) at startup
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank(message = "Username is required")
@@ -44,9 +50,9 @@ public class User {
     @Enumerated(EnumType.STRING)
     private UserStatus status = UserStatus.ACTIVE;
     
-    @ElementCollection(fetch = FetchType.EAGER)
-    @Enumerated(EnumType.STRING)
-    private List<UserRole> roles;
+    // Roles packed as UserRole bits; replaces the old user_roles collection table
+    @Column(name = "role_mask", nullable = false)
+    private int roleMask;
     
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -90,8 +96,11 @@ public class User {
     public UserStatus getStatus() { return status; }
     public void setStatus(UserStatus status) { this.status = status; }
 
-    public List<UserRole> getRoles() { return roles; }
-    public void setRoles(List<UserRole> roles) { this.roles = roles; }
+    public List<UserRole> getRoles() { return UserRole.fromMask(roleMask); }
+    public void setRoles(List<UserRole> roles) { this.roleMask = UserRole.toMask(roles); }
+
+    public int getRoleMask() { return roleMask; }
+    public void setRoleMask(int roleMask) { this.roleMask = roleMask; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -105,6 +114,44 @@ public class User {
     }
 
     public enum UserRole {
-        CUSTOMER, ADMIN, MODERATOR
+        // Bits are persisted in users.role_mask; never renumber existing roles
+        CUSTOMER(1), ADMIN(1 << 1), MODERATOR(1 << 2);
+
+        private static final List<List<UserRole>> BY_MASK = new ArrayList<>();
+
+        static {
+            int combinations = 1 << values().length;
+            for (int mask = 0; mask < combinations; mask++) {
+                List<UserRole> roles = new ArrayList<>();
+                for (UserRole role : values()) {
+                    if ((mask & role.bit) != 0) {
+                        roles.add(role);
+                    }
+                }
+                BY_MASK.add(List.copyOf(roles));
+            }
+        }
+
+        private final int bit;
+
+        UserRole(int bit) {
+            this.bit = bit;
+        }
+
+        public int getBit() { return bit; }
+
+        public static int toMask(Collection<UserRole> roles) {
+            int mask = 0;
+            if (roles != null) {
+                for (UserRole role : roles) {
+                    mask |= role.bit;
+                }
+            }
+            return mask;
+        }
+
+        public static List<UserRole> fromMask(int mask) {
+            return mask >= 0 && mask < BY_MASK.size() ? BY_MASK.get(mask) : List.of();
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.ecommerce.user.benchmark;
+
+import com.ecommerce.user.entity.User;
+import com.ecommerce.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk insert throughput check, enabled with the {@code bulk-insert-benchmark} profile.
+ * Both passes use the pooled users_seq ids. The flush-per-row pass sends one INSERT round trip
+ * per user; the batched pass flushes once per chunk so JDBC batching applies. This is not an
+ * IDENTITY baseline: IDENTITY also costs an id round trip per row and cannot batch at all, so
+ * the gap to IDENTITY is at least the one reported. Synthetic users are deleted afterwards.
+ */
+@Component
+@Profile("bulk-insert-benchmark")
+public class UserBulkInsertBenchmark implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBulkInsertBenchmark.class);
+
+    // Pre-hashed placeholder so bcrypt cost stays out of the measurement
+    private static final String PLACEHOLDER_PASSWORD = "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbench";
+
+    @Value("${benchmark.bulk-insert.rows:10000}")
+    private int rows;
+
+    @Value("${benchmark.bulk-insert.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(String... args) {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        try {
+            long flushPerRowNanos = timeInserts(transactionTemplate, runId + "r", true);
+            long batchedNanos = timeInserts(transactionTemplate, runId + "b", false);
+
+            logger.info("Bulk insert of {} users with pooled ids: flush-per-row {} rows/s, batched {} rows/s ({}x)",
+                    rows, throughput(flushPerRowNanos), throughput(batchedNanos),
+                    String.format("%.1f", (double) flushPerRowNanos / batchedNanos));
+        } finally {
+            int deleted = jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", "bench_" + runId + "%");
+            logger.info("Removed {} benchmark users", deleted);
+        }
+    }
+
+    private long timeInserts(TransactionTemplate transactionTemplate, String prefix, boolean flushEachRow) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += chunkSize) {
+            int from = offset;
+            int to = Math.min(rows, offset + chunkSize);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<User> chunk = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    chunk.add(syntheticUser(prefix, i));
+                }
+                if (flushEachRow) {
+                    for (User user : chunk) {
+                        userRepository.save(user);
+                        entityManager.flush();
+                    }
+                } else {
+                    userRepository.saveAll(chunk);
+                    entityManager.flush();
+                }
+                entityManager.clear();
+            });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private User syntheticUser(String prefix, int index) {
+        String username = "bench_" + prefix + "_" + index;
+        User user = new User(username, username + "@bench.local", PLACEHOLDER_PASSWORD, "Bench", "User");
+        user.setRoles(List.of(User.UserRole.CUSTOMER));
+        return user;
+    }
+
+    private long throughput(long nanos) {
+        return nanos == 0 ? 0 : rows * 1_000_000_000L / nanos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.ecommerce.email.dto;
+
+// Mirror of UserService.UserEvent as published on user-events
+public class UserEvent {
+
+    private String eventType;
+    private Long userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+
+    // Constructors
+    public UserEvent() {}
+
+    public UserEvent(String eventType, Long userId, String email, String firstName, String lastName) {
+        this.eventType = eventType;
+        this.userId = userId;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    // Getters and Setters
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+}
\ No newline at end of file
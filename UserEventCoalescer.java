@@ -0,0 +1,281 @@
+package com.ecommerce.email.coalesce;
+
+import com.ecommerce.email.dto.UserEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Collapses bursts of user-events per userId into one notification. The first event for a
+ * user opens a fixed window. Events that arrive before it closes are merged into it: the
+ * latest event supplies the contact details, and the most significant event type decides
+ * which email goes out. A deletion beats a registration, which beats a status change, which
+ * beats a profile update.
+ *
+ * Pending windows are journalled and fsynced before the Kafka batch is acknowledged, so a
+ * restart replays them instead of losing them. Emission is at-least-once: a crash between
+ * emitting and journalling the flush can repeat one email. When more than
+ * {@code max-pending} users are waiting, the oldest window is emitted early.
+ */
+@Component
+public class UserEventCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventCoalescer.class);
+
+    private static final List<String> PRIORITY = List.of(
+            "user.updated", "user.status.changed", "user.registered", "user.deleted");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${email.coalesce.window:30s}")
+    private Duration window;
+
+    @Value("${email.coalesce.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${email.coalesce.journal-dir:./data/email}")
+    private String journalDir;
+
+    @Value("${email.coalesce.journal-compact-bytes:67108864}")
+    private long compactThresholdBytes;
+
+    @Value("${email.coalesce.tick-ms:500}")
+    private long tickMs;
+
+    private static final class Pending {
+        final long userId;
+        final long firstAt;
+        UserEvent latest;
+        String eventType;
+        long lastSeq;
+        int merged;
+
+        Pending(long userId, long firstAt) {
+            this.userId = userId;
+            this.firstAt = firstAt;
+        }
+
+        void merge(UserEvent event, long seq) {
+            latest = event;
+            if (eventType == null || rank(event.getEventType()) >= rank(eventType)) {
+                eventType = event.getEventType();
+            }
+            lastSeq = seq;
+            merged++;
+        }
+
+        UserEvent toEvent() {
+            return new UserEvent(eventType, userId, latest.getEmail(), latest.getFirstName(), latest.getLastName());
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Insertion order is window-opening order, so the head is always the next window to close
+    private final LinkedHashMap<Long, Pending> pending = new LinkedHashMap<>();
+
+    private CoalescerJournal journal;
+    private long nextSeq = 1;
+    private volatile Consumer<UserEvent> sink;
+    private ScheduledExecutorService ticker;
+
+    private Counter received;
+    private Counter emitted;
+    private Counter suppressed;
+
+    @PostConstruct
+    void init() throws IOException {
+        journal = new CoalescerJournal(Paths.get(journalDir));
+        recover();
+
+        received = Counter.builder("email.coalesce.events").tag("outcome", "received").register(meterRegistry);
+        emitted = Counter.builder("email.coalesce.events").tag("outcome", "emitted").register(meterRegistry);
+        suppressed = Counter.builder("email.coalesce.events").tag("outcome", "suppressed")
+                .description("Events merged into another event's notification")
+                .register(meterRegistry);
+        Gauge.builder("email.coalesce.pending", this, coalescer -> coalescer.pendingCount())
+                .register(meterRegistry);
+
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        ticker.shutdownNow();
+        lock.lock();
+        try {
+            journal.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Receives merged events once their window closes
+    public void setSink(Consumer<UserEvent> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Adds a batch of events. Returns once they are durable in the journal, so the caller may
+     * commit their offsets.
+     */
+    public void accept(List<UserEvent> events) throws IOException {
+        List<Pending> overflow = new ArrayList<>();
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            List<CoalescerJournal.Record> records = new ArrayList<>(events.size());
+            for (UserEvent event : events) {
+                records.add(CoalescerJournal.Record.add(nextSeq++, now, event));
+            }
+            journal.append(records, true);
+
+            for (CoalescerJournal.Record record : records) {
+                merge(record);
+            }
+            while (pending.size() > maxPending) {
+                Iterator<Pending> oldest = pending.values().iterator();
+                overflow.add(oldest.next());
+                oldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        received.increment(events.size());
+        emit(overflow);
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void tick() {
+        try {
+            List<Pending> due = new ArrayList<>();
+            long closeBefore = System.currentTimeMillis() - window.toMillis();
+            lock.lock();
+            try {
+                Iterator<Pending> iterator = pending.values().iterator();
+                while (iterator.hasNext()) {
+                    Pending next = iterator.next();
+                    if (next.firstAt > closeBefore) {
+                        break;
+                    }
+                    due.add(next);
+                    iterator.remove();
+                }
+            } finally {
+                lock.unlock();
+            }
+            emit(due);
+            compactIfLarge();
+        } catch (Exception e) {
+            logger.error("Email coalescer tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void emit(List<Pending> windows) throws IOException {
+        if (windows.isEmpty()) {
+            return;
+        }
+        Consumer<UserEvent> target = sink;
+        List<CoalescerJournal.Record> flushed = new ArrayList<>(windows.size());
+        for (Pending window : windows) {
+            if (target != null) {
+                target.accept(window.toEvent());
+            }
+            emitted.increment();
+            suppressed.increment(window.merged - 1);
+            flushed.add(CoalescerJournal.Record.flush(window.userId, window.lastSeq));
+        }
+        lock.lock();
+        try {
+            // Not forced: losing a flush record only risks a repeated email after a crash
+            journal.append(flushed, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void merge(CoalescerJournal.Record record) {
+        pending.computeIfAbsent(record.userId, id -> new Pending(id, record.at)).merge(record.event, record.seq);
+    }
+
+    private void recover() throws IOException {
+        List<CoalescerJournal.Record> records = journal.readAll();
+        Map<Long, Long> flushedUpTo = new HashMap<>();
+        for (CoalescerJournal.Record record : records) {
+            nextSeq = Math.max(nextSeq, record.seq + 1);
+            if (record.op == CoalescerJournal.Op.FLUSH) {
+                flushedUpTo.merge(record.userId, record.seq, Math::max);
+            }
+        }
+        for (CoalescerJournal.Record record : records) {
+            if (record.op == CoalescerJournal.Op.ADD && record.seq > flushedUpTo.getOrDefault(record.userId, 0L)) {
+                merge(record);
+            }
+        }
+        if (!records.isEmpty()) {
+            logger.info("Recovered {} pending email windows from the coalescer journal", pending.size());
+            compact();
+        }
+    }
+
+    private void compactIfLarge() throws IOException {
+        lock.lock();
+        try {
+            if (journal.size() > compactThresholdBytes) {
+                compact();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock (or is still initialising)
+    private void compact() throws IOException {
+        List<CoalescerJournal.Record> snapshot = new ArrayList<>(pending.size());
+        for (Pending window : pending.values()) {
+            // One synthetic record per window keeps its opening time and merged type
+            CoalescerJournal.Record record = CoalescerJournal.Record.add(window.lastSeq, window.firstAt, window.toEvent());
+            snapshot.add(record);
+        }
+        journal.rewrite(snapshot);
+    }
+
+    private static int rank(String eventType) {
+        return PRIORITY.indexOf(eventType);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.ecommerce.email.listener;
+
+import com.ecommerce.email.coalesce.UserEventCoalescer;
+import com.ecommerce.email.config.EmailKafkaConfig;
+import com.ecommerce.email.dto.UserEvent;
+import com.ecommerce.email.retry.EmailRetryPublisher;
+import com.ecommerce.email.sender.EmailDispatcher;
+import com.ecommerce.email.service.EmailComposer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Component
+public class UserEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventListener.class);
+
+    @Autowired
+    private EmailComposer composer;
+
+    @Autowired
+    private EmailDispatcher dispatcher;
+
+    @Autowired
+    private UserEventCoalescer coalescer;
+
+    @Autowired
+    private EmailRetryPublisher retryPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private DistributionSummary batchSize;
+
+    @PostConstruct
+    void init() {
+        batchSize = DistributionSummary.builder("email.consumer.batch.size")
+                .description("user-events records per poll")
+                .register(meterRegistry);
+        coalescer.setSink(this::send);
+    }
+
+    @KafkaListener(topics = EmailKafkaConfig.USER_EVENTS_TOPIC, containerFactory = "userEventBatchFactory")
+    public void onUserEvents(List<UserEvent> events) {
+        batchSize.record(events.size());
+        List<UserEvent> keyed = new ArrayList<>(events.size());
+        List<CompletableFuture<Void>> direct = new ArrayList<>();
+        for (UserEvent event : events) {
+            // Null when the record could not be deserialized
+            if (event == null) {
+                continue;
+            }
+            if (event.getUserId() != null) {
+                keyed.add(event);
+            } else {
+                direct.add(send(event));
+            }
+        }
+
+        try {
+            // Returns once the events are journalled; their emails go out when each user's window closes
+            coalescer.accept(keyed);
+        } catch (IOException e) {
+            // Fail the batch so it is redelivered rather than lost
+            throw new UncheckedIOException("Could not journal user events", e);
+        }
+        CompletableFuture.allOf(direct.toArray(new CompletableFuture[0])).join();
+    }
+
+    private CompletableFuture<Void> send(UserEvent event) {
+        return composer.compose(event)
+                .map(email -> dispatcher.dispatch(email)
+                        // A failed first attempt goes to the retry topics; this thread never waits out a backoff
+                        .handle((sent, error) -> error == null
+                                ? CompletableFuture.<Void>completedFuture(null)
+                                : retryPublisher.onFailure(email, 1, error instanceof CompletionException && error.getCause() != null
+                                        ? error.getCause() : error))
+                        .thenCompose(retry -> retry)
+                        .exceptionally(error -> {
+                            logger.error("Could not schedule retry of {} email for user {}: {}",
+                                    email.getTemplate(), event.getUserId(), error.getMessage());
+                            return null;
+                        }))
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+}
\ No newline at end of file
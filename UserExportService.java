@@ -0,0 +1,157 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.entity.User;
+import com.ecommerce.user.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class UserExportService {
+
+    private static final String CSV_HEADER =
+            "id,username,email,firstName,lastName,phoneNumber,status,roles,createdAt,updatedAt\n";
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter ndjsonWriter;
+
+    @PostConstruct
+    void initWriter() {
+        // Keep the response writer open and let us decide when to flush
+        this.ndjsonWriter = objectMapper.writerFor(UserResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Streams matching users to {@code out} row by row from a server-side cursor.
+     * Each entity is detached once written so the persistence context stays empty.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(User.UserStatus status, LocalDateTime updatedSince,
+                            ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long count = 0;
+        try (Stream<User> users = userRepository.streamForExport(status, updatedSince)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                UserResponse row = new UserResponse(user);
+                entityManager.detach(user);
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    ndjsonWriter.writeValue(writer, row);
+                    writer.write('\n');
+                }
+
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, UserResponse row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writeCsvField(writer, row.getUsername());
+        writer.write(',');
+        writeCsvField(writer, row.getEmail());
+        writer.write(',');
+        writeCsvField(writer, row.getFirstName());
+        writer.write(',');
+        writeCsvField(writer, row.getLastName());
+        writer.write(',');
+        writeCsvField(writer, row.getPhoneNumber());
+        writer.write(',');
+        writeCsvField(writer, row.getStatus() != null ? row.getStatus().name() : null);
+        writer.write(',');
+        writeCsvField(writer, joinRoles(row.getRoles()));
+        writer.write(',');
+        writeCsvField(writer, row.getCreatedAt() != null ? row.getCreatedAt().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, row.getUpdatedAt() != null ? row.getUpdatedAt().toString() : null);
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private String joinRoles(List<User.UserRole> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return null;
+        }
+        StringBuilder joined = new StringBuilder();
+        for (User.UserRole role : roles) {
+            if (joined.length() > 0) {
+                joined.append('|');
+            }
+            joined.append(role.name());
+        }
+        return joined.toString();
+    }
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+}
\ No newline at end of file
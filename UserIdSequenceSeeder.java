@@ -0,0 +1,56 @@
+package com.ecommerce.user.config;
+
+import com.ecommerce.user.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Moves the users_seq pooled-id table past every id handed out by the old IDENTITY column.
+ * The pooled optimizer hands out (next_val - allocationSize, next_val], hence the extra
+ * allocation in the floor. Runs before the web server starts and only ever moves forward.
+ */
+@Component
+public class UserIdSequenceSeeder implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIdSequenceSeeder.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!isSequenceTable()) {
+            return;
+        }
+        Long floor = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) + ? + 1 FROM users", Long.class, User.ID_ALLOCATION_SIZE);
+
+        jdbcTemplate.update("INSERT INTO users_seq (next_val) SELECT ? FROM DUAL " +
+                "WHERE NOT EXISTS (SELECT 1 FROM users_seq)", floor);
+        int bumped = jdbcTemplate.update("UPDATE users_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+
+        if (bumped > 0) {
+            logger.info("Seeded users_seq to {} past existing users ids", floor);
+        }
+    }
+
+    // MySQL emulates the sequence with a table. A database with native sequences (H2 in the load-test
+    // harness) never had the IDENTITY column, so there is nothing to seed.
+    private boolean isSequenceTable() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? "USERS_SEQ" : "users_seq";
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[] {"TABLE"})) {
+                return tables.next();
+            }
+        }));
+    }
+}
\ No newline at end of file
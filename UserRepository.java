@@ -1,18 +1,32 @@
 package com.ecommerce.user.repository;
 
+import com.ecommerce.user.dto.UserResponse;
 import com.ecommerce.user.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    String USER_RESPONSE_SELECT = "SELECT new com.ecommerce.user.dto.UserResponse(u.id, u.username, u.email, " +
+            "u.firstName, u.lastName, u.phoneNumber, u.status, u.roleMask, u.createdAt, u.updatedAt) FROM User u";
+    
+    String KEYWORD_FILTER = " WHERE u.firstName LIKE %:keyword% OR u.lastName LIKE %:keyword% OR u.email LIKE %:keyword%";
+    
     Optional<User> findByUsername(String username);
     
     Optional<User> findByEmail(String email);
@@ -24,6 +38,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.status = :status")
     Page<User> findByStatus(@Param("status") User.UserStatus status, Pageable pageable);
     
-    @Query("SELECT u FROM User u WHERE u.firstName LIKE %:keyword% OR u.lastName LIKE %:keyword% OR u.email LIKE %:keyword%")
+    @Query("SELECT u FROM User u" + KEYWORD_FILTER)
     Page<User> searchUsers(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Projections straight into UserResponse: one statement per lookup, no managed entities
+    @Query(USER_RESPONSE_SELECT + " WHERE u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+    
+    @Query(USER_RESPONSE_SELECT + " WHERE u.username = :username")
+    Optional<UserResponse> findResponseByUsername(@Param("username") String username);
+    
+    @Query(USER_RESPONSE_SELECT + " WHERE u.email = :email")
+    Optional<UserResponse> findResponseByEmail(@Param("email") String email);
+    
+    @Query(value = USER_RESPONSE_SELECT, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponse> findAllResponses(Pageable pageable);
+    
+    @Query(value = USER_RESPONSE_SELECT + KEYWORD_FILTER, countQuery = "SELECT COUNT(u) FROM User u" + KEYWORD_FILTER)
+    Page<UserResponse> searchUserResponses(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Forward-only cursor for exports; requires useCursorFetch=true on the JDBC URL
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT u FROM User u WHERE (:status IS NULL OR u.status = :status) " +
+           "AND (:updatedSince IS NULL OR u.updatedAt >= :updatedSince) ORDER BY u.id")
+    Stream<User> streamForExport(@Param("status") User.UserStatus status,
+                                 @Param("updatedSince") LocalDateTime updatedSince);
 } 
\ No newline at end of file
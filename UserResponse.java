@@ -33,6 +33,22 @@ public class UserResponse {
         this.updatedAt = user.getUpdatedAt();
     }
 
+    // Used by JPQL constructor expressions in UserRepository
+    public UserResponse(Long id, String username, String email, String firstName, String lastName,
+                        String phoneNumber, User.UserStatus status, Integer roleMask,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phoneNumber = phoneNumber;
+        this.status = status;
+        this.roles = User.UserRole.fromMask(roleMask != null ? roleMask : 0);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,91 @@
+package com.ecommerce.user.config;
+
+import com.ecommerce.user.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration of the legacy {@code user_roles} element-collection table into
+ * {@code users.role_mask}. Runs after Hibernate has added the new column but before the
+ * web server starts; the legacy table is renamed afterwards so the migration never repeats.
+ * Instances starting together serialize on a MySQL named lock; the ones that wait find the
+ * table already renamed and carry on.
+ */
+@Component
+public class UserRoleMaskMigration implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserRoleMaskMigration.class);
+
+    private static final String LEGACY_TABLE = "user_roles";
+    private static final String MIGRATED_TABLE = "user_roles_migrated";
+
+    private static final String LOCK_NAME = "user_role_mask_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 120;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!legacyTableExists(jdbcTemplate)) {
+            return;
+        }
+        // GET_LOCK belongs to the session, so the lock, the migration and the release share one connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer locked = session.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class, LOCK_NAME, LOCK_TIMEOUT_SECONDS);
+            if (locked == null || locked != 1) {
+                throw new IllegalStateException("Timed out waiting for another instance to migrate " + LEGACY_TABLE);
+            }
+            try {
+                migrate(session);
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+
+    private void migrate(JdbcTemplate session) {
+        if (!legacyTableExists(session)) {
+            logger.info("Roles already migrated into users.role_mask by another instance");
+            return;
+        }
+        int migrated = session.update(
+                "UPDATE users u SET u.role_mask = (SELECT COALESCE(BIT_OR(" + roleBitCase() + "), 0) " +
+                "FROM " + LEGACY_TABLE + " r WHERE r.user_id = u.id) WHERE u.role_mask = 0");
+        try {
+            session.execute("RENAME TABLE " + LEGACY_TABLE + " TO " + MIGRATED_TABLE);
+        } catch (DataAccessException e) {
+            // "Table already gone" means someone else finished the rename, e.g. by hand: the work is done
+            if (legacyTableExists(session)) {
+                throw e;
+            }
+        }
+
+        logger.info("Migrated roles of {} users into users.role_mask; legacy table renamed to {}",
+                migrated, MIGRATED_TABLE);
+    }
+
+    private static boolean legacyTableExists(JdbcTemplate template) {
+        Integer legacyTables = template.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, LEGACY_TABLE);
+        return legacyTables != null && legacyTables > 0;
+    }
+
+    private String roleBitCase() {
+        StringBuilder sql = new StringBuilder("CASE r.roles");
+        for (User.UserRole role : User.UserRole.values()) {
+            sql.append(" WHEN '").append(role.name()).append("' THEN ").append(role.getBit());
+        }
+        return sql.append(" ELSE 0 END").toString();
+    }
+}
\ No newline at end of file
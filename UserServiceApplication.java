@@ -1,13 +1,18 @@
 package com.ecommerce.user;
 
+import com.ecommerce.common.metrics.MetricsConfiguration;
+import com.ecommerce.common.startup.FastStartupConfiguration;
+import com.ecommerce.common.threads.VirtualThreadConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
+import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
 
 @SpringBootApplication
 @EnableEurekaClient
 @EnableKafka
+@Import({FastStartupConfiguration.class, MetricsConfiguration.class, VirtualThreadConfiguration.class})
 public class UserServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,13 @@
+package com.ecommerce.order.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+// Resolved through Eureka unless order.clients.user-service.url is set
+@FeignClient(name = "user-service", url = "${order.clients.user-service.url:}")
+public interface UserServiceClient {
+
+    @GetMapping("/api/users/{id}")
+    UserSummary getUser(@PathVariable("id") Long id);
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.ecommerce.order.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// The fields of user-service's UserResponse that order placement needs
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserSummary {
+
+    private Long id;
+    private String email;
+    private String status;
+
+    public UserSummary() {}
+
+    public UserSummary(Long id, String email, String status) {
+        this.id = id;
+        this.email = email;
+        this.status = status;
+    }
+
+    public boolean isActive() {
+        return "ACTIVE".equals(status);
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.ecommerce.common.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Companion to {@code spring.threads.virtual.enabled}, which on Java 21 already moves Tomcat
+ * request handling, {@code @Async} tasks and Boot-configured Kafka listener containers onto
+ * virtual threads. This adds the pinning monitor, so code that blocks a carrier thread shows up
+ * in metrics and logs instead of as unexplained queueing.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${app.threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
\ No newline at end of file
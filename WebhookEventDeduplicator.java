@@ -0,0 +1,51 @@
+package com.ecommerce.payment.webhook;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory seen-set of webhook event ids, evicting the oldest ids first. It absorbs
+ * the gateway's rapid retries at intake; the processed_webhook_events table is the durable
+ * seen-set the consumer checks before applying anything.
+ */
+@Component
+public class WebhookEventDeduplicator {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Boolean> seen;
+
+    public WebhookEventDeduplicator(@Value("${payment.webhook.dedup-capacity:100000}") int capacity) {
+        this.seen = new LinkedHashMap<>(Math.min(capacity, 1 << 16), 0.75f) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Records the id and returns {@code true} if it had not been seen recently.
+     */
+    public boolean markIfNew(String eventId) {
+        lock.lock();
+        try {
+            return seen.putIfAbsent(eventId, Boolean.TRUE) == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Lets a retry through again when the event could not be persisted
+    public void forget(String eventId) {
+        lock.lock();
+        try {
+            seen.remove(eventId);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.ecommerce.payment.webhook;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only local log of accepted webhook events, one JSON object per line.
+ *
+ * Appends are acknowledged only once fsynced. Concurrent appenders share fsyncs: whoever
+ * takes the sync lock forces everything written so far, so under a spike one force covers
+ * many events. The consumer reads from a checkpointed byte offset, and the file is truncated
+ * whenever the consumer has caught up with everything written.
+ */
+@Component
+public class WebhookEventLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookEventLog.class);
+
+    private static final int READ_CHUNK_BYTES = 4 * 1024 * 1024;
+    private static final long MAX_READ_BYTES = Integer.MAX_VALUE - 8;
+
+    @Value("${payment.webhook.log-dir:./data/webhooks}")
+    private String logDir;
+
+    @Value("${payment.webhook.compact-threshold-bytes:67108864}")
+    private long compactThresholdBytes;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private FileChannel channel;
+    private Path checkpointFile;
+
+    private volatile long writtenPosition;
+    private volatile long syncedPosition;
+
+    @PostConstruct
+    void open() throws IOException {
+        Path dir = Paths.get(logDir);
+        Files.createDirectories(dir);
+        checkpointFile = dir.resolve("webhook-events.checkpoint");
+        channel = FileChannel.open(dir.resolve("webhook-events.log"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writtenPosition = channel.size();
+        syncedPosition = writtenPosition;
+        logger.info("Webhook event log opened at {} ({} bytes, checkpoint {})", dir, writtenPosition, readCheckpoint());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        channel.force(false);
+        channel.close();
+    }
+
+    public void append(String eventId, JSONObject event) throws IOException {
+        String line = new JSONObject().put("eventId", eventId).put("event", event).toString() + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+
+        long endPosition;
+        writeLock.lock();
+        try {
+            long position = writtenPosition;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            writtenPosition = position;
+            endPosition = position;
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurable(endPosition);
+    }
+
+    private void awaitDurable(long position) throws IOException {
+        if (syncedPosition >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (syncedPosition < position) {
+                long target = writtenPosition;
+                channel.force(false);
+                syncedPosition = target;
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code maxEvents} durable entries starting at {@code offset}.
+     */
+    public List<Entry> read(long offset, int maxEvents) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long end = syncedPosition;
+        if (offset >= end) {
+            return entries;
+        }
+
+        // Start with a bounded window and double it until it holds at least one whole line
+        long available = Math.min(end - offset, MAX_READ_BYTES);
+        int capacity = (int) Math.min(available, READ_CHUNK_BYTES);
+        ByteBuffer buffer;
+        while (true) {
+            buffer = ByteBuffer.allocate(capacity);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            if (containsNewline(buffer.array(), buffer.position()) || capacity == available) {
+                break;
+            }
+            capacity = (int) Math.min(available, (long) capacity * 2);
+        }
+        byte[] bytes = buffer.array();
+        int limit = buffer.position();
+
+        int lineStart = 0;
+        for (int i = 0; i < limit && entries.size() < maxEvents; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            long nextOffset = offset + i + 1;
+            try {
+                JSONObject record = new JSONObject(line);
+                entries.add(new Entry(record.getString("eventId"), record.getJSONObject("event"), nextOffset));
+            } catch (JSONException e) {
+                logger.error("Skipping unreadable webhook log line at offset {}: {}", offset + lineStart, e.getMessage());
+                entries.add(new Entry(null, null, nextOffset));
+            }
+            lineStart = i + 1;
+        }
+        return entries;
+    }
+
+    private static boolean containsNewline(byte[] bytes, int limit) {
+        for (int i = 0; i < limit; i++) {
+            if (bytes[i] == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0L;
+        }
+        String value = Files.readString(checkpointFile).trim();
+        return value.isEmpty() ? 0L : Long.parseLong(value);
+    }
+
+    public void writeCheckpoint(long offset) throws IOException {
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(temp, Long.toString(offset));
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Truncates the log once everything in it has been consumed. Returns the offset the
+     * consumer should continue from.
+     */
+    public long compactIfDrained(long checkpoint) throws IOException {
+        if (checkpoint < compactThresholdBytes) {
+            return checkpoint;
+        }
+        writeLock.lock();
+        try {
+            if (checkpoint != writtenPosition) {
+                return checkpoint;
+            }
+            channel.truncate(0);
+            channel.force(true);
+            writtenPosition = 0;
+            syncedPosition = 0;
+            writeCheckpoint(0);
+            logger.info("Compacted drained webhook event log ({} bytes)", checkpoint);
+            return 0;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public long getBacklogBytes() throws IOException {
+        return Math.max(0, syncedPosition - readCheckpoint());
+    }
+
+    public static class Entry {
+        private final String eventId;
+        private final JSONObject event;
+        private final long nextOffset;
+
+        public Entry(String eventId, JSONObject event, long nextOffset) {
+            this.eventId = eventId;
+            this.event = event;
+            this.nextOffset = nextOffset;
+        }
+
+        public String getEventId() { return eventId; }
+        public JSONObject getEvent() { return event; }
+        public long getNextOffset() { return nextOffset; }
+
+        public boolean isReadable() { return eventId != null; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,286 @@
+package com.ecommerce.payment.webhook;
+
+import com.ecommerce.payment.entity.Payment;
+import com.ecommerce.payment.entity.ProcessedWebhookEvent;
+import com.ecommerce.payment.repository.PaymentRepository;
+import com.ecommerce.payment.repository.ProcessedWebhookEventRepository;
+import com.ecommerce.payment.service.PaymentService;
+import com.ecommerce.payment.service.PaymentStatusChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drains the webhook event log in batches and applies the resulting status transitions to
+ * Payment rows, one transaction per batch. The log checkpoint only advances after a batch
+ * commits, so a crash replays at most one batch and the processed-event table absorbs it. Only
+ * events that can never be applied are skipped; a database outage stalls the log until it ends.
+ */
+@Component
+public class WebhookEventProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookEventProcessor.class);
+
+    // Column lengths of processed_webhook_events
+    private static final int MAX_EVENT_ID_LENGTH = 64;
+    private static final int MAX_EVENT_TYPE_LENGTH = 255;
+
+    @Autowired
+    private WebhookEventLog eventLog;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ProcessedWebhookEventRepository processedEventRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${payment.webhook.consumer.batch-size:500}")
+    private int batchSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    private long offset = -1;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${payment.webhook.consumer.poll-interval-ms:200}")
+    public void drain() {
+        try {
+            if (offset < 0) {
+                offset = eventLog.readCheckpoint();
+            }
+            List<WebhookEventLog.Entry> entries;
+            while (!(entries = eventLog.read(offset, batchSize)).isEmpty()) {
+                applyBatch(entries);
+                offset = entries.get(entries.size() - 1).getNextOffset();
+                eventLog.writeCheckpoint(offset);
+            }
+            offset = eventLog.compactIfDrained(offset);
+        } catch (Exception e) {
+            logger.error("Webhook event processing stopped at offset {}: {}", offset, e.getMessage(), e);
+        }
+    }
+
+    private void applyBatch(List<WebhookEventLog.Entry> entries) {
+        Map<String, JSONObject> events = new LinkedHashMap<>();
+        for (WebhookEventLog.Entry entry : entries) {
+            if (entry.isReadable()) {
+                events.putIfAbsent(entry.getEventId(), entry.getEvent());
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(events));
+        } catch (RuntimeException e) {
+            // Isolate the offending event instead of blocking the log behind it
+            logger.warn("Batch of {} webhook events failed ({}); retrying one by one", events.size(), e.getMessage());
+            for (Map.Entry<String, JSONObject> event : events.entrySet()) {
+                // Only events that fail validation are dropped. Anything else (database, transaction or JPA failure)
+                // propagates: the checkpoint stays put and the next poll retries. Events of this batch that did
+                // commit are skipped then via the processed-event table.
+                try {
+                    transactionTemplate.executeWithoutResult(status -> apply(Map.of(event.getKey(), event.getValue())));
+                } catch (UnapplicableEventException single) {
+                    logger.error("Dropping webhook event {} that can never be applied: {}", event.getKey(), single.getMessage());
+                }
+            }
+        }
+    }
+
+    private void apply(Map<String, JSONObject> events) {
+        Set<String> alreadyProcessed = new HashSet<>(processedEventRepository.findExistingIds(events.keySet()));
+
+        List<Transition> transitions = new ArrayList<>();
+        Set<String> paymentIds = new HashSet<>();
+        Set<String> orderIds = new HashSet<>();
+        for (Map.Entry<String, JSONObject> event : events.entrySet()) {
+            if (alreadyProcessed.contains(event.getKey())) {
+                continue;
+            }
+            Transition transition = Transition.parse(event.getKey(), event.getValue());
+            transitions.add(transition);
+            if (transition.razorpayPaymentId != null) {
+                paymentIds.add(transition.razorpayPaymentId);
+            }
+            if (transition.razorpayOrderId != null) {
+                orderIds.add(transition.razorpayOrderId);
+            }
+        }
+        if (transitions.isEmpty()) {
+            return;
+        }
+
+        Map<String, Payment> byPaymentId = new HashMap<>();
+        Map<String, Payment> byOrderId = new HashMap<>();
+        if (!paymentIds.isEmpty()) {
+            paymentRepository.lockByRazorpayPaymentIdIn(paymentIds).forEach(p -> byPaymentId.put(p.getRazorpayPaymentId(), p));
+        }
+        if (!orderIds.isEmpty()) {
+            paymentRepository.lockByRazorpayOrderIdIn(orderIds).forEach(p -> byOrderId.put(p.getRazorpayOrderId(), p));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProcessedWebhookEvent> processed = new ArrayList<>(transitions.size());
+        Map<Long, String> errorMessages = new HashMap<>();
+        for (Transition transition : transitions) {
+            processed.add(new ProcessedWebhookEvent(transition.eventId, transition.eventType, now));
+            if (transition.targetStatus == null) {
+                continue;
+            }
+
+            Payment payment = transition.razorpayPaymentId != null ? byPaymentId.get(transition.razorpayPaymentId) : null;
+            if (payment == null && transition.razorpayOrderId != null) {
+                payment = byOrderId.get(transition.razorpayOrderId);
+            }
+            if (payment == null) {
+                logger.warn("No payment for webhook event {} ({} / {})",
+                        transition.eventId, transition.razorpayOrderId, transition.razorpayPaymentId);
+                continue;
+            }
+            Payment.PaymentStatus previousStatus = payment.getStatus();
+            if (transition.applyTo(payment)) {
+                if (transition.errorMessage != null) {
+                    errorMessages.put(payment.getId(), transition.errorMessage);
+                }
+                eventPublisher.publishEvent(new PaymentStatusChangedEvent(payment, previousStatus));
+            }
+        }
+        // Payments are managed entities; their changes flush with the processed-event inserts
+        paymentService.recordErrorMessages(errorMessages);
+        processedEventRepository.saveAll(processed);
+    }
+
+    // Thrown only by this processor for events that fail validation, never for infrastructure errors
+    private static final class UnapplicableEventException extends RuntimeException {
+        UnapplicableEventException(String message) {
+            super(message);
+        }
+    }
+
+    static class Transition {
+        final String eventId;
+        final String eventType;
+        final String razorpayPaymentId;
+        final String razorpayOrderId;
+        final Payment.PaymentStatus targetStatus;
+        final String errorMessage;
+        final LocalDateTime occurredAt;
+
+        private Transition(String eventId, String eventType, String razorpayPaymentId, String razorpayOrderId,
+                           Payment.PaymentStatus targetStatus, String errorMessage, LocalDateTime occurredAt) {
+            this.eventId = eventId;
+            this.eventType = eventType;
+            this.razorpayPaymentId = razorpayPaymentId;
+            this.razorpayOrderId = razorpayOrderId;
+            this.targetStatus = targetStatus;
+            this.errorMessage = errorMessage;
+            this.occurredAt = occurredAt;
+        }
+
+        // Malformed events fail the same way on every retry, so they are reported as unapplicable
+        static Transition parse(String eventId, JSONObject event) {
+            if (eventId.length() > MAX_EVENT_ID_LENGTH) {
+                throw new UnapplicableEventException("event id longer than " + MAX_EVENT_ID_LENGTH + " characters");
+            }
+            try {
+                return from(eventId, event);
+            } catch (JSONException e) {
+                throw new UnapplicableEventException("malformed payload: " + e.getMessage());
+            }
+        }
+
+        private static Transition from(String eventId, JSONObject event) {
+            String type = event.optString("event", "unknown");
+            if (type.length() > MAX_EVENT_TYPE_LENGTH) {
+                throw new UnapplicableEventException("event type longer than " + MAX_EVENT_TYPE_LENGTH + " characters");
+            }
+            JSONObject payload = event.optJSONObject("payload");
+            JSONObject payment = entity(payload, "payment");
+            JSONObject refund = entity(payload, "refund");
+            LocalDateTime occurredAt = event.has("created_at")
+                    ? LocalDateTime.ofInstant(Instant.ofEpochSecond(event.getLong("created_at")), ZoneId.systemDefault())
+                    : LocalDateTime.now();
+
+            String paymentId = payment != null ? payment.optString("id", null) : null;
+            String orderId = payment != null ? payment.optString("order_id", null) : null;
+            Payment.PaymentStatus target;
+            String error = null;
+            switch (type) {
+                case "payment.authorized":
+                    target = Payment.PaymentStatus.PROCESSING;
+                    break;
+                case "payment.captured":
+                case "order.paid":
+                    target = Payment.PaymentStatus.COMPLETED;
+                    break;
+                case "payment.failed":
+                    target = Payment.PaymentStatus.FAILED;
+                    error = payment != null ? payment.optString("error_description", null) : null;
+                    break;
+                case "refund.processed":
+                    target = Payment.PaymentStatus.REFUNDED;
+                    if (refund != null) {
+                        paymentId = refund.optString("payment_id", paymentId);
+                    }
+                    break;
+                default:
+                    target = null;
+            }
+            return new Transition(eventId, type, paymentId, orderId, target, error, occurredAt);
+        }
+
+        boolean applyTo(Payment payment) {
+            if (!payment.getStatus().canTransitionTo(targetStatus)) {
+                return false;
+            }
+            payment.setStatus(targetStatus);
+            if (razorpayPaymentId != null && payment.getRazorpayPaymentId() == null) {
+                payment.setRazorpayPaymentId(razorpayPaymentId);
+            }
+            if (targetStatus == Payment.PaymentStatus.COMPLETED && payment.getPaidAt() == null) {
+                payment.setPaidAt(occurredAt);
+            }
+            return true;
+        }
+
+        private static JSONObject entity(JSONObject payload, String name) {
+            JSONObject wrapper = payload != null ? payload.optJSONObject(name) : null;
+            return wrapper != null ? wrapper.optJSONObject("entity") : null;
+        }
+    }
+}
\ No newline at end of file
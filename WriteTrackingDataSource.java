@@ -0,0 +1,134 @@
+package com.ecommerce.common.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the primary pool and reports to the {@link ReadYourWritesTracker} once a transaction
+ * that ran an INSERT, UPDATE, DELETE, REPLACE or MERGE has committed. Transactions that only
+ * read, whether or not they are marked read-only, never pin the caller to the primary.
+ * Connections taken outside a filtered request are handed out unwrapped.
+ */
+class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private static final String[] WRITE_KEYWORDS = {"insert", "update", "delete", "replace", "merge"};
+
+    private final ReadYourWritesTracker tracker;
+    private final Object transactionKey = new Object();
+
+    WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker tracker) {
+        super(primary);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        if (!tracker.isInRequest()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ((method.getName().equals("prepareStatement") || method.getName().equals("prepareCall"))
+                            && args != null && args[0] instanceof String sql) {
+                        onStatement(sql);
+                    }
+                    Object result = invoke(method, connection, args);
+                    return result instanceof Statement statement && method.getName().equals("createStatement")
+                            ? trackStatement(statement) : result;
+                });
+    }
+
+    // Plain statements carry their SQL on execute rather than on creation
+    private Statement trackStatement(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {Statement.class},
+                (proxy, method, args) -> {
+                    if ((method.getName().startsWith("execute") || method.getName().equals("addBatch"))
+                            && args != null && args.length > 0 && args[0] instanceof String sql) {
+                        onStatement(sql);
+                    }
+                    return invoke(method, statement, args);
+                });
+    }
+
+    private void onStatement(String sql) {
+        if (!isWrite(sql)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Auto-commit: the write is durable as soon as it runs
+            tracker.recordWrite();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(transactionKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(transactionKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tracker.recordWrite();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+            }
+        });
+    }
+
+    static boolean isWrite(String sql) {
+        int start = 0;
+        // Skip whitespace and leading /* comments */ such as Hibernate's use_sql_comments
+        while (start < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(start))) {
+                start++;
+            } else if (sql.startsWith("/*", start)) {
+                int end = sql.indexOf("*/", start + 2);
+                if (end < 0) {
+                    return false;
+                }
+                start = end + 2;
+            } else {
+                break;
+            }
+        }
+        for (String keyword : WRITE_KEYWORDS) {
+            if (sql.regionMatches(true, start, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+#!/bin/bash
+
+# E-Commerce Microservices Platform - JMH Benchmarks
+# Runs the JMH suites and stores machine-readable results per commit, or compares two stored runs.
+#
+#   ./run-benchmarks.sh [--build] [jmh args...]    results/<commit>.json (JMH JSON, with -prof gc)
+#   ./run-benchmarks.sh compare <base.json> <head.json> [threshold %]
+#
+# JMH args are passed through, e.g. a suite regex: ./run-benchmarks.sh PaymentSignature
+# compare prints score and allocation per benchmark and exits 1 when a benchmark got slower by
+# more than the threshold (default 10%) beyond its error margin; needs jq.
+
+set -e
+
+DIR=$(cd "$(dirname "$0")" && pwd)
+RESULTS="${DIR}/results"
+
+if [ "$1" = compare ]; then
+    base=$2 head=$3 threshold=${4:-10}
+    if [ -z "${base}" ] || [ -z "${head}" ]; then
+        sed -n '3,11p' "$0" | sed 's/^# \{0,1\}//'
+        exit 1
+    fi
+    table=$(jq -r -n --argjson threshold "${threshold}" --slurpfile base "${base}" --slurpfile head "${head}" '
+        def summary: map({key: (.benchmark | sub("^com\\.ecommerce\\.benchmarks\\."; "")),
+                          value: {score: .primaryMetric.score, error: (.primaryMetric.scoreError // 0),
+                                  unit: .primaryMetric.scoreUnit,
+                                  alloc: .secondaryMetrics["gc.alloc.rate.norm"].score}}) | from_entries;
+        def round2: . * 100 | round / 100;
+        ($base[0] | summary) as $b | ($head[0] | summary) as $h
+        | "BENCHMARK\tUNIT\tBASE\tHEAD\tCHANGE %\tB/op BASE\tB/op HEAD\tVERDICT",
+          ($h | keys[] | select($b[.] != null) | . as $k | $b[$k] as $o | $h[$k] as $n
+           | (($n.score - $o.score) / $o.score * 100) as $change
+           | (if ($n.score - $n.error) > ($o.score + $o.error) and $change > $threshold then "REGRESSION"
+              elif ($n.score + $n.error) < ($o.score - $o.error) and -$change > $threshold then "improved"
+              else "" end) as $verdict
+           | [$k, $o.unit, ($o.score | round2), ($n.score | round2), ($change * 10 | round / 10),
+              ($o.alloc // "-" | if type == "number" then round2 else . end),
+              ($n.alloc // "-" | if type == "number" then round2 else . end), $verdict]
+           | @tsv)')
+    echo "${table}" | awk -F'\t' '{ printf "%-60s %-6s %12s %12s %9s %11s %11s %s\n", $1, $2, $3, $4, $5, $6, $7, $8 }'
+    if echo "${table}" | grep -q REGRESSION; then
+        exit 1
+    fi
+    exit 0
+fi
+
+if [ "$1" = --build ]; then
+    shift
+    (cd "${DIR}/.." && mvn -q -B package -DskipTests -pl benchmarks -am)
+fi
+
+JAR="${DIR}/target/benchmarks.jar"
+if [ ! -f "${JAR}" ]; then
+    echo "❌ ${JAR} not found; run with --build or mvn package -pl benchmarks -am"
+    exit 1
+fi
+
+mkdir -p "${RESULTS}"
+commit=$(git -C "${DIR}" rev-parse --short HEAD 2> /dev/null || echo local)
+if ! git -C "${DIR}" diff --quiet HEAD 2> /dev/null; then
+    commit="${commit}-dirty"
+fi
+out="${RESULTS}/${commit}.json"
+
+echo "🏁 Running benchmarks for ${commit}"
+java -jar "${JAR}" -prof gc -rf json -rff "${out}" "$@"
+echo "📄 Results: ${out}"
@@ -0,0 +1,61 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.service.ProductService;
+import com.ecommerce.user.service.UserService;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer-side encoding of {@code product-events} and {@code user-events} records with the
+ * spring-kafka {@link JsonSerializer} the services are configured with, type headers included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EventSerializationBenchmark {
+
+    private JsonSerializer<Object> serializer;
+    private ProductService.ProductEvent productEvent;
+    private UserService.UserEvent userEvent;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        productEvent = new ProductService.ProductEvent("product.stock.updated", 12345L, "Wireless Headphones",
+                "Electronics", new BigDecimal("2499.00"), 37, Product.ProductStatus.ACTIVE, 1_718_000_000_000L);
+        userEvent = new UserService.UserEvent("user.registered", 67890L, "asha.rao@example.com", "Asha", "Rao");
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+    }
+
+    @Benchmark
+    public byte[] productEvent() {
+        return serializer.serialize("product-events", new RecordHeaders(), productEvent);
+    }
+
+    @Benchmark
+    public byte[] userEvent() {
+        return serializer.serialize("user-events", new RecordHeaders(), userEvent);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.payment.service.PaymentSignatureVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Formatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout signature verification: the original per-call {@code Mac.getInstance} plus
+ * {@link Formatter} hex encoding, against {@link PaymentSignatureVerifier}. Run with
+ * {@code -prof gc} to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PaymentSignatureBenchmark {
+
+    private static final String SECRET = "rzp_test_secret_0123456789abcdef";
+
+    private final String orderId = "order_N3hKZ1a2b3c4d5";
+    private final String paymentId = "pay_N3hL0q9r8s7t6u";
+    private String signature;
+    private PaymentSignatureVerifier verifier;
+
+    @Setup
+    public void setUp() throws Exception {
+        signature = legacyHmac(orderId + "|" + paymentId, SECRET);
+        verifier = new PaymentSignatureVerifier(SECRET);
+        if (!verifier.verify(orderId, paymentId, signature)) {
+            throw new IllegalStateException("Verifier disagrees with the original implementation");
+        }
+    }
+
+    @Benchmark
+    public boolean original() throws Exception {
+        return legacyHmac(orderId + "|" + paymentId, SECRET).equals(signature);
+    }
+
+    @Benchmark
+    public boolean pooledVerifier() {
+        return verifier.verify(orderId, paymentId, signature);
+    }
+
+    // RazorpayService.calculateHmacSHA256 before PaymentSignatureVerifier replaced it
+    private static String legacyHmac(String data, String key) throws Exception {
+        SecretKeySpec secretKeySpec = new SecretKeySpec(key.getBytes(), "HmacSHA256");
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(secretKeySpec);
+        byte[] hash = mac.doFinal(data.getBytes());
+        try (Formatter formatter = new Formatter()) {
+            for (byte b : hash) {
+                formatter.format("%02x", b);
+            }
+            return formatter.toString();
+        }
+    }
+}
\ No newline at end of file
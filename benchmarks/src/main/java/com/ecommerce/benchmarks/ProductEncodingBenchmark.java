@@ -0,0 +1,86 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.product.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Product} as the API writes it (Boot's ObjectMapper settings) and as a Redis cache
+ * value: typed JSON written on a miss and read back on every hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ProductEncodingBenchmark {
+
+    private ObjectMapper apiMapper;
+    private GenericJackson2JsonRedisSerializer cacheSerializer;
+    private Product product;
+    private byte[] cachedValue;
+
+    @Setup
+    public void setUp() {
+        apiMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cacheSerializer = new GenericJackson2JsonRedisSerializer();
+        product = product();
+        cachedValue = cacheSerializer.serialize(product);
+    }
+
+    @Benchmark
+    public byte[] toApiJson() throws Exception {
+        return apiMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] cacheEncode() {
+        return cacheSerializer.serialize(product);
+    }
+
+    @Benchmark
+    public Object cacheDecode() {
+        return cacheSerializer.deserialize(cachedValue);
+    }
+
+    static Product product() {
+        Product product = new Product();
+        product.setId(12345L);
+        product.setName("Wireless Noise-Cancelling Headphones");
+        product.setDescription("Over-ear Bluetooth headphones with 30 hours of battery and active noise cancelling.");
+        product.setPrice(new BigDecimal("2499.00"));
+        product.setStockQuantity(37);
+        product.setCategory("Electronics");
+        product.setBrand("Acme");
+        product.setTags(List.of("audio", "wireless", "bluetooth"));
+        product.setImageUrls(List.of("https://cdn.example.com/p/12345/1.jpg", "https://cdn.example.com/p/12345/2.jpg"));
+        product.setWeight(0.25);
+        product.setDimensions("18x16x8 cm");
+        product.setFeatured(true);
+        product.setRating(4.4);
+        product.setReviewCount(812);
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        product.setUpdatedAt(LocalDateTime.of(2024, 6, 10, 8, 0));
+        return product;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserResponse} mapping from a loaded entity and from a JPQL constructor projection, and
+ * the response body written for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class UserResponseBenchmark {
+
+    private User user;
+    private UserResponse response;
+    private ObjectMapper apiMapper;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(67890L);
+        user.setUsername("asha.rao");
+        user.setEmail("asha.rao@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuJ0a1b2c3d4e5f6g7h8i9j0k1l2m3n4o");
+        user.setFirstName("Asha");
+        user.setLastName("Rao");
+        user.setPhoneNumber("+91-9800000000");
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setRoles(List.of(User.UserRole.CUSTOMER));
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        user.setUpdatedAt(LocalDateTime.of(2024, 6, 10, 8, 0));
+        response = new UserResponse(user);
+        apiMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public UserResponse fromEntity() {
+        return new UserResponse(user);
+    }
+
+    @Benchmark
+    public UserResponse fromProjection() {
+        return new UserResponse(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getPhoneNumber(), user.getStatus(), user.getRoleMask(),
+                user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    @Benchmark
+    public byte[] toApiJson() throws Exception {
+        return apiMapper.writeValueAsBytes(response);
+    }
+}
\ No newline at end of file
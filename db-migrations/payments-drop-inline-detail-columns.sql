@@ -0,0 +1,12 @@
+-- Contract step for the payment_details split (payment-service, ecommerce_payments).
+--
+-- Run manually, never from application startup, and only once:
+--   1. every payment-service instance runs the release that writes payment_details, and
+--   2. PaymentDetailMigration has logged "Copied inline gateway details ..." after the last old
+--      instance stopped (a resync pass runs every PAYMENT_DETAIL_MIGRATION_RESYNC_INTERVAL_MS).
+-- Instances stop resyncing on their own once the columns are gone.
+
+ALTER TABLE payments
+    DROP COLUMN gateway_response,
+    DROP COLUMN error_message,
+    DROP COLUMN razorpay_signature;
\ No newline at end of file
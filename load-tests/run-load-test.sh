@@ -0,0 +1,27 @@
+#!/bin/bash
+
+# E-Commerce Microservices Platform - End-to-End Load Test
+# Boots product-catalog-service, user-service and payment-service in one JVM against H2 (MySQL
+# mode), an embedded Kafka broker, an in-memory search stand-in and the Razorpay stub, then drives
+# one scripted mix at a fixed arrival rate.
+#
+#   ./run-load-test.sh [--build] [--mix=browse-heavy|checkout-heavy|signup-burst] [--rate=<req/s>]
+#                      [--duration=60s] [--warmup=15s] [--products=5000] [--users=200]
+#                      [--max-in-flight=2000] [--search-latency=2ms] [--razorpay-latency=80ms]
+#                      [--razorpay-jitter=40ms] [--output=target/load-test]
+#
+# Prints p50/p99/p99.9/max and throughput per endpoint; the same numbers go to
+# <output>/<mix>-<timestamp>.json.
+
+set -e
+
+DIR=$(cd "$(dirname "$0")" && pwd)
+ROOT=$(cd "${DIR}/.." && pwd)
+
+if [ "$1" = --build ]; then
+    shift
+    (cd "${ROOT}" && mvn -B -q install -DskipTests -pl load-tests -am)
+fi
+
+cd "${DIR}"
+mvn -B -q exec:java -Dexec.args="$*"
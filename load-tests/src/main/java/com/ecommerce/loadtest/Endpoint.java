@@ -0,0 +1,77 @@
+package com.ecommerce.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * The calls the mixes are made of, each reported under its own label. Path variables are templated
+ * in the label so results aggregate per route rather than per id.
+ */
+enum Endpoint {
+
+    PRODUCT_BY_ID("GET /api/products/{id}", workload ->
+            get(workload.productBaseUrl + "/api/products/" + workload.popularProductId())),
+
+    PRODUCTS_BY_CATEGORY("GET /api/products/category/{category}", workload ->
+            get(workload.productBaseUrl + "/api/products/category/" + workload.anyCategory()
+                    + "?page=" + ThreadLocalRandom.current().nextInt(3) + "&size=20")),
+
+    PRODUCT_SEARCH("GET /api/products/search", workload ->
+            get(workload.productBaseUrl + "/api/products/search?q=" + workload.anySearchTerm() + "&page=0&size=20")),
+
+    USER_BY_ID("GET /api/users/{id}", workload ->
+            get(workload.userBaseUrl + "/api/users/" + workload.anyUserId())),
+
+    USER_REGISTER("POST /api/users/register", workload -> {
+        String name = "lt" + workload.nextUnique().replace("-", "");
+        return post(workload.userBaseUrl + "/api/users/register", null, """
+                {"username":"%s","email":"%s@loadtest.local","password":"LoadTest#2024","firstName":"Load","lastName":"Test"}"""
+                .formatted(name, name));
+    }),
+
+    PAYMENT_CREATE("POST /api/payments/create", workload -> {
+        long orderId = workload.nextOrderId();
+        int paise = 100 + ThreadLocalRandom.current().nextInt(500_000);
+        return post(workload.paymentBaseUrl + "/api/payments/create", "lt-" + orderId, """
+                {"orderId":"%d","userId":%d,"amount":%d.%02d,"currency":"INR"}"""
+                .formatted(orderId, workload.anyUserId(), paise / 100, paise % 100));
+    }),
+
+    PAYMENT_HISTORY("GET /api/payments/history/users/{userId}", workload ->
+            get(workload.paymentBaseUrl + "/api/payments/history/users/" + workload.anyUserId() + "?limit=20"));
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String label;
+    private final Function<Workload, HttpRequest> request;
+
+    Endpoint(String label, Function<Workload, HttpRequest> request) {
+        this.label = label;
+        this.request = request;
+    }
+
+    String label() { return label; }
+
+    HttpRequest request(Workload workload) {
+        return request.apply(workload);
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET().build();
+    }
+
+    private static HttpRequest post(String uri, String idempotencyKey, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri)).timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.repository.ProductElasticsearchRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * Stand-in for {@link ProductElasticsearchRepository}: products indexed by the service are kept in
+ * a map and the search methods are answered by scanning it, after a fixed delay standing in for
+ * the Elasticsearch round trip. Matching is a case-insensitive substring match per query term,
+ * which is enough to exercise the endpoints, not to compare relevance.
+ */
+final class InMemoryProductSearch implements InvocationHandler {
+
+    private final Map<Long, Product> index = new ConcurrentHashMap<>();
+    private final long latencyNanos;
+
+    private InMemoryProductSearch(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    static ProductElasticsearchRepository create(Duration latency) {
+        return (ProductElasticsearchRepository) Proxy.newProxyInstance(InMemoryProductSearch.class.getClassLoader(),
+                new Class<?>[] {ProductElasticsearchRepository.class}, new InMemoryProductSearch(latency));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> "InMemoryProductSearch[" + index.size() + " products]";
+            };
+        }
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        switch (method.getName()) {
+            case "save":
+                Product product = (Product) args[0];
+                index.put(product.getId(), product);
+                return product;
+            case "saveAll":
+                ((Iterable<?>) args[0]).forEach(each -> index.put(((Product) each).getId(), (Product) each));
+                return args[0];
+            case "deleteById":
+                index.remove((Long) args[0]);
+                return null;
+            case "delete":
+                index.remove(((Product) args[0]).getId());
+                return null;
+            case "deleteAll":
+                index.clear();
+                return null;
+            case "findById":
+                return Optional.ofNullable(index.get((Long) args[0]));
+            case "existsById":
+                return index.containsKey((Long) args[0]);
+            case "count":
+                return (long) index.size();
+            case "searchProducts":
+                return page(matchesText((String) args[0]), (Pageable) args[1]);
+            case "searchProductsByCategory":
+                return page(matchesText((String) args[0]).and(inCategory((String) args[1])), (Pageable) args[2]);
+            case "findByNameContainingOrDescriptionContaining":
+                return page(matchesText((String) args[0]).or(matchesText((String) args[1])), (Pageable) args[2]);
+            case "findByCategory":
+                return page(inCategory((String) args[0]), (Pageable) args[1]);
+            case "findByBrand":
+                return page(p -> equalsIgnoreCase(p.getBrand(), (String) args[0]), (Pageable) args[1]);
+            case "findByTagsContaining":
+                return page(p -> p.getTags() != null && p.getTags().stream().anyMatch(tag -> equalsIgnoreCase(tag, (String) args[0])),
+                        (Pageable) args[1]);
+            case "findByPriceRange":
+                return page(inPriceRange((BigDecimal) args[0], (BigDecimal) args[1]), (Pageable) args[2]);
+            case "findByCategoryAndPriceRange":
+                return page(inCategory((String) args[0]).and(inPriceRange((BigDecimal) args[1], (BigDecimal) args[2])),
+                        (Pageable) args[3]);
+            case "findByFeaturedTrue":
+                return page(p -> Boolean.TRUE.equals(p.getFeatured()), (Pageable) args[0]);
+            case "findByRatingGreaterThan":
+                return page(p -> p.getRating() != null && p.getRating() > (Double) args[0], (Pageable) args[1]);
+            default:
+                throw new UnsupportedOperationException("Search stand-in does not implement " + method.getName());
+        }
+    }
+
+    private Page<Product> page(Predicate<Product> filter, Pageable pageable) {
+        List<Product> matches = new ArrayList<>();
+        for (Product product : index.values()) {
+            if (filter.test(product)) {
+                matches.add(product);
+            }
+        }
+        matches.sort(Comparator.comparing(Product::getId));
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(matches, pageable, matches.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(new ArrayList<>(matches.subList(from, to)), pageable, matches.size());
+    }
+
+    private static Predicate<Product> matchesText(String query) {
+        String[] terms = query == null ? new String[0] : query.toLowerCase(Locale.ROOT).split("\\s+");
+        return product -> {
+            for (String term : terms) {
+                if (!term.isEmpty() && (contains(product.getName(), term) || contains(product.getDescription(), term)
+                        || contains(product.getBrand(), term)
+                        || (product.getTags() != null && product.getTags().stream().anyMatch(tag -> contains(tag, term))))) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static Predicate<Product> inCategory(String category) {
+        return product -> equalsIgnoreCase(product.getCategory(), category);
+    }
+
+    private static Predicate<Product> inPriceRange(BigDecimal min, BigDecimal max) {
+        return product -> product.getPrice() != null
+                && (min == null || product.getPrice().compareTo(min) >= 0)
+                && (max == null || product.getPrice().compareTo(max) <= 0);
+    }
+
+    private static boolean contains(String value, String lowerCaseTerm) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    private static boolean equalsIgnoreCase(String a, String b) {
+        return a != null && a.equalsIgnoreCase(b);
+    }
+}
\ No newline at end of file
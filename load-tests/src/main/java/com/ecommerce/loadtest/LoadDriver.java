@@ -0,0 +1,125 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model driver: requests are started on a fixed schedule whether or not earlier ones have
+ * returned, and each latency is measured from the time the request was scheduled to start, not the
+ * time it was actually sent. A stall in the services therefore shows up in every request it held
+ * back instead of only the one that hit it (coordinated omission). Requests scheduled while
+ * {@code max-in-flight} are outstanding are not sent and are reported as dropped.
+ */
+final class LoadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    // Microseconds; anything slower than the request timeout is an error anyway
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadDriver(HttpClient client, Workload workload, int maxInFlight) {
+        this.client = client;
+        this.workload = workload;
+        this.maxInFlight = maxInFlight;
+    }
+
+    LoadReport run(Mix mix, double ratePerSecond, Duration warmup, Duration duration) {
+        if (!warmup.isZero()) {
+            logger.info("Warming up {} at {} req/s for {}", mix.id(), ratePerSecond, warmup);
+            // Recorded into its own stats, which are thrown away
+            drive(mix, ratePerSecond, warmup, newStats(mix));
+            awaitInFlight();
+        }
+        logger.info("Measuring {} at {} req/s for {}", mix.id(), ratePerSecond, duration);
+        Map<Endpoint, EndpointStats> stats = newStats(mix);
+        long startNanos = System.nanoTime();
+        drive(mix, ratePerSecond, duration, stats);
+        awaitInFlight();
+        return LoadReport.of(mix, ratePerSecond, Duration.ofNanos(System.nanoTime() - startNanos), stats);
+    }
+
+    private void drive(Mix mix, double ratePerSecond, Duration duration, Map<Endpoint, EndpointStats> stats) {
+        double intervalNanos = 1_000_000_000d / ratePerSecond;
+        long startNanos = System.nanoTime();
+        long total = (long) (duration.toNanos() / intervalNanos);
+        for (long i = 0; i < total; i++) {
+            long intendedStart = startNanos + (long) (i * intervalNanos);
+            long delay;
+            while ((delay = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            Endpoint endpoint = mix.next();
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (inFlight.get() >= maxInFlight) {
+                endpointStats.dropped.increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(endpoint.request(workload), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.decrementAndGet();
+                        endpointStats.record(intendedStart, System.nanoTime(), response, error);
+                    });
+        }
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + Endpoint.REQUEST_TIMEOUT.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            logger.warn("{} requests still outstanding after the request timeout", inFlight.get());
+        }
+    }
+
+    private static Map<Endpoint, EndpointStats> newStats(Mix mix) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : mix.endpoints()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        return stats;
+    }
+
+    static final class EndpointStats {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        // "2xx", "4xx", "5xx" or the exception's simple name
+        final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        void record(long intendedStart, long endNanos, HttpResponse<?> response, Throwable error) {
+            latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (endNanos - intendedStart) / 1_000));
+            String outcome;
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                outcome = cause.getClass().getSimpleName();
+                errors.increment();
+            } else {
+                outcome = (response.statusCode() / 100) + "xx";
+                if (response.statusCode() >= 400) {
+                    errors.increment();
+                }
+            }
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+    }
+}
\ No newline at end of file
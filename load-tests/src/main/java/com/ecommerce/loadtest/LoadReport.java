@@ -0,0 +1,103 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-endpoint results of one measured run: requests completed, errors, dropped, throughput and
+ * p50/p99/p99.9/max latency in milliseconds. Printed as a table and written as JSON so runs can be
+ * compared after the fact.
+ */
+record LoadReport(String mix, double targetRate, double elapsedSeconds, List<Row> endpoints, Row total) {
+
+    record Row(String endpoint, long requests, long errors, long dropped, double throughput,
+               double p50Millis, double p99Millis, double p999Millis, double maxMillis, Map<String, Long> outcomes) {
+
+        static Row of(String endpoint, Histogram latency, long errors, long dropped, Map<String, Long> outcomes,
+                      double elapsedSeconds) {
+            return new Row(endpoint, latency.getTotalCount(), errors, dropped,
+                    latency.getTotalCount() / elapsedSeconds,
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()),
+                    outcomes);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000d;
+        }
+    }
+
+    static LoadReport of(Mix mix, double targetRate, Duration elapsed, Map<Endpoint, LoadDriver.EndpointStats> stats) {
+        double elapsedSeconds = elapsed.toNanos() / 1e9;
+        List<Row> rows = new ArrayList<>();
+        Histogram all = null;
+        long errors = 0;
+        long dropped = 0;
+        Map<String, Long> outcomes = new TreeMap<>();
+        for (Map.Entry<Endpoint, LoadDriver.EndpointStats> entry : stats.entrySet()) {
+            LoadDriver.EndpointStats endpointStats = entry.getValue();
+            Histogram latency = endpointStats.latency.copy();
+            Map<String, Long> endpointOutcomes = new TreeMap<>();
+            endpointStats.outcomes.forEach((outcome, count) -> endpointOutcomes.put(outcome, count.sum()));
+            rows.add(Row.of(entry.getKey().label(), latency, endpointStats.errors.sum(), endpointStats.dropped.sum(),
+                    endpointOutcomes, elapsedSeconds));
+            if (all == null) {
+                all = latency.copy();
+            } else {
+                all.add(latency);
+            }
+            errors += endpointStats.errors.sum();
+            dropped += endpointStats.dropped.sum();
+            endpointOutcomes.forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+        }
+        return new LoadReport(mix.id(), targetRate, elapsedSeconds, rows,
+                Row.of("TOTAL", all, errors, dropped, outcomes, elapsedSeconds));
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nMix %s, target %.0f req/s, measured over %.1f s (latency from intended start, ms)%n",
+                mix, targetRate, elapsedSeconds);
+        String format = "%-42s %9s %7s %7s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "endpoint", "requests", "errors", "dropped", "req/s", "p50", "p99", "p99.9", "max");
+        for (Row row : endpoints) {
+            printRow(out, row);
+        }
+        printRow(out, total);
+        out.println("Outcomes: " + total.outcomes());
+    }
+
+    private static void printRow(PrintStream out, Row row) {
+        out.printf("%-42s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", row.endpoint(), row.requests(), row.errors(),
+                row.dropped(), row.throughput(), row.p50Millis(), row.p99Millis(), row.p999Millis(), row.maxMillis());
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(mix + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("mix", mix);
+        document.put("targetRate", targetRate);
+        document.put("elapsedSeconds", elapsedSeconds);
+        document.put("endpoints", endpoints);
+        document.put("total", total);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+        return file;
+    }
+}
\ No newline at end of file
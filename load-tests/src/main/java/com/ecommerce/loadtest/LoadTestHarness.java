@@ -0,0 +1,82 @@
+package com.ecommerce.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the local stack, seeds it, drives one scripted mix at a fixed arrival rate and reports
+ * latency percentiles and throughput per endpoint.
+ *
+ * <pre>
+ * mvn -pl load-tests exec:java -Dexec.args="--mix=checkout-heavy --rate=200 --duration=60s"
+ * </pre>
+ */
+public final class LoadTestHarness {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    record Options(Mix mix, double rate, Duration duration, Duration warmup, int products, int users,
+                   int maxInFlight, Duration searchLatency, Duration razorpayLatency, Duration razorpayJitter,
+                   Path output) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got '" + arg + "'");
+                }
+                values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            Mix mix = Mix.fromId(values.getOrDefault("mix", Mix.BROWSE_HEAVY.id()));
+            return new Options(mix,
+                    Double.parseDouble(values.getOrDefault("rate", Double.toString(mix.defaultRate()))),
+                    duration(values.getOrDefault("duration", mix.defaultDurationSeconds() + "s")),
+                    duration(values.getOrDefault("warmup", "15s")),
+                    Integer.parseInt(values.getOrDefault("products", "5000")),
+                    Integer.parseInt(values.getOrDefault("users", "200")),
+                    Integer.parseInt(values.getOrDefault("max-in-flight", "2000")),
+                    duration(values.getOrDefault("search-latency", "2ms")),
+                    duration(values.getOrDefault("razorpay-latency", "80ms")),
+                    duration(values.getOrDefault("razorpay-jitter", "40ms")),
+                    Path.of(values.getOrDefault("output", "target/load-test")));
+        }
+
+        private static Duration duration(String value) {
+            return DurationStyle.detectAndParse(value);
+        }
+    }
+
+    private LoadTestHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadReport report;
+        ExecutorService responseExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try (LocalStack stack = LocalStack.start(options)) {
+            Workload workload = Workload.seed(stack, options.products(), options.users());
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(responseExecutor)
+                    .build();
+            report = new LoadDriver(client, workload, options.maxInFlight())
+                    .run(options.mix(), options.rate(), options.warmup(), options.duration());
+        } finally {
+            responseExecutor.shutdownNow();
+        }
+        report.print(System.out);
+        Path file = report.write(options.output());
+        logger.info("Results written to {}", file.toAbsolutePath());
+        // Kafka and servlet container threads are not all daemons
+        System.exit(report.total().requests() > 0 ? 0 : 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.payment.PaymentServiceApplication;
+import com.ecommerce.product.ProductCatalogServiceApplication;
+import com.ecommerce.product.repository.ProductElasticsearchRepository;
+import com.ecommerce.user.UserServiceApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * product-catalog-service, user-service and payment-service in this JVM, each on a random port
+ * with its own H2 database in MySQL mode, sharing an in-process Kafka broker. Elasticsearch is
+ * replaced by {@link InMemoryProductSearch}, Razorpay by payment-service's own stub server, Redis
+ * caches by in-memory ones, and Eureka and the config server are off. No service
+ * {@code application.yml} is read: everything the services need is passed here, so a run does
+ * not depend on the developer's environment.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStack.class);
+
+    static final String[] TOPICS = {"product-events", "user-events", "payment-events"};
+
+    private static final String EXCLUDED_AUTO_CONFIGURATION = String.join(",",
+            "org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchClientAutoConfiguration",
+            "org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchRestClientAutoConfiguration",
+            "org.springframework.boot.autoconfigure.elasticsearch.ReactiveElasticsearchClientAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.elasticsearch.ElasticsearchDataAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.elasticsearch.ElasticsearchRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.elasticsearch.ReactiveElasticsearchRepositoriesAutoConfiguration");
+
+    private final EmbeddedKafkaBroker kafka;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    private ConfigurableApplicationContext product;
+    private ConfigurableApplicationContext user;
+    private ConfigurableApplicationContext payment;
+
+    private LocalStack(EmbeddedKafkaBroker kafka) {
+        this.kafka = kafka;
+    }
+
+    static LocalStack start(LoadTestHarness.Options options) {
+        long startNanos = System.nanoTime();
+        EmbeddedKafkaBroker kafka = new EmbeddedKafkaKraftBroker(1, 3, TOPICS);
+        kafka.afterPropertiesSet();
+        LocalStack stack = new LocalStack(kafka);
+        try {
+            ProductElasticsearchRepository search = InMemoryProductSearch.create(options.searchLatency());
+            stack.product = stack.boot(ProductCatalogServiceApplication.class, "product-catalog-service", List.of(
+                    "--product.cache-warmup.enabled=false",
+                    // Hot-product counts go to Redis, which is not stood in for; flush once a day at most
+                    "--product.cache-warmup.flush-interval-ms=86400000"),
+                    context -> context.registerBean("productElasticsearchRepository",
+                            ProductElasticsearchRepository.class, () -> search));
+
+            stack.user = stack.boot(UserServiceApplication.class, "user-service", List.of(), context -> { });
+
+            int razorpayPort = freePort();
+            stack.payment = stack.boot(PaymentServiceApplication.class, "payment-service", List.of(
+                    "--spring.profiles.active=razorpay-stub",
+                    "--razorpay.stub.port=" + razorpayPort,
+                    "--razorpay.base-url=http://localhost:" + razorpayPort + "/v1",
+                    "--razorpay.key-id=rzp_test_loadtest",
+                    "--razorpay.key-secret=loadtest_secret",
+                    "--razorpay.stub.latency-ms=" + options.razorpayLatency().toMillis(),
+                    "--razorpay.stub.jitter-ms=" + options.razorpayJitter().toMillis()),
+                    context -> { });
+        } catch (RuntimeException e) {
+            stack.close();
+            throw e;
+        }
+        logger.info("Local stack up in {} ms (Kafka at {})", (System.nanoTime() - startNanos) / 1_000_000,
+                kafka.getBrokersAsString());
+        return stack;
+    }
+
+    ConfigurableApplicationContext product() { return product; }
+
+    ConfigurableApplicationContext user() { return user; }
+
+    ConfigurableApplicationContext payment() { return payment; }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() {
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            try {
+                contexts.get(i).close();
+            } catch (RuntimeException e) {
+                logger.warn("Could not stop {}: {}", contexts.get(i).getId(), e.getMessage());
+            }
+        }
+        kafka.destroy();
+    }
+
+    private ConfigurableApplicationContext boot(Class<?> application, String name, List<String> extraArgs,
+                                                Consumer<GenericApplicationContext> customizer) {
+        long startNanos = System.nanoTime();
+        String database = name.replace("-", "_");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.application.name=" + name,
+                // Not application: the services' own application.yml files are not read
+                "--spring.config.name=load-test",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.jmx.enabled=false",
+                "--spring.cloud.config.enabled=false",
+                "--spring.cloud.config.import-check.enabled=false",
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:" + database
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                "--spring.kafka.producer.key-serializer=org.apache.kafka.common.serialization.StringSerializer",
+                "--spring.kafka.producer.value-serializer=org.springframework.kafka.support.serializer.JsonSerializer",
+                "--spring.kafka.consumer.group-id=" + name + "-group",
+                "--spring.kafka.consumer.auto-offset-reset=earliest",
+                "--spring.kafka.consumer.key-deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                "--spring.kafka.consumer.value-deserializer=org.springframework.kafka.support.serializer.JsonDeserializer",
+                "--spring.kafka.consumer.properties.spring.json.trusted.packages=*",
+                "--spring.cache.type=simple",
+                "--spring.data.elasticsearch.repositories.enabled=false",
+                "--spring.data.redis.repositories.enabled=false",
+                "--spring.autoconfigure.exclude=" + EXCLUDED_AUTO_CONFIGURATION,
+                "--management.health.redis.enabled=false",
+                "--management.health.elasticsearch.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(extraArgs);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .initializers(applicationContext -> customizer.accept((GenericApplicationContext) applicationContext))
+                .run(args.toArray(new String[0]));
+        contexts.add(context);
+        logger.info("{} started on {} in {} ms", name, baseUrl(context), (System.nanoTime() - startNanos) / 1_000_000);
+        return context;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
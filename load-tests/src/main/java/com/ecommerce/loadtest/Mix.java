@@ -0,0 +1,77 @@
+package com.ecommerce.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scripted traffic mixes: each request the driver sends is one endpoint drawn by weight. The
+ * default rate and duration are only used when the command line does not set them.
+ */
+enum Mix {
+
+    BROWSE_HEAVY("browse-heavy", 400, 60, Map.of(
+            Endpoint.PRODUCT_BY_ID, 50,
+            Endpoint.PRODUCTS_BY_CATEGORY, 20,
+            Endpoint.PRODUCT_SEARCH, 20,
+            Endpoint.USER_BY_ID, 10)),
+
+    CHECKOUT_HEAVY("checkout-heavy", 150, 60, Map.of(
+            Endpoint.PRODUCT_BY_ID, 30,
+            Endpoint.USER_BY_ID, 20,
+            Endpoint.PAYMENT_CREATE, 35,
+            Endpoint.PAYMENT_HISTORY, 15)),
+
+    // Registration is dominated by password hashing, so a modest rate is already a burst
+    SIGNUP_BURST("signup-burst", 40, 30, Map.of(
+            Endpoint.USER_REGISTER, 80,
+            Endpoint.PRODUCT_BY_ID, 20));
+
+    private final String id;
+    private final double defaultRate;
+    private final int defaultDurationSeconds;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    Mix(String id, double defaultRate, int defaultDurationSeconds, Map<Endpoint, Integer> weights) {
+        this.id = id;
+        this.defaultRate = defaultRate;
+        this.defaultDurationSeconds = defaultDurationSeconds;
+        // EnumMap so endpoints are always listed in declaration order
+        Map<Endpoint, Integer> ordered = new EnumMap<>(weights);
+        this.endpoints = ordered.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += ordered.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    static Mix fromId(String id) {
+        return Arrays.stream(values())
+                .filter(mix -> mix.id.equalsIgnoreCase(id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown mix '" + id + "', expected one of "
+                        + Arrays.stream(values()).map(Mix::id).toList()));
+    }
+
+    Endpoint next() {
+        int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    Endpoint[] endpoints() { return endpoints.clone(); }
+
+    String id() { return id; }
+
+    double defaultRate() { return defaultRate; }
+
+    int defaultDurationSeconds() { return defaultDurationSeconds; }
+}
\ No newline at end of file
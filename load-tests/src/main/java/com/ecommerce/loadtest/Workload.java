@@ -0,0 +1,104 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.service.ProductService;
+import com.ecommerce.user.dto.UserRegistrationRequest;
+import com.ecommerce.user.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeded data the scripted mixes draw from: product and user ids created through the services'
+ * own beans before the run, plus counters for values that must be unique per request (new
+ * usernames, order ids). Seeding uses a fixed random seed so two runs with the
+ * same arguments see the same catalog.
+ */
+final class Workload {
+
+    private static final Logger logger = LoggerFactory.getLogger(Workload.class);
+
+    static final String[] CATEGORIES = {"electronics", "books", "clothing", "home", "sports", "toys", "beauty", "grocery"};
+    static final String[] BRANDS = {"acme", "globex", "initech", "umbrella", "stark", "wayne"};
+    static final String[] SEARCH_TERMS = {"wireless", "cotton", "steel", "organic", "compact", "classic", "pro", "mini"};
+
+    final String productBaseUrl;
+    final String userBaseUrl;
+    final String paymentBaseUrl;
+
+    private final long[] productIds;
+    private final long[] userIds;
+    // Unique per run so a second run against the same stack does not collide
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    // Order ids must be numeric; starting from the clock keeps them apart between runs
+    private final AtomicLong orderIds = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private Workload(LocalStack stack, long[] productIds, long[] userIds) {
+        this.productBaseUrl = LocalStack.baseUrl(stack.product());
+        this.userBaseUrl = LocalStack.baseUrl(stack.user());
+        this.paymentBaseUrl = LocalStack.baseUrl(stack.payment());
+        this.productIds = productIds;
+        this.userIds = userIds;
+    }
+
+    static Workload seed(LocalStack stack, int products, int users) {
+        long startNanos = System.nanoTime();
+        Random random = new Random(42);
+        ProductService productService = stack.product().getBean(ProductService.class);
+        long[] productIds = new long[products];
+        for (int i = 0; i < products; i++) {
+            String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+            Product product = new Product(term + " product " + i, "Load test " + term + " item number " + i,
+                    BigDecimal.valueOf(100 + random.nextInt(99_900), 2), 1_000_000,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            product.setBrand(BRANDS[random.nextInt(BRANDS.length)]);
+            product.setTags(List.of(term));
+            product.setRating(1 + random.nextInt(40) / 10.0);
+            product.setFeatured(random.nextInt(20) == 0);
+            productIds[i] = productService.createProduct(product).getId();
+        }
+
+        UserService userService = stack.user().getBean(UserService.class);
+        List<Long> userIds = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userIds.add(userService.registerUser(new UserRegistrationRequest("seed" + i, "seed" + i + "@loadtest.local",
+                    "LoadTest#" + i, "Seed", "User" + i)).getId());
+        }
+        logger.info("Seeded {} products and {} users in {} ms", products, users,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return new Workload(stack, productIds, userIds.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    // Skewed towards the first ids so some products are hot and caches see repeat hits
+    long popularProductId() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        return productIds[(int) (r * r * r * productIds.length)];
+    }
+
+    long anyUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    String anyCategory() {
+        return CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+    }
+
+    String anySearchTerm() {
+        return SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+    }
+
+    long nextOrderId() {
+        return orderIds.incrementAndGet();
+    }
+
+    String nextUnique() {
+        return runId + "-" + sequence.incrementAndGet();
+    }
+}
\ No newline at end of file
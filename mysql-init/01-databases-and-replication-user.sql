@@ -0,0 +1,10 @@
+-- Runs once, on the primary's first start (empty data volume)
+
+-- The databases the services use; created here so they replicate from the first transaction
+CREATE DATABASE IF NOT EXISTS ecommerce_users;
+CREATE DATABASE IF NOT EXISTS ecommerce_products;
+CREATE DATABASE IF NOT EXISTS ecommerce_payments;
+
+-- Account the replica (docker-compose --profile replica) streams the binlog with
+CREATE USER IF NOT EXISTS 'replicator'@'%' IDENTIFIED BY 'replicator';
+GRANT REPLICATION SLAVE ON *.* TO 'replicator'@'%';
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- Runs once, on the replica's first start (empty data volume). With GTID auto-positioning the
+-- replica fetches every transaction the primary has logged, so schema and data arrive without a dump
+-- as long as the primary was also started on an empty volume with GTIDs on.
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'mysql',
+    SOURCE_PORT = 3306,
+    SOURCE_USER = 'replicator',
+    SOURCE_PASSWORD = 'replicator',
+    SOURCE_AUTO_POSITION = 1,
+    SOURCE_CONNECT_RETRY = 10,
+    GET_SOURCE_PUBLIC_KEY = 1;
+
+START REPLICA;
\ No newline at end of file
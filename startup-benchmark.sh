@@ -0,0 +1,177 @@
+#!/bin/bash
+
+# E-Commerce Microservices Platform - Startup Benchmark
+# Measures time-to-ready for each service module in each startup mode:
+#
+#   default  java -jar, as built
+#   lazy     lazy bean initialization + deferred JPA repository bootstrap
+#   cds      class data sharing archive from a training run, on the unpacked class path
+#   aot      Spring AOT initializers (needs a jar built with -Paot; --build does that)
+#   fast     lazy + cds + aot
+#
+# Time-to-ready runs from launching the JVM to the first 200 from /actuator/health/readiness.
+# Infrastructure (MySQL, Redis, Kafka, Elasticsearch) and discovery-service must already be up,
+# see README "Quick Start".
+#
+# Usage: ./startup-benchmark.sh [--runs N] [--modes default,lazy,...] [--build] [module ...]
+
+set -e
+
+RUNS=5
+MODES="default,lazy,cds,aot,fast"
+BUILD=false
+READY_TIMEOUT_SECONDS=180
+MODULES=()
+
+while [ $# -gt 0 ]; do
+    case "$1" in
+        --runs) RUNS=$2; shift 2 ;;
+        --modes) MODES=$2; shift 2 ;;
+        --build) BUILD=true; shift ;;
+        -h|--help) sed -n '3,18p' "$0" | sed 's/^# \{0,1\}//'; exit 0 ;;
+        *) MODULES+=("$1"); shift ;;
+    esac
+done
+
+if [ ${#MODULES[@]} -eq 0 ]; then
+    MODULES=(user-service product-catalog-service order-service payment-service email-service api-gateway)
+fi
+
+ROOT=$(cd "$(dirname "$0")" && pwd)
+WORK="${ROOT}/target/startup-benchmark"
+mkdir -p "${WORK}"
+
+COMMON_OPTS=(-Dmanagement.endpoint.health.probes.enabled=true -Dmanagement.endpoints.web.exposure.include=health)
+LAZY_OPTS=(-Dspring.main.lazy-initialization=true -Dspring.data.jpa.repositories.bootstrap-mode=deferred)
+AOT_OPTS=(-Dspring.aot.enabled=true)
+
+port_of() {
+    case "$1" in
+        api-gateway) echo 8080 ;;
+        user-service) echo 8081 ;;
+        product-catalog-service) echo 8082 ;;
+        order-service) echo 8083 ;;
+        payment-service) echo 8084 ;;
+        notification-service) echo 8085 ;;
+        email-service) echo 8086 ;;
+        search-service) echo 8087 ;;
+        *) echo "Unknown module $1" >&2; exit 1 ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { if (NR > 0) print values[int((NR + 1) / 2)] }'
+}
+
+# Same layout the Dockerfile builds: lib/application.jar + libraries, an argfile with the class path
+unpack() {
+    local jar=$1 dir=$2
+    rm -rf "${dir}" && mkdir -p "${dir}/lib"
+    (
+        cd "${dir}"
+        jar -xf "${jar}"
+        mv BOOT-INF/lib/*.jar lib/
+        jar -cf lib/application.jar -C BOOT-INF/classes .
+        sed -n 's/^Start-Class: *//p' META-INF/MANIFEST.MF | tr -d '\r' > main-class
+        echo "-cp lib/application.jar:$(sed -n 's#^- "BOOT-INF/lib/\(.*\)"#lib/\1#p' BOOT-INF/classpath.idx | tr -d '\r' | paste -sd: -)" > classpath
+        rm -rf BOOT-INF META-INF org
+    )
+}
+
+# Starts the service, waits for readiness and stops it; prints "<ready ms> <spring started s>"
+run_once() {
+    local module=$1 port=$2 dir=$3; shift 3
+    local log="${WORK}/${module}.log"
+    local start=$(now_ms)
+    (cd "${dir}" && exec java "$@" --server.port="${port}") > "${log}" 2>&1 &
+    local pid=$!
+    until curl -sf "http://localhost:${port}/actuator/health/readiness" > /dev/null 2>&1; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "failed"
+            return
+        fi
+        if [ $(( $(now_ms) - start )) -gt $(( READY_TIMEOUT_SECONDS * 1000 )) ]; then
+            kill "${pid}" 2> /dev/null; wait "${pid}" 2> /dev/null || true
+            echo "timeout"
+            return
+        fi
+        sleep 0.05
+    done
+    local ready=$(( $(now_ms) - start ))
+    kill "${pid}" 2> /dev/null; wait "${pid}" 2> /dev/null || true
+    local started=$(sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' "${log}" | tail -1)
+    echo "${ready} ${started:--}"
+}
+
+# Training run against the running infrastructure, with the options the archive will be used with
+train() {
+    local dir=$1 archive=$2; shift 2
+    rm -f "${dir}/${archive}"
+    (cd "${dir}" && java -XX:ArchiveClassesAtExit="${archive}" -Dspring.context.exit=onRefresh "$@" \
+        @classpath "$(cat main-class)") > "${WORK}/training.log" 2>&1 || true
+    [ -f "${dir}/${archive}" ]
+}
+
+if [ "${BUILD}" = true ]; then
+    echo "📦 Building ${MODULES[*]} with -Paot"
+    (cd "${ROOT}" && mvn -q -B package -DskipTests -Paot -am -pl "$(IFS=,; echo "${MODULES[*]}")")
+fi
+
+printf "\n%-26s %-8s %6s %12s %12s %12s\n" "MODULE" "MODE" "RUNS" "READY p50 ms" "READY min ms" "STARTED p50 s"
+for module in "${MODULES[@]}"; do
+    port=$(port_of "${module}")
+    jar=$(ls "${ROOT}/${module}"/target/*.jar 2> /dev/null | head -1)
+    if [ -z "${jar}" ]; then
+        printf "%-26s no jar in %s/target (use --build)\n" "${module}" "${module}"
+        continue
+    fi
+    unpacked="${WORK}/${module}"
+    unpack "${jar}" "${unpacked}"
+
+    for mode in ${MODES//,/ }; do
+        args=("${COMMON_OPTS[@]}")
+        case "${mode}" in
+            default) ;;
+            lazy) args+=("${LAZY_OPTS[@]}") ;;
+            cds) args+=(-XX:SharedArchiveFile=cds.jsa) ;;
+            aot) args+=("${AOT_OPTS[@]}") ;;
+            fast) args+=("${LAZY_OPTS[@]}" "${AOT_OPTS[@]}" -XX:SharedArchiveFile=fast.jsa) ;;
+            *) echo "Unknown mode ${mode}" >&2; exit 1 ;;
+        esac
+        if [ "${mode}" = cds ] && ! train "${unpacked}" cds.jsa "${COMMON_OPTS[@]}"; then
+            printf "%-26s %-8s training run produced no archive, see %s\n" "${module}" "${mode}" "${WORK}/training.log"
+            continue
+        fi
+        if [ "${mode}" = fast ] && ! train "${unpacked}" fast.jsa "${COMMON_OPTS[@]}" "${LAZY_OPTS[@]}" "${AOT_OPTS[@]}"; then
+            printf "%-26s %-8s training run produced no archive, see %s\n" "${module}" "${mode}" "${WORK}/training.log"
+            continue
+        fi
+        if [ "${mode}" = default ] || [ "${mode}" = lazy ] || [ "${mode}" = aot ]; then
+            launch=("${args[@]}" -jar "${jar}")
+        else
+            launch=("${args[@]}" @classpath "$(cat "${unpacked}/main-class")")
+        fi
+
+        ready=()
+        started=()
+        for ((run = 1; run <= RUNS; run++)); do
+            result=$(run_once "${module}" "${port}" "${unpacked}" "${launch[@]}")
+            case "${result}" in
+                failed|timeout) ;;
+                *) ready+=("${result% *}"); started+=("${result#* }") ;;
+            esac
+        done
+        if [ ${#ready[@]} -eq 0 ]; then
+            printf "%-26s %-8s %6s %12s  (see %s)\n" "${module}" "${mode}" "0/${RUNS}" "-" "${WORK}/${module}.log"
+            continue
+        fi
+        printf "%-26s %-8s %6s %12s %12s %12s\n" "${module}" "${mode}" "${#ready[@]}/${RUNS}" \
+            "$(printf '%s\n' "${ready[@]}" | median)" \
+            "$(printf '%s\n' "${ready[@]}" | sort -n | head -1)" \
+            "$(printf '%s\n' "${started[@]}" | grep -v '^-$' | median)"
+    done
+done
@@ -0,0 +1,146 @@
+#!/bin/bash
+
+# E-Commerce Microservices Platform - Virtual Thread Benchmark
+# Runs the same HTTP workload against a service in each execution mode and compares them:
+#
+#   platform  Tomcat's platform thread pool (server.tomcat.threads.max, 200 by default)
+#   virtual   spring.threads.virtual.enabled=true: requests, @Async and Kafka listeners on
+#             virtual threads (needs java 21 on the PATH)
+#
+# Both modes get the same connection pool size, so the difference is only how waiting requests
+# are parked. Load comes from `hey` (https://github.com/rakyll/hey) with --concurrency
+# connections for --duration after a warm-up; pick a concurrency above the Tomcat pool size to
+# see the difference. Infrastructure and discovery-service must already be up, see README
+# "Quick Start"; the endpoint must answer 2xx for the ids it is given.
+#
+# Usage: ./virtual-threads-benchmark.sh [--concurrency N] [--duration 30s] [--path /api/...]
+#                                       [--warmup 10s] [--pool-size 20] [--modes platform,virtual] [module ...]
+
+set -e
+
+CONCURRENCY=400
+DURATION=30s
+WARMUP=10s
+MODES="platform,virtual"
+PATH_OVERRIDE=""
+POOL_SIZE=20
+READY_TIMEOUT_SECONDS=180
+MODULES=()
+
+while [ $# -gt 0 ]; do
+    case "$1" in
+        --concurrency) CONCURRENCY=$2; shift 2 ;;
+        --duration) DURATION=$2; shift 2 ;;
+        --warmup) WARMUP=$2; shift 2 ;;
+        --path) PATH_OVERRIDE=$2; shift 2 ;;
+        --pool-size) POOL_SIZE=$2; shift 2 ;;
+        --modes) MODES=$2; shift 2 ;;
+        -h|--help) sed -n '3,17p' "$0" | sed 's/^# \{0,1\}//'; exit 0 ;;
+        *) MODULES+=("$1"); shift ;;
+    esac
+done
+
+if [ ${#MODULES[@]} -eq 0 ]; then
+    MODULES=(user-service payment-service)
+fi
+
+if ! command -v hey > /dev/null; then
+    echo "❌ hey is not installed (go install github.com/rakyll/hey@latest)"
+    exit 1
+fi
+JAVA_FEATURE=$(java -XshowSettings:properties -version 2>&1 | sed -n 's/.*java.specification.version = \([0-9]*\).*/\1/p')
+if [ "${JAVA_FEATURE:-0}" -lt 21 ]; then
+    echo "⚠️  java on the PATH is older than 21; the virtual mode will run on platform threads"
+fi
+
+ROOT=$(cd "$(dirname "$0")" && pwd)
+WORK="${ROOT}/target/virtual-threads-benchmark"
+mkdir -p "${WORK}"
+
+COMMON_OPTS=(-Dmanagement.endpoint.health.probes.enabled=true
+    -Dmanagement.endpoints.web.exposure.include=health,metrics
+    -Dspring.datasource.hikari.maximum-pool-size="${POOL_SIZE}")
+
+port_of() {
+    case "$1" in
+        user-service) echo 8081 ;;
+        product-catalog-service) echo 8082 ;;
+        order-service) echo 8083 ;;
+        payment-service) echo 8084 ;;
+        email-service) echo 8086 ;;
+        *) echo "Unknown module $1" >&2; exit 1 ;;
+    esac
+}
+
+# Read-mostly endpoints that wait on MySQL; override with --path
+path_of() {
+    case "$1" in
+        user-service) echo /api/users/1 ;;
+        product-catalog-service) echo /api/products/1 ;;
+        order-service) echo /api/orders/1 ;;
+        payment-service) echo /api/payments/history/users/1 ;;
+        *) echo /actuator/health ;;
+    esac
+}
+
+wait_ready() {
+    local port=$1 pid=$2 waited=0
+    until curl -sf "http://localhost:${port}/actuator/health/readiness" > /dev/null 2>&1; do
+        if ! kill -0 "${pid}" 2> /dev/null || [ ${waited} -ge $(( READY_TIMEOUT_SECONDS * 10 )) ]; then
+            return 1
+        fi
+        sleep 0.1
+        waited=$(( waited + 1 ))
+    done
+}
+
+# Total seconds spent pinned, from VirtualThreadPinningMonitor (services using the common module)
+pinned_seconds() {
+    curl -sf "http://localhost:$1/actuator/metrics/app.threads.virtual.pinned" 2> /dev/null \
+        | sed -n 's/.*"statistic":"TOTAL_TIME","value":\([0-9.eE+-]*\).*/\1/p' || true
+}
+
+printf "\n%-24s %-9s %8s %10s %10s %10s %10s %9s\n" "MODULE" "MODE" "REQUESTS" "REQ/S" "p50 ms" "p99 ms" "NON-2XX" "PINNED s"
+for module in "${MODULES[@]}"; do
+    port=$(port_of "${module}")
+    path=${PATH_OVERRIDE:-$(path_of "${module}")}
+    jar=$(ls "${ROOT}/${module}"/target/*.jar 2> /dev/null | head -1)
+    if [ -z "${jar}" ]; then
+        printf "%-24s no jar in %s/target (mvn package -pl %s -am)\n" "${module}" "${module}" "${module}"
+        continue
+    fi
+
+    for mode in ${MODES//,/ }; do
+        case "${mode}" in
+            platform) mode_opts=(-Dspring.threads.virtual.enabled=false) ;;
+            virtual) mode_opts=(-Dspring.threads.virtual.enabled=true) ;;
+            *) echo "Unknown mode ${mode}" >&2; exit 1 ;;
+        esac
+        log="${WORK}/${module}-${mode}.log"
+        java "${COMMON_OPTS[@]}" "${mode_opts[@]}" -jar "${jar}" --server.port="${port}" > "${log}" 2>&1 &
+        pid=$!
+        if ! wait_ready "${port}" "${pid}"; then
+            kill "${pid}" 2> /dev/null; wait "${pid}" 2> /dev/null || true
+            printf "%-24s %-9s did not become ready, see %s\n" "${module}" "${mode}" "${log}"
+            continue
+        fi
+
+        url="http://localhost:${port}${path}"
+        hey -z "${WARMUP}" -c "${CONCURRENCY}" "${url}" > /dev/null
+        report="${WORK}/${module}-${mode}.hey"
+        hey -z "${DURATION}" -c "${CONCURRENCY}" "${url}" > "${report}"
+        pinned=$(pinned_seconds "${port}")
+
+        kill "${pid}" 2> /dev/null; wait "${pid}" 2> /dev/null || true
+
+        requests=$(awk '/\[[0-9]+\]/ { total += $2 } END { print total + 0 }' "${report}")
+        non_2xx=$(awk '/\[[0-9]+\]/ && $1 !~ /\[2/ { total += $2 } END { print total + 0 }' "${report}")
+        rps=$(sed -n 's/.*Requests\/sec:[[:space:]]*\([0-9.]*\).*/\1/p' "${report}")
+        p50=$(awk '/50%% in/ { printf "%.1f", $3 * 1000 }' "${report}")
+        p99=$(awk '/99%% in/ { printf "%.1f", $3 * 1000 }' "${report}")
+        printf "%-24s %-9s %8s %10s %10s %10s %10s %9s\n" "${module}" "${mode}" "${requests}" \
+            "${rps:--}" "${p50:--}" "${p99:--}" "${non_2xx}" "${pinned:--}"
+    done
+done
+echo
+echo "Raw hey reports and service logs: ${WORK}"